@@ -0,0 +1,23 @@
+package game.bench;
+
+/**
+ * Runs every benchmark suite in turn with its default parameters,
+ * e.g. to compare a change against the numbers before it.
+ *
+ * Run: java -Djava.awt.headless=true -cp "out:bench-out:lib/*" game.bench.AllBenchmarks
+ */
+public class AllBenchmarks {
+    public static void main(String[] args) {
+        ObjectPoolBenchmark.main(new String[0]);
+        System.out.println();
+        EntityUpdateBenchmark.main(new String[0]);
+        System.out.println();
+        ParticleUpdateBenchmark.main(new String[0]);
+        System.out.println();
+        CollisionBenchmark.main(new String[0]);
+        System.out.println();
+        RandomBenchmark.main(new String[0]);
+        System.out.println();
+        FastMathBenchmark.main(new String[0]);
+    }
+}
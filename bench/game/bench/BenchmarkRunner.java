@@ -0,0 +1,69 @@
+package game.bench;
+
+import java.util.Arrays;
+
+/**
+ * Minimal benchmark harness in the spirit of JMH (warmup, several measured
+ * iterations, results consumed so the JIT cannot drop the work).
+ * Only the JDK is needed, so benchmarks build like the game itself.
+ */
+public final class BenchmarkRunner {
+    static final int WARMUP_ITERATIONS = 5;
+    static final int MEASURE_ITERATIONS = 10;
+    static final long MIN_ITERATION_NANOS = 200_000_000L; // Repeat the operation for at least 200 ms per iteration
+
+    private static volatile long sink; // Blackhole for benchmark results
+
+    /**
+     * One benchmark invocation. Returns any value derived from the work so it is not optimized away.
+     */
+    public interface Operation {
+        long run();
+    }
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Measure an operation and print the average time per op.
+     *
+     * @param name Label for the result line
+     * @param opsPerInvocation How many logical operations one call of op performs
+     * @param op The operation to measure
+     * @return Average nanoseconds per logical operation
+     */
+    public static double measure(String name, int opsPerInvocation, Operation op) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(op, opsPerInvocation);
+        }
+
+        double[] results = new double[MEASURE_ITERATIONS];
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            results[i] = runIteration(op, opsPerInvocation);
+        }
+
+        double mean = Arrays.stream(results).average().orElse(0);
+        double variance = 0;
+        for (double r : results) {
+            variance += (r - mean) * (r - mean);
+        }
+        double stdDev = Math.sqrt(variance / results.length);
+
+        System.out.printf("%-48s %12.2f ns/op  +- %.2f%n", name, mean, stdDev);
+        return mean;
+    }
+
+    private static double runIteration(Operation op, int opsPerInvocation) {
+        long invocations = 0;
+        long result = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            result += op.run();
+            invocations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MIN_ITERATION_NANOS);
+        sink += result;
+        return (double) elapsed / (invocations * opsPerInvocation);
+    }
+}
@@ -0,0 +1,172 @@
+package game.bench;
+
+import game.GameWorld;
+import game.HeadlessApplet;
+import game.WorldListener;
+import game.entities.Bullet;
+import game.entities.EnemyShip;
+import game.entities.Mob;
+import game.managers.AssetManager;
+import game.systems.CollisionSystem;
+import game.utils.GameObject;
+import processing.core.PVector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Collision hot paths with mid-game entity counts (fixed seed):
+ *   - GameWorld.circlesCollide for every bullet/mob pair (brute force)
+ *   - GameWorld.checkCollisions(): grid build plus the bullet/mob and bullet/ship sweep
+ *   - CollisionSystem: grid rebuild and getObjectsInNeighborhood() per bullet
+ * Bullets are placed so that they never hit anything; the sweep then does all the
+ * neighborhood checks but leaves the world unchanged, so every invocation is the same.
+ *
+ * Run: java -Djava.awt.headless=true -cp "out:bench-out:lib/*" game.bench.CollisionBenchmark
+ */
+public class CollisionBenchmark {
+    static final long SEED = 42;
+    static final int WIDTH = 600;
+    static final int HEIGHT = 800;
+    static final int MOBS = 20;
+    static final int ENEMY_SHIPS = 10;
+    static final int BULLETS = 60;
+    static final int GRID_OBJECTS = 200;
+
+    public static void main(String[] args) {
+        HeadlessApplet host = new HeadlessApplet(WIDTH, HEIGHT);
+        AssetManager assets = new AssetManager(host);
+        assets.loadGameAssets();
+        GameWorld world = createWorld(host, assets);
+
+        System.out.println("Collisions, " + MOBS + " mobs, " + ENEMY_SHIPS + " enemy ships, " + BULLETS + " bullets");
+        BenchmarkRunner.measure("circlesCollide (all bullet/mob pairs)", BULLETS * MOBS, () -> {
+            long hits = 0;
+            for (Bullet bullet : world.bullets) {
+                for (Mob mob : world.mobs) {
+                    if (world.circlesCollide(bullet.pos, bullet.radius, mob.pos, mob.radius)) {
+                        hits++;
+                    }
+                }
+            }
+            return hits;
+        });
+        BenchmarkRunner.measure("checkCollisions (grid sweep)", 1, () -> {
+            world.checkCollisions();
+            return world.bullets.size() + world.mobs.size();
+        });
+        if (world.bullets.size() != BULLETS || world.mobs.size() != MOBS || world.enemyShips.size() != ENEMY_SHIPS) {
+            throw new IllegalStateException("checkCollisions changed the world, the benchmark layout produced a hit");
+        }
+        world.dispose();
+
+        CollisionSystem grid = new CollisionSystem(WIDTH, HEIGHT, 100);
+        Random random = new Random(SEED);
+        Target[] targets = new Target[GRID_OBJECTS];
+        for (int i = 0; i < GRID_OBJECTS; i++) {
+            targets[i] = new Target(host, random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT, 10 + random.nextFloat() * 30);
+        }
+        float[] queries = new float[BULLETS * 2];
+        for (int i = 0; i < BULLETS; i++) {
+            queries[i * 2] = random.nextFloat() * WIDTH;
+            queries[i * 2 + 1] = random.nextFloat() * HEIGHT;
+        }
+
+        System.out.println("CollisionSystem, " + GRID_OBJECTS + " objects, " + BULLETS + " queries");
+        BenchmarkRunner.measure("CollisionSystem rebuild grid", GRID_OBJECTS, () -> {
+            grid.clear();
+            for (Target target : targets) {
+                grid.addToGrid(target);
+            }
+            grid.build();
+            return grid.size();
+        });
+        List<GameObject> near = new ArrayList<>();
+        BenchmarkRunner.measure("CollisionSystem.getObjectsInNeighborhood", BULLETS, () -> {
+            long found = 0;
+            for (int i = 0; i < BULLETS; i++) {
+                near.clear();
+                grid.getObjectsInNeighborhood(queries[i * 2], queries[i * 2 + 1], near);
+                found += near.size();
+            }
+            return found;
+        });
+    }
+
+    /**
+     * A running game with mobs and enemy ships spread over the upper screen half
+     * and bullets in the gaps between them.
+     */
+    static GameWorld createWorld(HeadlessApplet host, AssetManager assets) {
+        host.randomSeed(SEED);
+        Random random = new Random(SEED);
+        GameWorld world = new GameWorld(host, assets, new WorldListener() {
+        });
+        world.initSpawnTimers();
+        world.initGame();
+        world.godMode = true; // Only the bullet sweeps are measured, not the player checks
+        world.mobs.clear();
+        world.enemyShips.clear();
+        world.bullets.clear();
+        world.bombs.clear();
+
+        for (int i = 0; i < MOBS; i++) {
+            Mob mob = new Mob(host, assets.meteorImgs);
+            mob.pos.set(random.nextFloat() * WIDTH, 50 + random.nextFloat() * (HEIGHT / 2f));
+            world.mobs.add(mob);
+        }
+        for (int i = 0; i < ENEMY_SHIPS; i++) {
+            EnemyShip ship = new EnemyShip(host, assets.enemyShipImgs);
+            ship.pos.set(random.nextFloat() * WIDTH, 50 + random.nextFloat() * (HEIGHT / 2f));
+            world.enemyShips.add(ship);
+        }
+        while (world.bullets.size() < BULLETS) {
+            PVector pos = new PVector(random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT);
+            if (!hitsAnything(world, pos)) {
+                world.bullets.add(new Bullet(host, pos.x, pos.y));
+            }
+        }
+        return world;
+    }
+
+    private static boolean hitsAnything(GameWorld world, PVector pos) {
+        float radius = 5 + 2; // Bullet radius plus a small safety margin
+        for (Mob mob : world.mobs) {
+            if (world.circlesCollide(pos, radius, mob.pos, mob.radius)) {
+                return true;
+            }
+        }
+        for (EnemyShip ship : world.enemyShips) {
+            if (world.circlesCollide(pos, radius, ship.pos, ship.radius)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Minimal GameObject for the CollisionSystem.
+     */
+    static class Target extends GameObject {
+        private final float radius;
+
+        Target(HeadlessApplet host, float x, float y, float radius) {
+            super(host, x, y);
+            this.radius = radius;
+        }
+
+        @Override
+        public void update() {
+        }
+
+        @Override
+        public void render() {
+        }
+
+        @Override
+        public float getRadius() {
+            return radius;
+        }
+    }
+}
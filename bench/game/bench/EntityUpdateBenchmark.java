@@ -0,0 +1,121 @@
+package game.bench;
+
+import game.HeadlessApplet;
+import game.effects.Particle;
+import game.effects.ParticleStore;
+import game.entities.Bomb;
+import game.entities.EnemyFormation;
+import game.managers.AssetManager;
+import game.utils.FastRandom;
+import processing.core.PVector;
+
+import java.util.Random;
+
+/**
+ * Per-tick entity updates with mid-game counts (fixed seed):
+ *   - Particle.update on Particle objects and ParticleStore.update on the same set
+ *   - EnemyFormation.update for three full formations
+ *   - Bomb.update for a boss-fight volley of bombs, a third of them tracking the player
+ * Entities that leave the screen are put back, so the workload stays the same.
+ *
+ * Run: java -Djava.awt.headless=true -cp "out:bench-out:lib/*" game.bench.EntityUpdateBenchmark
+ */
+public class EntityUpdateBenchmark {
+    static final long SEED = 42;
+    static final float STEP = 1.0f / 120.0f;
+    static final int WIDTH = 600;
+    static final int HEIGHT = 800;
+    static final int PARTICLES = 2000;
+    static final int FORMATIONS = 3;
+    static final int SHIPS_PER_FORMATION = 6;
+    static final int BOMBS = 40;
+
+    public static void main(String[] args) {
+        HeadlessApplet host = new HeadlessApplet(WIDTH, HEIGHT);
+        AssetManager assets = new AssetManager(host);
+        assets.loadGameAssets();
+        PVector playerPos = new PVector(WIDTH / 2f, HEIGHT - 80);
+
+        // Particles: the same start state as objects and as arrays
+        host.randomSeed(SEED);
+        Random random = new Random(SEED);
+        Particle[] particles = new Particle[PARTICLES];
+        ParticleStore store = new ParticleStore(host, PARTICLES, new FastRandom(SEED));
+        float[] startVx = new float[PARTICLES];
+        float[] startVy = new float[PARTICLES];
+        for (int i = 0; i < PARTICLES; i++) {
+            float angle = random.nextFloat() * (float) (Math.PI * 2);
+            float speed = 50 + random.nextFloat() * 300;
+            float vx = (float) Math.cos(angle) * speed;
+            float vy = (float) Math.sin(angle) * speed;
+            int color = 0xFF000000 | random.nextInt(0xFFFFFF);
+            startVx[i] = vx;
+            startVy[i] = vy;
+            particles[i] = new Particle(host, 0, 0);
+            particles[i].reset(300, 400, vx, vy, color);
+            store.reset(store.obtain(), 300, 400, vx, vy, color);
+        }
+
+        System.out.println("Entity updates, " + PARTICLES + " particles, " + FORMATIONS + "x" + SHIPS_PER_FORMATION
+                + " formation ships, " + BOMBS + " bombs");
+        // Life and speed are restored before each step, so the set neither dies out nor
+        // slows down into denormal floats (which would make every step many times slower)
+        BenchmarkRunner.measure("Particle.update (objects)", PARTICLES, () -> {
+            for (int i = 0; i < PARTICLES; i++) {
+                Particle p = particles[i];
+                p.life = p.maxLife;
+                p.vel.set(startVx[i], startVy[i]);
+                p.update(STEP);
+            }
+            return particles.length;
+        });
+        BenchmarkRunner.measure("ParticleStore.update (arrays)", PARTICLES, () -> {
+            for (int i = 0; i < store.count(); i++) {
+                store.life[i] = store.maxLife[i];
+                store.vx[i] = startVx[i];
+                store.vy[i] = startVy[i];
+            }
+            store.update(STEP);
+            return store.count();
+        });
+
+        host.randomSeed(SEED);
+        EnemyFormation[] formations = new EnemyFormation[FORMATIONS];
+        for (int i = 0; i < FORMATIONS; i++) {
+            formations[i] = new EnemyFormation(host, SHIPS_PER_FORMATION, i, assets.enemyShipImgs);
+        }
+        BenchmarkRunner.measure("EnemyFormation.update", FORMATIONS, () -> {
+            long ships = 0;
+            for (EnemyFormation formation : formations) {
+                formation.update(STEP, playerPos);
+                if (!formation.isActive) {
+                    // Fly in again from the top instead of leaving the screen for good
+                    formation.centerPos.y = -50;
+                    formation.isActive = true;
+                }
+                ships += formation.ships.size();
+            }
+            return ships;
+        });
+
+        host.randomSeed(SEED);
+        Bomb[] bombs = new Bomb[BOMBS];
+        for (int i = 0; i < BOMBS; i++) {
+            bombs[i] = new Bomb(host, random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT / 2, 1.0f, playerPos);
+        }
+        BenchmarkRunner.measure("Bomb.update", BOMBS, () -> {
+            long onScreen = 0;
+            for (int i = 0; i < BOMBS; i++) {
+                Bomb bomb = bombs[i];
+                bomb.update(STEP, playerPos, false);
+                if (bomb.isOffScreen()) {
+                    bomb.pos.y = 0;
+                    bomb.pos.x = (i + 0.5f) * WIDTH / BOMBS;
+                } else {
+                    onScreen++;
+                }
+            }
+            return onScreen;
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package game.bench;
+
+import game.utils.FastMath;
+import game.utils.FastRandom;
+import processing.core.PApplet;
+
+/**
+ * FastMath against PApplet/Math: first the measured maximum error over -8π..8π, then
+ * sin+cos and atan2 over the same angles, and a boss-defeat sized burst of particle
+ * velocities, once from a random angle with PApplet.cos/sin and once from a random
+ * table direction.
+ *
+ * Run: java -Djava.awt.headless=true -cp "out:bench-out:lib/*" game.bench.FastMathBenchmark
+ */
+public class FastMathBenchmark {
+    static final long SEED = 42;
+    static final int ANGLES = 10000;
+    static final int BURST = 25000; // Particles of the boss defeat
+    static final int ERROR_SAMPLES = 1000000;
+
+    public static void main(String[] args) {
+        float range = 16 * PApplet.PI;
+        double sinError = 0, cosError = 0, atanError = 0;
+        for (int i = 0; i <= ERROR_SAMPLES; i++) {
+            float angle = -range / 2 + range * i / ERROR_SAMPLES;
+            sinError = Math.max(sinError, Math.abs(FastMath.sin(angle) - Math.sin(angle)));
+            cosError = Math.max(cosError, Math.abs(FastMath.cos(angle) - Math.cos(angle)));
+            float y = (float) Math.sin(angle) * (1 + i % 7);
+            float x = (float) Math.cos(angle) * (1 + i % 5);
+            atanError = Math.max(atanError, Math.abs(FastMath.atan2(y, x) - Math.atan2(y, x)));
+        }
+        System.out.printf("Max error over -8pi..8pi: sin %.2e, cos %.2e, atan2 %.2e rad%n", sinError, cosError, atanError);
+
+        FastRandom random = new FastRandom(SEED);
+        float[] angles = new float[ANGLES];
+        float[] xs = new float[ANGLES];
+        float[] ys = new float[ANGLES];
+        for (int i = 0; i < ANGLES; i++) {
+            angles[i] = random.random(-range / 2, range / 2);
+            xs[i] = random.random(-500, 500);
+            ys[i] = random.random(-500, 500);
+        }
+
+        System.out.println("Trigonometry, " + ANGLES + " angles, and a " + BURST + " particle burst");
+        double math = BenchmarkRunner.measure("PApplet.sin+cos", ANGLES, () -> {
+            float sum = 0;
+            for (int i = 0; i < ANGLES; i++) {
+                sum += PApplet.sin(angles[i]) + PApplet.cos(angles[i]);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        double table = BenchmarkRunner.measure("FastMath.sin+cos", ANGLES, () -> {
+            float sum = 0;
+            for (int i = 0; i < ANGLES; i++) {
+                sum += FastMath.sin(angles[i]) + FastMath.cos(angles[i]);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        System.out.printf("Speed-up: %.1fx%n", math / table);
+
+        double mathAtan = BenchmarkRunner.measure("Math.atan2", ANGLES, () -> {
+            float sum = 0;
+            for (int i = 0; i < ANGLES; i++) {
+                sum += (float) Math.atan2(ys[i], xs[i]);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        double tableAtan = BenchmarkRunner.measure("FastMath.atan2", ANGLES, () -> {
+            float sum = 0;
+            for (int i = 0; i < ANGLES; i++) {
+                sum += FastMath.atan2(ys[i], xs[i]);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        System.out.printf("Speed-up: %.1fx%n", mathAtan / tableAtan);
+
+        FastRandom burstRandom = new FastRandom(SEED);
+        double angleBurst = BenchmarkRunner.measure("Burst with random angle", BURST, () -> {
+            float sum = 0;
+            for (int i = 0; i < BURST; i++) {
+                float angle = burstRandom.random(PApplet.TWO_PI);
+                float speed = burstRandom.random(100, 700);
+                sum += PApplet.cos(angle) * speed + PApplet.sin(angle) * speed;
+            }
+            return Float.floatToIntBits(sum);
+        });
+        double directionBurst = BenchmarkRunner.measure("Burst with random direction", BURST, () -> {
+            float sum = 0;
+            for (int i = 0; i < BURST; i++) {
+                int dir = FastMath.randomDirection(burstRandom);
+                float speed = burstRandom.random(100, 700);
+                sum += FastMath.dirX(dir) * speed + FastMath.dirY(dir) * speed;
+            }
+            return Float.floatToIntBits(sum);
+        });
+        System.out.printf("Speed-up: %.1fx%n", angleBurst / directionBurst);
+    }
+}
@@ -0,0 +1,108 @@
+package game.bench;
+
+import game.effects.Particle;
+import game.utils.ObjectPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * ObjectPool obtain/free at boss-explosion scale: 15000 particles are taken from the
+ * pool and then returned in random order, as when a whole explosion dies at once.
+ * Compares the current pool against the previous ArrayList-based implementation.
+ *
+ * Run: java -cp "out:bench-out:lib/*" game.bench.ObjectPoolBenchmark
+ */
+public class ObjectPoolBenchmark {
+    static final int OBJECTS = 15000;
+    static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int[] freeOrder = shuffledIndices(OBJECTS, new Random(SEED));
+        Supplier<Particle> factory = () -> new Particle(null, 0, 0);
+
+        ObjectPool<Particle> pool = new ObjectPool<>(factory, OBJECTS, OBJECTS);
+        ListObjectPool<Particle> listPool = new ListObjectPool<>(factory, OBJECTS, OBJECTS);
+        Particle[] taken = new Particle[OBJECTS];
+
+        System.out.println("ObjectPool obtain + free, " + OBJECTS + " objects, random free order");
+        double current = BenchmarkRunner.measure("ObjectPool (identity set)", OBJECTS * 2, () -> {
+            for (int i = 0; i < OBJECTS; i++) {
+                taken[i] = pool.obtain();
+            }
+            for (int i = 0; i < OBJECTS; i++) {
+                pool.free(taken[freeOrder[i]]);
+            }
+            return pool.getAvailableCount();
+        });
+        double previous = BenchmarkRunner.measure("ArrayList pool (previous implementation)", OBJECTS * 2, () -> {
+            for (int i = 0; i < OBJECTS; i++) {
+                taken[i] = listPool.obtain();
+            }
+            for (int i = 0; i < OBJECTS; i++) {
+                listPool.free(taken[freeOrder[i]]);
+            }
+            return listPool.getAvailableCount();
+        });
+        System.out.printf("Speed-up: %.1fx%n", previous / current);
+    }
+
+    static int[] shuffledIndices(int n, Random random) {
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = indices[i];
+            indices[i] = indices[j];
+            indices[j] = tmp;
+        }
+        return indices;
+    }
+
+    /**
+     * The pool as it was before: inUse is an ArrayList, so free() searches and shifts.
+     */
+    static class ListObjectPool<T> {
+        private final List<T> available;
+        private final List<T> inUse;
+        private final Supplier<T> factory;
+        private final int maxSize;
+
+        ListObjectPool(Supplier<T> factory, int initialSize, int maxSize) {
+            this.factory = factory;
+            this.maxSize = maxSize;
+            this.available = new ArrayList<>(initialSize);
+            this.inUse = new ArrayList<>(initialSize);
+            for (int i = 0; i < initialSize; i++) {
+                available.add(factory.get());
+            }
+        }
+
+        T obtain() {
+            T object;
+            if (!available.isEmpty()) {
+                object = available.remove(available.size() - 1);
+            } else if (inUse.size() < maxSize) {
+                object = factory.get();
+            } else {
+                return null;
+            }
+            inUse.add(object);
+            return object;
+        }
+
+        void free(T object) {
+            if (object != null && inUse.remove(object)) {
+                available.add(object);
+            }
+        }
+
+        int getAvailableCount() {
+            return available.size();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package game.bench;
+
+import game.HeadlessApplet;
+import game.effects.ParticleStore;
+import game.utils.FastRandom;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * ParticleStore.update() with a boss-explosion sized particle set, single-threaded
+ * and on fork/join pools of increasing size. Prints the speed-up per thread count
+ * and checks that every parallel run ends in exactly the same state.
+ *
+ * Run: java -Djava.awt.headless=true -cp "out:bench-out:lib/*" game.bench.ParticleUpdateBenchmark [particles] [maxThreads]
+ * maxThreads defaults to the number of cores.
+ */
+public class ParticleUpdateBenchmark {
+    static final long SEED = 42;
+    static final float STEP = 1.0f / 120.0f;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 15000;
+        HeadlessApplet host = new HeadlessApplet(600, 800);
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : cores;
+
+        System.out.println("ParticleStore.update, " + count + " particles, " + cores + " cores");
+        double single = 0;
+        float[] reference = null;
+        for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads ? Math.min(threads * 2, maxThreads) : threads + 1) {
+            ParticleStore store = createStore(host, count);
+            store.setParallelism(threads);
+            float[] startVx = Arrays.copyOf(store.vx, count);
+            float[] startVy = Arrays.copyOf(store.vy, count);
+
+            double nanos = BenchmarkRunner.measure("update() on " + threads + " thread(s)", 1, () -> {
+                // Restore life so the set does not die out while measuring, and the speed so
+                // friction cannot slow the velocities down into (very slow) denormal floats
+                for (int i = 0; i < store.count(); i++) {
+                    store.life[i] = store.maxLife[i];
+                    store.vx[i] = startVx[i];
+                    store.vy[i] = startVy[i];
+                }
+                store.update(STEP);
+                return store.count();
+            });
+            if (threads == 1) {
+                single = nanos;
+            } else {
+                System.out.printf("  speed-up vs 1 thread: %.2fx%n", single / nanos);
+            }
+
+            // Same start state and steps for every thread count must give the same result
+            float[] state = simulate(host, count, threads);
+            if (reference == null) {
+                reference = state;
+            } else if (!Arrays.equals(reference, state)) {
+                throw new IllegalStateException("Parallel update with " + threads + " threads differs from single-threaded result");
+            }
+            store.setParallelism(1);
+        }
+        System.out.println("All thread counts produced identical particle state");
+    }
+
+    /**
+     * Fill a store like the boss explosion does: mixed speeds, sizes, friction and lifetimes.
+     */
+    static ParticleStore createStore(HeadlessApplet host, int count) {
+        host.randomSeed(SEED);
+        Random random = new Random(SEED);
+        ParticleStore store = new ParticleStore(host, count, new FastRandom(SEED));
+        for (int i = 0; i < count; i++) {
+            int p = store.obtain();
+            float angle = random.nextFloat() * (float) (Math.PI * 2);
+            float speed = 100 + random.nextFloat() * 600;
+            store.reset(p, 300, 400, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed,
+                    0xFF000000 | random.nextInt(0xFFFFFF));
+            store.noFriction[p] = random.nextBoolean();
+        }
+        return store;
+    }
+
+    /**
+     * Run 3 seconds of updates (particles die along the way) and return the positions.
+     */
+    static float[] simulate(HeadlessApplet host, int count, int threads) {
+        ParticleStore store = createStore(host, count);
+        store.setParallelism(threads);
+        for (int i = 0; i < 360; i++) {
+            store.update(STEP);
+        }
+        store.setParallelism(1);
+        float[] state = new float[store.count() * 2];
+        for (int i = 0; i < store.count(); i++) {
+            state[i * 2] = store.x[i];
+            state[i * 2 + 1] = store.y[i];
+        }
+        return state;
+    }
+}
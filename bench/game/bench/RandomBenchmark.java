@@ -0,0 +1,62 @@
+package game.bench;
+
+import game.HeadlessApplet;
+import game.utils.FastRandom;
+import game.utils.RandomService;
+
+/**
+ * Random numbers as the effect spawners draw them: random(low, high) in a loop, once
+ * through PApplet.random() (shared java.util.Random, atomic seed update) and once
+ * through a FastRandom stream of RandomService. The second pair spawns a boss-defeat
+ * sized burst (angle, speed, size and life per particle).
+ *
+ * Run: java -Djava.awt.headless=true -cp "out:bench-out:lib/*" game.bench.RandomBenchmark
+ */
+public class RandomBenchmark {
+    static final long SEED = 42;
+    static final int NUMBERS = 10000;
+    static final int BURST = 25000; // Particles of the boss defeat
+
+    public static void main(String[] args) {
+        HeadlessApplet host = new HeadlessApplet(600, 800);
+        host.randomSeed(SEED);
+        FastRandom fast = new RandomService(SEED).stream("effects");
+
+        System.out.println("Random numbers, " + NUMBERS + " x random(low, high), and a " + BURST + " particle burst");
+        double papplet = BenchmarkRunner.measure("PApplet.random", NUMBERS, () -> {
+            float sum = 0;
+            for (int i = 0; i < NUMBERS; i++) {
+                sum += host.random(-5, 5);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        double stream = BenchmarkRunner.measure("FastRandom.random", NUMBERS, () -> {
+            float sum = 0;
+            for (int i = 0; i < NUMBERS; i++) {
+                sum += fast.random(-5, 5);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        System.out.printf("Speed-up: %.1fx%n", papplet / stream);
+
+        double pappletBurst = BenchmarkRunner.measure("Burst with PApplet.random", BURST, () -> {
+            float sum = 0;
+            for (int i = 0; i < BURST; i++) {
+                float angle = host.random((float) Math.PI * 2);
+                float speed = host.random(100, 700);
+                sum += angle * speed + host.random(2, 6) + host.random(1.0f, 2.5f);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        double streamBurst = BenchmarkRunner.measure("Burst with FastRandom", BURST, () -> {
+            float sum = 0;
+            for (int i = 0; i < BURST; i++) {
+                float angle = fast.random((float) Math.PI * 2);
+                float speed = fast.random(100, 700);
+                sum += angle * speed + fast.random(2, 6) + fast.random(1.0f, 2.5f);
+            }
+            return Float.floatToIntBits(sum);
+        });
+        System.out.printf("Speed-up: %.1fx%n", pappletBurst / streamBurst);
+    }
+}
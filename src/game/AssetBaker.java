@@ -0,0 +1,41 @@
+package game;
+
+import game.managers.AssetManager;
+import game.managers.AssetPack;
+import processing.core.PImage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Bakes all game images into the asset pack (resources/assets.pack): decodes the PNGs,
+ * resizes and filters them exactly like the game does and writes the final pixels,
+ * so the game can map them at startup instead of decoding (see AssetPack).
+ * Run again after changing any image; a stale pack is ignored by the game.
+ *
+ * Usage: java -Djava.awt.headless=true -cp "out:lib/*" game.AssetBaker [width height]
+ *   width height  screen size the background is scaled to (default 600 800, the game window)
+ */
+public class AssetBaker {
+    public static void main(String[] args) throws IOException {
+        int width = HeadlessSimulation.WIDTH;
+        int height = HeadlessSimulation.HEIGHT;
+        if (args.length >= 2) {
+            width = Integer.parseInt(args[0]);
+            height = Integer.parseInt(args[1]);
+        }
+
+        HeadlessApplet host = new HeadlessApplet(width, height);
+        AssetManager assets = new AssetManager(host);
+        assets.setUsePack(false);
+        long start = System.nanoTime();
+        assets.loadGameAssets();
+        Map<String, PImage> images = assets.getNamedImages();
+
+        File file = new File(host.sketchPath(AssetManager.PACK_FILE));
+        AssetPack.write(file, images, assets.sourceFingerprint());
+        System.out.printf("Baked %d images into %s (%d KB) in %d ms%n", images.size(), file,
+                file.length() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+}
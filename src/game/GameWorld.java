@@ -0,0 +1,3398 @@
+// Simulation state and game logic, independent of any window or renderer.
+// Sketch drives it once per frame; HeadlessSimulation steps it without a display.
+
+package game;
+
+import processing.core.PApplet;
+import processing.core.PImage;
+import processing.core.PVector;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+// Import game packages
+import game.entities.*;
+import game.effects.*;
+import game.background.*;
+import game.managers.*;
+import game.utils.*;
+import game.advanced.*;
+import game.powerups.*;
+import game.systems.*;
+import game.jfr.*;
+import game.management.*;
+
+public class GameWorld {
+    // Game constants
+    static final int minMobs = 5; // Minimale Anzahl Mobs beim Start
+    static final String POWERUP_SHIELD = "shield";
+    static final String POWERUP_GUN = "gun";
+    static final float POWERUP_DROP_CHANCE = 0.1f;
+    static final float SCREEN_SHAKE_BULLET = 2f;
+    static final float SCREEN_SHAKE_BULLET_DURATION = 0.05f;
+    static final float SCREEN_SHAKE_DAMAGE = 10f;
+    static final float SCREEN_SHAKE_DAMAGE_DURATION = 0.2f;
+    static final float SCREEN_SHAKE_DEATH = 20f;
+    static final float SCREEN_SHAKE_DEATH_DURATION = 0.5f;
+    static final int MAX_PARTICLES = 15000; // Enough for the boss explosion
+    static final int BULLET_DAMAGE = 10; // Damage per bullet to ships and the boss
+    static final long EFFECT_BUDGET_MICROS = 2000; // Time per frame for spawning queued effects
+    static final int BOSS_BURST_CHUNK = 250; // Boss explosion particles per deferred slice
+    static final int EVENT_CAPACITY = 512; // Gameplay events between two frames
+    static final int SPRITE_CACHE_ENTRIES = 512; // Scaled ship images kept for display(PGraphics)
+    static final long SPRITE_CACHE_BYTES = 8L * 1024 * 1024;
+
+    // Game state
+    public enum GameState {
+        MENU, RUNNING, SUMMARY, SECOND_SUMMARY, THIRD_SUMMARY, GAME_OVER
+    }
+
+    // Host applet - supplies random(), millis(), color() and the play field size
+    private final PApplet sketch;
+    private final AssetManager assets;
+    private WorldListener listener;
+
+    public GameState gameState = GameState.MENU;
+
+    public int score = 0;
+    public boolean playerRespawning = false;
+    public boolean playerDeathHandled = false; // Prevent multiple death calls
+    public float respawnTimer = 0;
+    public float respawnDelay = 2.0f; // 2 Sekunden Verzögerung
+    public long lastMobSpawnTime = 0;
+    public long mobSpawnInterval = 1000;
+    public float powerupDropChance = POWERUP_DROP_CHANCE; // Mobs; ships drop at twice the chance
+
+    // Game timer and statistics
+    public float gameTimer = 0;
+    public float summaryTriggerTime = 60.0f; // 1 minute in seconds (for testing)
+    public int enemiesKilled = 0;
+    public int mobsKilled = 0;
+    public int shipsKilled = 0;
+    public boolean summaryShown = false;
+    public boolean formationModeActive = false;
+    public boolean secondPhaseActive = false;
+    public float secondPhaseTimer = 0.0f;
+    public final float SECOND_PHASE_DURATION = 60.0f; // 1 minute for second phase
+    public boolean secondSummaryShown = false;
+    public boolean thirdPhaseActive = false;
+    public float thirdPhaseTimer = 0.0f;
+    public final float THIRD_PHASE_DURATION = 60.0f; // 1 minute for third phase
+    public boolean thirdSummaryShown = false;
+    public boolean fourthPhaseActive = false; // Boss fight phase
+    public boolean bossDefeated = false; // Flag to trigger explosion only once
+    public int enemySpawnCounter = 0; // Counter for formation spawning
+
+    // Simulation clock
+    public float deltaTime; // Length of the current step in seconds
+    public int tickCount = 0; // Steps since start
+    public double simTime = 0.0; // Simulated seconds since start
+    // Trail/thruster emitters were tuned for 60 fps - keep their cadence at 60 Hz of game time
+    // regardless of the tick rate, so a 120 Hz simulation does not emit twice the particles
+    static final float EFFECT_CADENCE_RATE = 60.0f;
+    public int cadenceFrame = 0;
+    private boolean cadenceTick = false; // true if cadenceFrame advanced in this step
+
+    // Player input for the next step (set by Sketch from InputHandler, or by a headless driver)
+    public boolean inputLeft = false;
+    public boolean inputRight = false;
+    public boolean inputFire = false;
+
+    // Game objects - optimized collections
+    public Player player;
+    public DenseList<Mob> mobs = new DenseList<>(20);
+    public DenseList<EnemyShip> enemyShips = new DenseList<>(10);
+    public DenseList<EnemyFormation> enemyFormations = new DenseList<>(5);
+    public Boss boss = null; // Boss for Phase 4
+    public DenseList<Bullet> bullets = new DenseList<>(50); // Changed from ConcurrentLinkedQueue for better performance, O(1) removal
+    public DenseList<Bomb> bombs = new DenseList<>(20);
+    public DenseList<PowerUp> powerups = new DenseList<>(10);
+    public DenseList<Explosion> explosions = new DenseList<>(15);
+    public final ParticleStore particles; // Struct-of-arrays storage, see ParticleStore
+    public DenseList<ScorePopup> scorePopups = new DenseList<>(20);
+
+    // Object pools for memory efficiency - reduces garbage collection
+    private final ObjectPool<Bullet> bulletPool;
+    private final ObjectPool<Explosion> explosionPool;
+    // Refused requests already reported as PoolExhaustedEvent
+    private long lastParticlesRefused = 0;
+    private long lastBulletsRefused = 0;
+    private long lastExplosionsRefused = 0;
+
+    // Reusable PVectors to avoid allocations in hot paths
+    private final PVector tempVector = new PVector();
+
+    // Large particle bursts are queued here and spawned within a time budget per frame
+    // (drained by the frame loop via runDeferredEffects)
+    public final DeferredWorkQueue deferredEffects = new DeferredWorkQueue(EFFECT_BUDGET_MICROS);
+    private final BurstWindow bossBurstWindow = new BurstWindow(); // Scratch for the boss explosion slices
+
+    // Gameplay events of this frame's ticks; sound and effects for them are spawned
+    // once per frame by the consumers in processEvents()
+    public final GameEventQueue events = new GameEventQueue(EVENT_CAPACITY);
+    private static final GameEvent[] EVENT_TYPES = GameEvent.values();
+
+    // Ship images scaled to each ship's radius, shared by all ships of the same image and size
+    public final SpriteCache spriteCache = new SpriteCache(SPRITE_CACHE_ENTRIES, SPRITE_CACHE_BYTES);
+
+    // Random streams derived from the world's seed (FastRandom, no atomic update per number).
+    // The effect spawners and background draw from their own streams, not sketch.random().
+    public final RandomService random;
+    private final FastRandom fxRandom;
+    private final FastRandom backgroundRandom;
+    public final FastRandom renderRandom; // Drawing only (thrusters), never read by the simulation
+
+    // Time and bytes allocated per frame and subsystem on the game thread (debug modes, off by default).
+    // The host registers its own scopes (sound, render) on the same profiler.
+    public final AllocationTracker allocations = new AllocationTracker();
+    public final FrameProfiler profiler = new FrameProfiler(allocations);
+    final int profUpdate = profiler.group("update", -1); // All ticks of the frame
+    final int profBackground = profiler.phase("background", profUpdate);
+    final int profPlayer = profiler.phase("player", profUpdate);
+    final int profBullets = profiler.phase("bullets", profUpdate);
+    final int profMobs = profiler.phase("mobs", profUpdate);
+    final int profShips = profiler.phase("enemy ships", profUpdate);
+    final int profFormations = profiler.phase("formations", profUpdate);
+    final int profBoss = profiler.phase("boss", profUpdate);
+    final int profSpawning = profiler.phase("spawning", profUpdate);
+    final int profBombs = profiler.phase("bombs", profUpdate);
+    final int profPowerups = profiler.phase("powerups", profUpdate);
+    final int profParticles = profiler.phase("particles", profUpdate);
+    final int profEffects = profiler.phase("effects", profUpdate); // Explosions and score popups
+    final int profCollisions = profiler.phase("collisions", profUpdate);
+    final int profEvents = profiler.phase("events", -1);
+
+    // Screen shake
+    public float shakeDuration = 0;
+    public float shakeAmount = 0;
+    public PVector shakeOffset = new PVector(0, 0);
+
+    // Parallax starfield
+    public ArrayList<Star> stars = new ArrayList<>(240); // 100+80+60
+    public DenseList<ShootingStar> shootingStars = new DenseList<>(10);
+
+    // Space effects
+    public DenseList<SpaceCloud> spaceClouds = new DenseList<>(5);
+    public DenseList<DistantPlanet> distantPlanets = new DenseList<>(5);
+    public DenseList<ParticleSwarm> particleSwarms = new DenseList<>(10);
+    public ArrayList<MicroDebris> microDebris = new ArrayList<>(300);
+    public DenseList<Supernova> supernovas = new DenseList<>(3);
+    public ArrayList<AmbientDust> ambientDust = new ArrayList<>(50);
+    public DenseList<ShieldHitEffect> shieldHits = new DenseList<>(10);
+    public float nextShootingStarTime = 999999; // Sehr hoher Wert, wird in initSpawnTimers() richtig gesetzt
+    public float nextCloudTime = 999999; // Sehr hoher Wert, wird in initSpawnTimers() richtig gesetzt
+    public float nextPlanetTime = 999999; // Sehr hoher Wert, wird in initSpawnTimers() richtig gesetzt
+    public float nextSwarmTime = 999999; // Sehr hoher Wert, wird in initSpawnTimers() richtig gesetzt
+    public float nextSupernovaTime = 999999; // Sehr hoher Wert, wird in initSpawnTimers() richtig gesetzt
+
+    // Assets used by the simulation itself (sprite sizes drive collision radii)
+    private final ArrayList<PImage> meteorImgs;
+    private final ArrayList<PImage> enemyShipImgs;
+    private final HashMap<String, ArrayList<PImage>> explosionAnims;
+
+    // Testing
+    public boolean godMode = false; // God mode for testing
+
+    // Collision optimization - spatial grid
+    private static final int GRID_SIZE = 100;
+    private CollisionSystem collisionGrid; // Broadphase for all collidable types, rebuilt every tick
+    private final ArrayList<Collidable> collisionHits = new ArrayList<>(); // Reused query result buffer
+    private final HitBuffer bulletHits = new HitBuffer(); // Bullet hits of the current collision pass
+    private final Set<Object> killedTargets = Collections.newSetFromMap(new IdentityHashMap<>()); // Destroyed this pass
+    private final Predicate<Object> isKilledTarget = killedTargets::contains;
+
+    // Knobs that can be changed at runtime (JMX, see GameMonitor), applied at the start of a tick
+    public final GameTuning tuning = new GameTuning();
+    private final GameTuning appliedTuning = new GameTuning(); // The values the world runs with
+    private int tuningChanges = 0;
+
+    // Set whenever score, lives, shield or phase change; Sketch clears it after redrawing the HUD
+    public boolean hudNeedsRedraw = true;
+    private int lastScore = 0;
+    private int lastLives = 0;
+    private int lastShield = 0;
+
+    public GameWorld(PApplet sketch, AssetManager assets, WorldListener listener) {
+        this(sketch, assets, listener, System.nanoTime());
+    }
+
+    /**
+     * @param seed Master seed of the world's random streams (see RandomService)
+     */
+    public GameWorld(PApplet sketch, AssetManager assets, WorldListener listener, long seed) {
+        this.sketch = sketch;
+        this.assets = assets;
+        this.listener = listener;
+        this.random = new RandomService(seed);
+        this.fxRandom = random.stream("effects");
+        this.backgroundRandom = random.stream("background");
+        this.renderRandom = random.stream("render");
+
+        this.meteorImgs = assets.meteorImgs;
+        this.enemyShipImgs = assets.enemyShipImgs;
+        this.explosionAnims = assets.explosionAnims;
+
+        bulletPool = new ObjectPool<>(() -> new Bullet(sketch, 0, 0), 50);
+        explosionPool = new ObjectPool<>(() -> new Explosion(sketch, 0, 0, "sm"), 20);
+        particles = new ParticleStore(sketch, MAX_PARTICLES, random.stream("particles"));
+        // Integrate big particle counts on the other cores, keep one for the animation thread
+        particles.setParallelism(Runtime.getRuntime().availableProcessors() - 1);
+
+        tuning.setGridSize(GRID_SIZE);
+        tuning.setParticleLimit(MAX_PARTICLES);
+        tuning.setPowerupDropChance(POWERUP_DROP_CHANCE);
+        tuning.setMobSpawnInterval(mobSpawnInterval);
+        tuning.setEffectBudgetMicros(EFFECT_BUDGET_MICROS);
+        tuning.setTickRate(120);
+        appliedTuning.setSimulationKnobs(tuning);
+
+        // Initialize spatial grid
+        initSpatialGrid();
+
+        // Initialize parallax starfield
+        initStarfield();
+    }
+
+    public PApplet getSketch() {
+        return sketch;
+    }
+
+    public void setListener(WorldListener listener) {
+        this.listener = listener;
+    }
+
+    void initSpatialGrid() {
+        collisionGrid = new CollisionSystem(sketch.width, sketch.height, appliedTuning.getGridSize());
+    }
+
+    /**
+     * Take over the knobs in tuning that changed since the last tick. Only changed
+     * values are applied, so game code may still set e.g. mobSpawnInterval itself.
+     */
+    private void applyTuning() {
+        GameTuning applied = appliedTuning;
+        if (tuning.getGridSize() != applied.getGridSize()) {
+            applied.setGridSize(tuning.getGridSize());
+            initSpatialGrid(); // Filled from scratch every tick anyway
+            tuningChanges++;
+        }
+        if (tuning.getParticleLimit() != applied.getParticleLimit()) {
+            applied.setParticleLimit(tuning.getParticleLimit());
+            particles.setLimit(applied.getParticleLimit());
+            tuningChanges++;
+        }
+        if (tuning.getParticleDensity() != applied.getParticleDensity()) {
+            applied.setParticleDensity(tuning.getParticleDensity());
+            particles.setDensity(applied.getParticleDensity());
+            tuningChanges++;
+        }
+        if (tuning.getPowerupDropChance() != applied.getPowerupDropChance()) {
+            applied.setPowerupDropChance(tuning.getPowerupDropChance());
+            powerupDropChance = applied.getPowerupDropChance();
+            tuningChanges++;
+        }
+        if (tuning.getMobSpawnInterval() != applied.getMobSpawnInterval()) {
+            applied.setMobSpawnInterval(tuning.getMobSpawnInterval());
+            mobSpawnInterval = applied.getMobSpawnInterval();
+            tuningChanges++;
+        }
+        if (tuning.getEffectBudgetMicros() != applied.getEffectBudgetMicros()) {
+            applied.setEffectBudgetMicros(tuning.getEffectBudgetMicros());
+            deferredEffects.setBudgetMicros(applied.getEffectBudgetMicros());
+            tuningChanges++;
+        }
+    }
+
+    /**
+     * The knobs the world currently runs with, as taken over from tuning at the start
+     * of the last tick. Read only; a recorder stores them with the tick.
+     */
+    public GameTuning getAppliedTuning() {
+        return appliedTuning;
+    }
+
+    /**
+     * Counts the knob changes the ticks have taken over from tuning so far
+     */
+    public int getTuningChanges() {
+        return tuningChanges;
+    }
+
+    public ObjectPool<Bullet> getBulletPool() {
+        return bulletPool;
+    }
+
+    public ObjectPool<Explosion> getExplosionPool() {
+        return explosionPool;
+    }
+
+    /**
+     * Schedules the first background spawns relative to the current clock.
+     * Must run before initGame() so a fresh game does not spawn everything at once.
+     */
+    public void initSpawnTimers() {
+        float currentTime = sketch.millis() / 1000.0f;
+        nextShootingStarTime = currentTime + backgroundRandom.random(2, 5);
+        nextCloudTime = currentTime + backgroundRandom.random(3, 5); // Erste Cloud nach 3-5 Sekunden
+        nextPlanetTime = currentTime + backgroundRandom.random(3, 5); // Erster Planet nach 3-5 Sekunden
+        nextSwarmTime = currentTime + backgroundRandom.random(3, 7);
+        nextSupernovaTime = currentTime + backgroundRandom.random(15, 30); // Erste Supernova nach 15-30 Sekunden
+    }
+
+    void playSound(SoundEffect effect) {
+        listener.playSound(effect);
+    }
+
+    void initStarfield() {
+        // Create 3 layers of stars for parallax effect
+        for (int i = 0; i < 100; i++) {
+            stars.add(new Star(sketch, 1)); // Slow layer
+        }
+        for (int i = 0; i < 80; i++) {
+            stars.add(new Star(sketch, 2)); // Medium layer
+        }
+        for (int i = 0; i < 60; i++) {
+            stars.add(new Star(sketch, 3)); // Fast layer
+        }
+
+        // Space clouds werden jetzt dynamisch gespawnt, nicht beim Start
+    }
+
+    /**
+     * Release the worker threads of the particle store. Call when the world is
+     * replaced or the host ends; the world must not be stepped afterwards.
+     */
+    public void dispose() {
+        particles.dispose();
+    }
+
+    public void initGame() {
+        player = new Player(sketch);
+        mobs.clear();
+        enemyShips.clear();
+        enemyFormations.clear();
+        bullets.clear();
+        bombs.clear();
+        powerups.clear();
+        explosions.clear();
+        particles.clear();
+        scorePopups.clear();
+        distantPlanets.clear();
+        particleSwarms.clear();
+        shootingStars.clear();
+        supernovas.clear();
+
+        // Initialize micro debris (Background-Staub)
+        microDebris.clear();
+        for (int i = 0; i < 300; i++) {
+            microDebris.add(new MicroDebris(sketch));
+        }
+
+        // Initialize ambient dust (Vordergrund-Staub)
+        ambientDust.clear();
+        for (int i = 0; i < 50; i++) {
+            ambientDust.add(new AmbientDust(sketch));
+        }
+
+        lastMobSpawnTime = sketch.millis();
+
+        // Bei Neustart: Setze Timer neu, damit keine sofortigen Spawns passieren
+        float currentTime = sketch.millis() / 1000.0f;
+        if (nextCloudTime < currentTime) {
+            nextCloudTime = currentTime + backgroundRandom.random(2, 4);
+        }
+        if (nextPlanetTime < currentTime) {
+            nextPlanetTime = currentTime + backgroundRandom.random(2, 4);
+        }
+        if (nextSwarmTime < currentTime) {
+            nextSwarmTime = currentTime + backgroundRandom.random(2, 6);
+        }
+        if (nextShootingStarTime < currentTime) {
+            nextShootingStarTime = currentTime + backgroundRandom.random(2, 5);
+        }
+        if (nextSupernovaTime < currentTime) {
+            nextSupernovaTime = currentTime + backgroundRandom.random(20, 40); // Alle 20-40 Sekunden
+        }
+
+        // Pre-allocate mobs and enemy ships
+        mobs.ensureCapacity(minMobs + 5);
+        for (int i = 0; i < minMobs; i++) {
+            if (sketch.random(1) < 0.3) { // 30% chance for enemy ship
+                spawnEnemyShip();
+            } else {
+                spawnMob();
+            }
+        }
+
+        gameState = GameState.RUNNING;
+        score = 0;
+        lastScore = 0;
+        lastLives = player.lives;
+        lastShield = player.shield;
+        hudNeedsRedraw = true;
+        shakeAmount = 0;
+        shakeDuration = 0;
+
+        // Reset all game state for a fresh start
+        resetGameState();
+        clearAllGameObjects();
+        resetPlayerState();
+    }
+
+    void spawnMob() {
+        mobs.add(new Mob(sketch, meteorImgs));
+    }
+
+    void spawnEnemyShip() {
+        // In second phase, only spawn a ship 50% of the time
+        if (!secondPhaseActive || sketch.random(1) < 0.5f) {
+            enemyShips.add(new EnemyShip(sketch, enemyShipImgs, spriteCache));
+        }
+    }
+
+    void spawnEnemyFormation() {
+        int shipCount;
+        if (secondSummaryShown && !thirdSummaryShown) {
+            // Phase 3: 1-3 ships only (reduced by 30%)
+            shipCount = (int) sketch.random(1, 4); // 1-3 ships
+        } else {
+            // Phase 1 and 2: 3-6 ships
+            shipCount = (int) sketch.random(3, 7); // 3-6 ships
+        }
+        int formationType = (int) sketch.random(4); // 0-3 formation types
+        FormationSpawnEvent spawnEvent = new FormationSpawnEvent();
+        spawnEvent.begin();
+        EnemyFormation formation = new EnemyFormation(sketch, shipCount, formationType, enemyShipImgs, spriteCache);
+
+        // Enable Galaxian-style diving attacks in Phase 3
+        if (secondSummaryShown && !thirdSummaryShown) {
+            formation.useGalaxianPattern = true;
+            formation.useRandomMovementPatterns = true; // Enable random movement patterns
+            // Set shorter initial attack interval for Phase 3 (ships dive sooner)
+            formation.attackTimer = sketch.random(0.5f, 1.5f); // Start diving after 0.5-1.5 seconds
+
+            // Reduce bomb drops by additional 20% in Phase 3 (total 40% reduction)
+            for (EnemyShip ship : formation.ships) {
+                ship.bombInterval *= 1.25f; // Increase interval by 25% = 20% fewer bombs
+                ship.nextBombTime = (sketch.millis() / 1000.0f) + ship.bombInterval;
+            }
+        }
+
+        enemyFormations.add(formation);
+        spawnEvent.end();
+        if (spawnEvent.shouldCommit()) {
+            spawnEvent.ships = shipCount;
+            spawnEvent.formationType = formationType;
+            spawnEvent.galaxian = formation.useGalaxianPattern;
+            spawnEvent.commit();
+        }
+    }
+
+    void spawnBoss() {
+        boss = new Boss(sketch, assets.getBossImg());
+    }
+
+    /**
+     * Resets all game state variables to their initial values.
+     * Called when starting a new game.
+     */
+    private void resetGameState() {
+        // Timer and statistics
+        gameTimer = 0;
+        secondPhaseTimer = 0;
+        thirdPhaseTimer = 0;
+        enemiesKilled = 0;
+        mobsKilled = 0;
+        shipsKilled = 0;
+        enemySpawnCounter = 0;
+
+        // Phase flags - start with phase 1
+        summaryShown = false;
+        secondSummaryShown = false;
+        thirdSummaryShown = false;
+        formationModeActive = false;
+        secondPhaseActive = false;
+        thirdPhaseActive = false;
+        fourthPhaseActive = false;
+
+        // Boss state
+        bossDefeated = false;
+        boss = null;
+
+        // Player state
+        playerRespawning = false;
+        playerDeathHandled = false;
+        respawnTimer = 0;
+    }
+
+    /**
+     * Clears all active game objects (enemies, projectiles, effects).
+     * Called when starting a new game or transitioning between phases.
+     */
+    private void clearAllGameObjects() {
+        deferredEffects.clear();
+        events.clear();
+        mobs.clear();
+        enemyShips.clear();
+        enemyFormations.clear();
+        bombs.clear();
+        supernovas.clear();
+        particleSwarms.clear();
+    }
+
+    /**
+     * Resets player to initial state with full health and lives.
+     */
+    private void resetPlayerState() {
+        player.lives = 3;
+        player.shield = 100;
+    }
+
+    /**
+     * Handles boss shooting behavior based on current attack pattern.
+     * Boss has 3 attack types:
+     * - Type 0: 3-way spread pattern (straight bombs)
+     * - Type 1: 2 seeking missiles (tracking)
+     * - Type 2: 5-way wide spread (faster bombs)
+     */
+    void performBossShoot() {
+        float bossSize = 6.0f; // Boss is 6x normal ship size
+        int attackType = boss.getAttackType();
+
+        if (attackType == 0) {
+            // Spread pattern attack (3 bombs)
+            // Center bomb (straight down)
+            Bomb centerBomb = new Bomb(sketch, boss.pos.x, boss.pos.y + boss.radius, bossSize, player.pos);
+            centerBomb.vel.set(0, 200); // Straight down, faster
+            centerBomb.isTracking = false;
+            bombs.add(centerBomb);
+
+            // Left bomb (angled left)
+            Bomb leftBomb = new Bomb(sketch, boss.pos.x - 50, boss.pos.y + boss.radius, bossSize, player.pos);
+            leftBomb.vel.set(-120, 200); // Angled left
+            leftBomb.isTracking = false;
+            bombs.add(leftBomb);
+
+            // Right bomb (angled right)
+            Bomb rightBomb = new Bomb(sketch, boss.pos.x + 50, boss.pos.y + boss.radius, bossSize, player.pos);
+            rightBomb.vel.set(120, 200); // Angled right
+            rightBomb.isTracking = false;
+            bombs.add(rightBomb);
+        } else if (attackType == 1) {
+            // Seeking missile attack (2 tracking bombs)
+            // Use normal ship size for speed calculation (not boss size)
+            float normalShipSize = 1.0f; // Normal enemy ship size
+
+            // Left seeking missile
+            Bomb leftMissile = new Bomb(sketch, boss.pos.x - 60, boss.pos.y + boss.radius, normalShipSize, player.pos);
+            leftMissile.isTracking = true; // Enable tracking
+            leftMissile.trackingStrength = 150f; // Same as normal enemy tracking
+            bombs.add(leftMissile);
+
+            // Right seeking missile
+            Bomb rightMissile = new Bomb(sketch, boss.pos.x + 60, boss.pos.y + boss.radius, normalShipSize, player.pos);
+            rightMissile.isTracking = true; // Enable tracking
+            rightMissile.trackingStrength = 150f; // Same as normal enemy tracking
+            bombs.add(rightMissile);
+
+            // Play tracking bomb sound for missiles
+            playSound(SoundEffect.TRACKING_BOMB);
+        } else if (attackType == 2) {
+            // Special pattern: 5-way spread with faster bombs
+            for (int i = 0; i < 5; i++) {
+                float angle = -60 + (i * 30); // -60, -30, 0, 30, 60 degrees
+                float angleRad = PApplet.radians(angle);
+                float xOffset = PApplet.sin(angleRad) * 80;
+
+                Bomb bomb = new Bomb(sketch, boss.pos.x + xOffset, boss.pos.y + boss.radius, bossSize, player.pos);
+                bomb.vel.set(PApplet.sin(angleRad) * 180, 250); // Faster and wider spread
+                bomb.isTracking = false;
+                bombs.add(bomb);
+            }
+        }
+
+        // Play laser sound
+        playSound(SoundEffect.LASER);
+    }
+
+    /**
+     * Boss special attack: Circular burst of 8 tracking missiles.
+     * Missiles spawn in a circle around the boss and track the player.
+     */
+    void performBossSpecialAttack() {
+        int missileCount = 8;
+        float normalShipSize = 1.0f;
+
+        for (int i = 0; i < missileCount; i++) {
+            float angle = (PApplet.TWO_PI / missileCount) * i;
+            float spawnRadius = boss.radius + 40;
+            float spawnX = boss.pos.x + PApplet.cos(angle) * spawnRadius;
+            float spawnY = boss.pos.y + PApplet.sin(angle) * spawnRadius;
+
+            Bomb missile = new Bomb(sketch, spawnX, spawnY, normalShipSize, player.pos);
+            missile.isTracking = true;
+            missile.trackingStrength = 200f; // Stronger tracking than normal
+
+            // Initial velocity in circle direction
+            missile.vel.set(PApplet.cos(angle) * 100, PApplet.sin(angle) * 100);
+            bombs.add(missile);
+        }
+
+        // Visual effect: Ring of particles
+        for (int i = 0; i < 50; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float speed = fxRandom.random(200, 400);
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, boss.pos.x, boss.pos.y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, 100, 100, 220));
+                particles.size[p] = fxRandom.random(3, 8);
+            }
+        }
+
+        // Play special sound
+        playSound(SoundEffect.TRACKING_BOMB);
+        playSound(SoundEffect.LASER);
+    }
+
+    void handleBossDefeat() {
+        if (boss == null) return;
+
+        // EPIC BOSS EXPLOSION - Multiple waves of destruction
+        // The waves are spawned from deferredEffects, BOSS_BURST_CHUNK particles per slice, so the
+        // thousands of particles phase in over a few frames within the effect budget instead of
+        // stalling the frame the boss dies in.
+        // A single job object steps through them - no per-wave classes to load at that moment.
+        final float bossX = boss.pos.x;
+        final float bossY = boss.pos.y;
+        final float bossRadius = boss.radius;
+        final BossDefeatBurstEvent burstEvent = new BossDefeatBurstEvent();
+        burstEvent.begin();
+        deferredEffects.submit(new DeferredWorkQueue.Job() {
+            private int stage = 0;
+            private int next = 0; // First particle of the next slice within the stage
+            private int spawned = 0;
+
+            @Override
+            public boolean runSlice() {
+                int before = particles.count();
+                BurstWindow window = bossBurstWindow;
+                window.reset(next, next + BOSS_BURST_CHUNK);
+                switch (stage) {
+                    case 0: spawnBossDissolve(bossX, bossY, bossRadius, window); break;
+                    case 1: spawnBossEnergyWaves(bossX, bossY, bossRadius, window); break;
+                    case 2: spawnBossDebris(bossX, bossY, bossRadius, window); break;
+                    case 3: spawnBossMultiStageBursts(bossX, bossY, bossRadius, window); break;
+                    case 4: spawnBossFinalBursts(bossX, bossY, bossRadius, window); break;
+                    case 5: spawnBossLingeringDebris(bossX, bossY, bossRadius, window); break;
+                }
+                spawned += particles.count() - before;
+                if (window.to < window.offset) {
+                    next = window.to;
+                    return true;
+                }
+                stage++;
+                next = 0;
+                if (stage < 6) {
+                    return true;
+                }
+                burstEvent.end();
+                if (burstEvent.shouldCommit()) {
+                    burstEvent.x = bossX;
+                    burstEvent.y = bossY;
+                    burstEvent.waves = stage;
+                    burstEvent.particlesSpawned = spawned;
+                    burstEvent.commit();
+                }
+                return false;
+            }
+        });
+
+        // EXTREME screen shake - long duration
+        addScreenShake(SCREEN_SHAKE_DEATH * 8, SCREEN_SHAKE_DEATH_DURATION * 4);
+
+        // Play multiple explosion sounds for dramatic effect
+        playSound(SoundEffect.ENEMY_EXPLOSION);
+        playSound(SoundEffect.EXPLOSION);
+        playSound(SoundEffect.SUPERNOVA);
+        playSound(SoundEffect.CONTROL); // Dramatic destruction sound
+
+        // Add massive score
+        score += 10000;
+        addScorePopup(bossX, bossY, 10000);
+
+        // Increment kill counter
+        enemiesKilled++;
+        shipsKilled++;
+
+        // Clear boss
+        boss = null;
+
+        // Restart background spawning (planets, swarms, supernovas)
+        fourthPhaseActive = false; // Allow background elements to spawn again
+
+        // Trigger victory screen - set game state to GAME_OVER but keep bossDefeated = true
+        gameState = GameState.GAME_OVER;
+        
+        // Start victory music (boss theme continues)
+        listener.startGameOverMusic();
+        
+        hudNeedsRedraw = true;
+    }
+
+    /**
+     * The share of a boss explosion stage that one slice spawns: particles [from, to),
+     * counted from the start of the stage. A stage method passes each of its layers
+     * through the window in order, so every particle is spawned exactly once and in
+     * the same order as in one go, just spread over several slices.
+     */
+    private static final class BurstWindow {
+        int from;
+        int to;
+        int offset; // First particle of the next layer within the stage
+        int end;    // End of the range the last begin() returned
+
+        void reset(int from, int to) {
+            this.from = from;
+            this.to = to;
+            offset = 0;
+        }
+
+        /**
+         * This slice's share of a layer of count particles: from the returned index to end
+         */
+        int begin(int count) {
+            int first = Math.max(0, Math.min(from - offset, count));
+            end = Math.max(first, Math.min(to - offset, count));
+            offset += count;
+            return first;
+        }
+
+        /**
+         * Whether a group of count particles that must not be split (e.g. they share a
+         * random origin) is spawned in this slice: whole, in the slice of its first particle
+         */
+        boolean group(int count) {
+            boolean inside = offset >= from && offset < to;
+            offset += count;
+            return inside;
+        }
+    }
+
+    /**
+     * Boss explosion, stage 1: the boss dissolves into an energy cloud (body particles, core, shockwave rings).
+     */
+    private void spawnBossDissolve(float bossX, float bossY, float bossRadius, BurstWindow window) {
+        // INITIAL PHASE: BOSS DISSOLVING INTO ENERGY CLOUD
+        // Boss breaks apart into expanding energy particles from all parts of the ship
+
+        // Create particles from the entire boss body (dissolving effect)
+        int particlesFromBody = 2000;
+        for (int i = window.begin(particlesFromBody); i < window.end; i++) {
+            // Spawn particles from random positions within boss radius
+            int spawnDir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float spawnX = bossX + FastMath.dirX(spawnDir) * spawnDist;
+            float spawnY = bossY + FastMath.dirY(spawnDir) * spawnDist;
+
+            // Particles explode outward from their spawn position
+            int explodeDir = FastMath.randomDirection(fxRandom);
+            float speed = fxRandom.random(100, 500);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, spawnX, spawnY, FastMath.dirX(explodeDir) * speed, FastMath.dirY(explodeDir) * speed,
+                        sketch.color(255, fxRandom.random(150, 220), fxRandom.random(0, 50), 220)); // Orange/yellow
+                particles.size[p] = fxRandom.random(3, 8); // Larger particles for explosion effect
+                particles.noFriction[p] = true; // Keep moving until fade out
+            }
+        }
+
+        // Central white-hot core explosion (reactor breach)
+        for (int i = window.begin(1000); i < window.end; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(300, 700);
+                particles.reset(p, bossX, bossY, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, 255, 255, 250));
+                particles.size[p] = fxRandom.random(4, 10);
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Bright energy shockwave (expanding ring)
+        for (int ring = 0; ring < 5; ring++) {
+            float ringRadius = bossRadius * (0.3f + ring * 0.2f);
+            int particlesInRing = 80 + ring * 20;
+            for (int i = window.begin(particlesInRing); i < window.end; i++) {
+                float angle = (PApplet.TWO_PI / particlesInRing) * i + fxRandom.random(-0.1f, 0.1f);
+                float spawnX = bossX + FastMath.cos(angle) * ringRadius;
+                float spawnY = bossY + FastMath.sin(angle) * ringRadius;
+                float speed = fxRandom.random(200, 600);
+
+                int p = particles.obtain();
+                if (p >= 0) {
+                    particles.reset(p, spawnX, spawnY, FastMath.cos(angle) * speed, FastMath.sin(angle) * speed,
+                            sketch.color(255, fxRandom.random(200, 255), fxRandom.random(0, 100), 200)); // Yellow/orange
+                    particles.size[p] = fxRandom.random(5, 12);
+                    particles.noFriction[p] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Boss explosion, stage 2: colored energy waves (plasma, electric arcs, fire, toxic gas, smoke).
+     */
+    private void spawnBossEnergyWaves(float bossX, float bossY, float bossRadius, BurstWindow window) {
+        // Blue energy plasma (reactor core dissolving)
+        for (int i = window.begin(1200); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 0.7f);
+            float spawnX = bossX + FastMath.dirX(dir) * spawnDist;
+            float spawnY = bossY + FastMath.dirY(dir) * spawnDist;
+            float speed = fxRandom.random(150, 550);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, spawnX, spawnY, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(180, 220), fxRandom.random(0, 80), 220)); // Orange/yellow reactor
+                particles.size[p] = fxRandom.random(4, 9);
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Cyan electric arcs (energy discharge)
+        for (int i = window.begin(800); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 0.5f);
+            float speed = fxRandom.random(250, 650);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(0, 255, 255, 240));
+                particles.size[p] = fxRandom.random(3, 7);
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Orange/yellow fire explosion (hull burning)
+        for (int i = window.begin(1500); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(120, 480);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(150, 255), fxRandom.random(0, 80), 200));
+                particles.size[p] = fxRandom.random(4, 10);
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Purple plasma clouds (exotic energy)
+        for (int i = window.begin(900); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 0.8f);
+            float speed = fxRandom.random(100, 450);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(100, 180), fxRandom.random(0, 50), 190)); // Orange/red plasma
+                particles.size[p] = fxRandom.random(5, 11);
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Red critical fragments (hull debris)
+        for (int i = window.begin(1000); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(180, 520);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(0, 80), 0, 210));
+                particles.size[p] = fxRandom.random(3, 8);
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Green toxic gas cloud (coolant/fuel)
+        for (int i = window.begin(600); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 0.6f);
+            float speed = fxRandom.random(80, 350);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(100, 200), 255, fxRandom.random(100, 200), 170));
+                particles.size[p] = fxRandom.random(6, 13);
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Dark smoke/debris cloud (structural collapse)
+        for (int i = window.begin(800); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(60, 300);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(40, 100), fxRandom.random(40, 100), fxRandom.random(40, 100), 190));
+                particles.size[p] = fxRandom.random(5, 12);
+                particles.life[p] *= 2.0f; // Smoke lasts twice as long
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+    }
+
+    /**
+     * Boss explosion, stage 3: debris and shrapnel (sparks, heavy and burning fragments, embers, metal shards).
+     */
+    private void spawnBossDebris(float bossX, float bossY, float bossRadius, BurstWindow window) {
+        // DEBRIS AND SHRAPNEL - Heavy metal fragments
+        for (int i = window.begin(1500); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(150, 600);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(120, 180), fxRandom.random(120, 180), fxRandom.random(120, 180), 230));
+                particles.size[p] = fxRandom.random(2, 6); // Small sharp fragments
+                particles.life[p] *= 2.5f; // Debris lasts longer
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // SPARKS - Bright welding-like sparks
+        for (int i = window.begin(2000); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(200, 800);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(200, 255), fxRandom.random(100, 200), 250));
+                particles.size[p] = fxRandom.random(1, 4); // Small bright sparks
+                particles.life[p] *= 1.8f; // Sparks last longer
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // HEAVY SHRAPNEL - Large spinning debris
+        for (int i = window.begin(800); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(100, 450);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(80, 140), fxRandom.random(80, 140), fxRandom.random(80, 140), 240));
+                particles.size[p] = fxRandom.random(8, 18); // Large chunks
+                particles.life[p] *= 3.0f; // Heavy debris lasts much longer
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // BURNING FRAGMENTS - Fire-covered debris
+        for (int i = window.begin(1200); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(120, 500);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(100, 200), 0, 220));
+                particles.size[p] = fxRandom.random(4, 10);
+                particles.life[p] *= 2.2f; // Burning debris lasts longer
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // THICK SMOKE CLOUDS - Billowing smoke
+        for (int i = window.begin(1000); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 1.2f);
+            float speed = fxRandom.random(40, 200);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(30, 80), fxRandom.random(30, 80), fxRandom.random(30, 80), 180));
+                particles.size[p] = fxRandom.random(10, 25); // Large smoke clouds
+                particles.life[p] *= 3.5f; // Smoke lasts very long
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // GLOWING EMBERS - Hot metal pieces
+        for (int i = window.begin(1000); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(80, 400);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(80, 150), 0, 200));
+                particles.size[p] = fxRandom.random(3, 7);
+                particles.life[p] *= 2.8f; // Embers glow for a long time
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // METAL SHARDS - Sharp angular pieces
+        for (int i = window.begin(1500); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius);
+            float speed = fxRandom.random(180, 700);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(150, 220), fxRandom.random(150, 220), fxRandom.random(150, 220), 240));
+                particles.size[p] = fxRandom.random(2, 5); // Sharp small pieces
+                particles.life[p] *= 2.0f; // Metal shards last longer
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+    }
+
+    /**
+     * Boss explosion, stage 4: Contra-style bursts across the body, then wings, engine and hull sections.
+     */
+    private void spawnBossMultiStageBursts(float bossX, float bossY, float bossRadius, BurstWindow window) {
+        // MULTI-STAGE EXPLOSION (Contra-style)
+
+        // STAGE 1: Initial burst points across boss body (multiple explosion origins)
+        int burstPoints = 12; // Multiple explosion points
+        for (int point = 0; point < burstPoints; point++) {
+            if (!window.group(150)) {
+                continue; // Spawned whole in the slice that holds its first particle
+            }
+            float burstAngle = (PApplet.TWO_PI / burstPoints) * point + fxRandom.random(-0.3f, 0.3f);
+            float burstDist = fxRandom.random(bossRadius * 0.3f, bossRadius * 0.9f);
+            float burstX = bossX + FastMath.cos(burstAngle) * burstDist;
+            float burstY = bossY + FastMath.sin(burstAngle) * burstDist;
+
+            // Large colored particles bursting from each point
+            for (int i = 0; i < 150; i++) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(200, 700);
+
+                int p = particles.obtain();
+                if (p >= 0) {
+                    particles.reset(p, burstX, burstY, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                            sketch.color(255, fxRandom.random(150, 220), fxRandom.random(0, 50), 240)); // Orange/yellow burst
+                    particles.size[p] = fxRandom.random(8, 20); // Large colored particles
+                    particles.life[p] *= 2.5f;
+                    particles.maxLife[p] = particles.life[p];
+                    particles.noFriction[p] = true;
+                }
+            }
+        }
+
+        // STAGE 2: Boss parts scattering (wings, engines, hull sections)
+        // Left wing section exploding
+        float leftWingX = bossX - bossRadius * 0.6f;
+        float leftWingY = bossY;
+        for (int i = window.begin(400); i < window.end; i++) {
+            float angle = fxRandom.random(PApplet.PI * 0.5f, PApplet.PI * 1.5f); // Explode left
+            float speed = fxRandom.random(250, 650);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, leftWingX, leftWingY, FastMath.cos(angle) * speed, FastMath.sin(angle) * speed,
+                        sketch.color(255, fxRandom.random(150, 200), 0, 230)); // Orange/yellow wing
+                particles.size[p] = fxRandom.random(10, 25); // Large wing fragments
+                particles.life[p] *= 3.0f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Right wing section exploding
+        float rightWingX = bossX + bossRadius * 0.6f;
+        float rightWingY = bossY;
+        for (int i = window.begin(400); i < window.end; i++) {
+            float angle = fxRandom.random(-PApplet.PI * 0.5f, PApplet.PI * 0.5f); // Explode right
+            float speed = fxRandom.random(250, 650);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, rightWingX, rightWingY, FastMath.cos(angle) * speed, FastMath.sin(angle) * speed,
+                        sketch.color(255, fxRandom.random(150, 200), 0, 230)); // Orange/yellow wing
+                particles.size[p] = fxRandom.random(10, 25); // Large wing fragments
+                particles.life[p] *= 3.0f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Top engine section exploding
+        float topEngineX = bossX;
+        float topEngineY = bossY - bossRadius * 0.5f;
+        for (int i = window.begin(350); i < window.end; i++) {
+            float angle = fxRandom.random(-PApplet.PI, 0); // Explode upward
+            float speed = fxRandom.random(300, 700);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, topEngineX, topEngineY, FastMath.cos(angle) * speed, FastMath.sin(angle) * speed,
+                        sketch.color(255, fxRandom.random(180, 220), fxRandom.random(0, 80), 230)); // Orange/yellow engine
+                particles.size[p] = fxRandom.random(12, 28); // Large engine parts
+                particles.life[p] *= 3.2f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Bottom hull section exploding
+        float bottomHullX = bossX;
+        float bottomHullY = bossY + bossRadius * 0.5f;
+        for (int i = window.begin(350); i < window.end; i++) {
+            float angle = fxRandom.random(0, PApplet.PI); // Explode downward
+            float speed = fxRandom.random(300, 700);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bottomHullX, bottomHullY, FastMath.cos(angle) * speed, FastMath.sin(angle) * speed,
+                        sketch.color(fxRandom.random(150, 220), fxRandom.random(150, 220), fxRandom.random(150, 220), 230));
+                particles.size[p] = fxRandom.random(12, 28); // Large hull chunks
+                particles.life[p] *= 3.2f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+    }
+
+    /**
+     * Boss explosion, stage 5: final large-scale colored bursts and the massive ship explosion.
+     */
+    private void spawnBossFinalBursts(float bossX, float bossY, float bossRadius, BurstWindow window) {
+        // STAGE 3: Massive colored particle bursts (final large-scale burst)
+        // Giant orange/red burst
+        for (int i = window.begin(800); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float speed = fxRandom.random(350, 800);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX, bossY, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(100, 200), 0, 240));
+                particles.size[p] = fxRandom.random(15, 35); // Very large particles
+                particles.life[p] *= 2.8f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Giant yellow/white burst
+        for (int i = window.begin(600); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float speed = fxRandom.random(400, 850);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX, bossY, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, 255, fxRandom.random(100, 200), 250)); // Bright yellow/white
+                particles.size[p] = fxRandom.random(12, 30); // Very large particles
+                particles.life[p] *= 2.5f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Giant blue/cyan burst
+        for (int i = window.begin(600); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float speed = fxRandom.random(380, 820);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX, bossY, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(200, 255), fxRandom.random(0, 100), 240)); // Yellow/orange
+                particles.size[p] = fxRandom.random(12, 30); // Very large particles
+                particles.life[p] *= 2.5f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Giant purple/magenta burst
+        for (int i = window.begin(500); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float speed = fxRandom.random(360, 800);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX, bossY, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(100, 150), 0, 240)); // Deep orange/red
+                particles.size[p] = fxRandom.random(12, 30); // Very large particles
+                particles.life[p] *= 2.5f;
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Wave 4: Massive ship explosion effect
+        if (window.group(1)) {
+            spawnShipExplosion(bossX, bossY, 8.0f); // 8x normal explosion
+        }
+    }
+
+    /**
+     * Boss explosion, stage 6: lingering debris, embers and smoke at the explosion site, plus supernovas.
+     */
+    private void spawnBossLingeringDebris(float bossX, float bossY, float bossRadius, BurstWindow window) {
+        // Wave 4.5: LINGERING DEBRIS - Remains at explosion site and fades slowly
+        // Large debris chunks that stay near the explosion center
+        for (int i = window.begin(500); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 1.5f);
+            float speed = fxRandom.random(10, 80); // Very slow moving
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(100, 150), fxRandom.random(100, 150), fxRandom.random(100, 150), 220));
+                particles.size[p] = fxRandom.random(8, 20); // Large debris
+                particles.life[p] *= 5.0f; // Lasts much longer
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Glowing embers that drift slowly
+        for (int i = window.begin(400); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 1.2f);
+            float speed = fxRandom.random(5, 50); // Very slow
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(255, fxRandom.random(100, 180), 0, 200));
+                particles.size[p] = fxRandom.random(4, 12);
+                particles.life[p] *= 6.0f; // Lasts very long
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Thick smoke that lingers
+        for (int i = window.begin(600); i < window.end; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float spawnDist = fxRandom.random(0, bossRadius * 1.3f);
+            float speed = fxRandom.random(5, 40); // Very slow drift
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, bossX + FastMath.dirX(dir) * spawnDist,
+                        bossY + FastMath.dirY(dir) * spawnDist,
+                        FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                        sketch.color(fxRandom.random(30, 70), fxRandom.random(30, 70), fxRandom.random(30, 70), 160));
+                particles.size[p] = fxRandom.random(15, 35); // Very large smoke
+                particles.life[p] *= 7.0f; // Lasts extremely long
+                particles.maxLife[p] = particles.life[p];
+                particles.noFriction[p] = true;
+            }
+        }
+
+        // Wave 5: Create multiple supernovas for dramatic effect
+        for (int i = window.begin(3); i < window.end; i++) {
+            float offsetX = fxRandom.random(-bossRadius * 0.5f, bossRadius * 0.5f);
+            float offsetY = fxRandom.random(-bossRadius * 0.5f, bossRadius * 0.5f);
+            Supernova sn = new Supernova(sketch, backgroundRandom);
+            sn.pos.x = bossX + offsetX;
+            sn.pos.y = bossY + offsetY;
+            supernovas.add(sn);
+        }
+    }
+
+    void performPlayerShoot() {
+        // Sound-Integration: Schuss-Sound abspielen
+        playSound(SoundEffect.SHOOT);
+
+        if (player.power == 1) {
+            Bullet b = bulletPool.obtain();
+            b.reset(player.pos.x, player.pos.y - 30);
+            bullets.add(b);
+        } else {
+            Bullet b1 = bulletPool.obtain();
+            b1.reset(player.pos.x - 20, player.pos.y - 20);
+            bullets.add(b1);
+
+            Bullet b2 = bulletPool.obtain();
+            b2.reset(player.pos.x + 20, player.pos.y - 20);
+            bullets.add(b2);
+        }
+
+        // Small recoil shake
+        addScreenShake(2, 0.05f);
+    }
+
+    void performEnemyShipBombDrop(EnemyShip ship) {
+        // Keine Bomben im Game Over State
+        if (gameState == GameState.GAME_OVER) {
+            return;
+        }
+
+        // Bombengeschwindigkeit basierend auf Schiffsgröße
+        float sizeRatio = ship.radius / 20.0f; // Relativ zur Player-Größe
+        Bomb bomb = new Bomb(sketch, ship.pos.x, ship.pos.y + ship.radius, sizeRatio, player.pos);
+        bombs.add(bomb);
+
+        // Sound-Effekte unterschiedlich für normale und Tracking-Bomben
+        if (bomb.isTracking) {
+            playSound(SoundEffect.TRACKING_BOMB); // Rumble Sound für Tracking
+        } else {
+            playSound(SoundEffect.LASER); // Laser Sound für normale Bomben
+        }
+    }
+
+    void performEnemyShipSplit(EnemyShip ship) {
+        // Verhindere mehrfache Splits
+        ship.canSplit = false;
+
+        // Spezieller Split-Partikel-Effekt
+        spawnEnemyShipSplitEffect(ship);
+
+        // Erstelle zwei kleinere Schiffe
+        int newRadius = (int) (ship.radius * EnemyShip.SPLIT_SCALE); // 70% der ursprünglichen Größe
+
+        // Linkes Schiff - verwendet dasselbe Bild wie das ursprüngliche Schiff
+        EnemyShip leftShip = new EnemyShip(sketch, enemyShipImgs, spriteCache);
+        leftShip.radius = newRadius;
+        leftShip.pos.set(ship.pos.x - ship.radius * 0.5f, ship.pos.y);
+        leftShip.speed.set(ship.speed.x - 60, ship.speed.y); // Nach links
+        leftShip.movementPattern = (int) sketch.random(8);
+        leftShip.isSplitChild = true; // WICHTIG: Kann sich nicht weiter teilen
+        leftShip.canSplit = false; // Explizit deaktivieren
+        leftShip.warpingIn = false; // Kein Warp-In
+        leftShip.hasGlow = ship.hasGlow;
+        leftShip.hasThrusters = ship.hasThrusters;
+        leftShip.thrusterColor = ship.thrusterColor;
+        // Verwende dasselbe Bild wie das ursprüngliche Schiff
+        leftShip.setImage(ship.img);
+        leftShip.maxHealth = newRadius;
+        leftShip.health = newRadius;
+        leftShip.wobble = sketch.random(PApplet.TWO_PI);
+        leftShip.glowPulse = sketch.random(PApplet.TWO_PI);
+        enemyShips.add(leftShip);
+
+        // Rechtes Schiff - verwendet dasselbe Bild wie das ursprüngliche Schiff
+        EnemyShip rightShip = new EnemyShip(sketch, enemyShipImgs, spriteCache);
+        rightShip.radius = newRadius;
+        rightShip.pos.set(ship.pos.x + ship.radius * 0.5f, ship.pos.y);
+        rightShip.speed.set(ship.speed.x + 60, ship.speed.y); // Nach rechts
+        rightShip.movementPattern = (int) sketch.random(8);
+        rightShip.isSplitChild = true; // WICHTIG: Kann sich nicht weiter teilen
+        rightShip.canSplit = false; // Explizit deaktivieren
+        rightShip.warpingIn = false; // Kein Warp-In
+        rightShip.hasGlow = ship.hasGlow;
+        rightShip.hasThrusters = ship.hasThrusters;
+        rightShip.thrusterColor = ship.thrusterColor;
+        // Verwende dasselbe Bild wie das ursprüngliche Schiff
+        rightShip.setImage(ship.img);
+        rightShip.maxHealth = newRadius;
+        rightShip.health = newRadius;
+        rightShip.wobble = sketch.random(PApplet.TWO_PI);
+        rightShip.glowPulse = sketch.random(PApplet.TWO_PI);
+        enemyShips.add(rightShip);
+
+        // Markiere ursprüngliches Schiff zum Entfernen (wird in nächstem Frame entfernt)
+        ship.pos.y = sketch.height + 1000; // Bewege es aus dem Bildschirm
+    }
+
+    void spawnEnemyShipSplitEffect(EnemyShip ship) {
+        // SEHR AUFFÄLLIGER Split-Effekt mit mehreren Schichten
+        final float x = ship.pos.x;
+        final float y = ship.pos.y;
+        final float radius = ship.radius;
+        deferredEffects.submit(() -> spawnEnemyShipSplitParticles(x, y, radius));
+
+        // 5. Kleine Explosion am Zentrum
+        Explosion e = explosionPool.obtain();
+        e.reset(ship.pos.x, ship.pos.y, "sm");
+        explosions.add(e);
+
+        // Stärkerer Screen Shake
+        addScreenShake(8, 0.3f);
+
+        // Spezieller Split-Sound
+        playSound(SoundEffect.SPLIT);
+    }
+
+    /**
+     * Particle layers of the split effect (queued by spawnEnemyShipSplitEffect).
+     */
+    private void spawnEnemyShipSplitParticles(float x, float y, float radius) {
+        // 1. Innerer heller Blitz (weiß)
+        for (int i = 0; i < 30; i++) {
+            int dir = FastMath.randomDirection(fxRandom);
+            float speed = fxRandom.random(200, 350);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, 
+                        x,
+                        y,
+                        FastMath.dirX(dir) * speed,
+                        FastMath.dirY(dir) * speed,
+                        sketch.color(255, 255, 255, 255) // Reines Weiß
+                );
+            }
+        }
+
+        // 2. Mittlere Schicht (Cyan/Elektrisch)
+        for (int i = 0; i < 50; i++) {
+            float angle = (PApplet.TWO_PI / 50) * i + fxRandom.random(-0.1f, 0.1f);
+            float dist = radius * 0.3f;
+            float speed = fxRandom.random(180, 280);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, 
+                        x + FastMath.cos(angle) * dist,
+                        y + FastMath.sin(angle) * dist,
+                        FastMath.cos(angle) * speed,
+                        FastMath.sin(angle) * speed,
+                        sketch.color(100, 255, 255, 240) // Helles Cyan (elektrisch)
+                );
+            }
+        }
+
+        // 3. Äußere Energiewelle (Gelb-Orange)
+        for (int i = 0; i < 80; i++) {
+            float angle = (PApplet.TWO_PI / 80) * i;
+            float dist = radius * 0.7f;
+            float speed = fxRandom.random(150, 250);
+
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, 
+                        x + FastMath.cos(angle) * dist,
+                        y + FastMath.sin(angle) * dist,
+                        FastMath.cos(angle) * speed,
+                        FastMath.sin(angle) * speed,
+                        sketch.color(255, 200, 50, 220) // Gelb-orange
+                );
+            }
+        }
+
+        // 4. Vertikale "Trennungs-Linie" Effekt
+        for (int i = 0; i < 20; i++) {
+            float yOffset = fxRandom.random(-radius, radius);
+
+            // Links
+            int pLeft = particles.obtain();
+            if (pLeft >= 0) {
+                particles.reset(pLeft, 
+                        x,
+                        y + yOffset,
+                        -fxRandom.random(150, 250), // Nach links
+                        fxRandom.random(-30, 30),
+                        sketch.color(255, 100, 255, 230) // Magenta
+                );
+            }
+
+            // Rechts
+            int pRight = particles.obtain();
+            if (pRight >= 0) {
+                particles.reset(pRight, 
+                        x,
+                        y + yOffset,
+                        fxRandom.random(150, 250), // Nach rechts
+                        fxRandom.random(-30, 30),
+                        sketch.color(255, 100, 255, 230) // Magenta
+                );
+            }
+        }
+    }
+
+    void spawnEnemyShipWarpInEffect(EnemyShip ship) {
+        // Wirbel von Partikeln beim Spawn
+        for (int i = 0; i < 40; i++) {
+            float angle = i * PApplet.TWO_PI / 40;
+            float dist = ship.radius * 2;
+            float speed = fxRandom.random(100, 200);
+            int p = particles.obtain();
+            if (p >= 0) {
+                particles.reset(p, 
+                        ship.pos.x + FastMath.cos(angle) * dist,
+                        ship.pos.y + FastMath.sin(angle) * dist,
+                        FastMath.cos(angle) * speed,
+                        FastMath.sin(angle) * speed,
+                        sketch.color(100, 200, 255, 200) // Cyan Warp-Farbe
+                );
+            }
+        }
+    }
+
+    void addScreenShake(float amount, float duration) {
+        shakeAmount = amount;
+        shakeDuration = duration;
+    }
+
+    /**
+     * Spawns a burst of particles at the specified location.
+     * Used for explosions and visual effects.
+     *
+     * @param x     X coordinate
+     * @param y     Y coordinate
+     * @param count Number of particles to spawn
+     * @param col   Color of the particles
+     */
+    void spawnParticles(float x, float y, int count, int col) {
+        for (int i = 0; i < count; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(50, 200);
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, col);
+            }
+        }
+    }
+
+    /**
+     * Spawns bright impact sparks when a bullet hits a target.
+     * Creates a burst of white, yellow, and orange particles.
+     */
+    void spawnImpactSparks(float x, float y, int count) {
+        count = count * 2; // Double the count for more visual impact
+        for (int i = 0; i < count; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(150, 400); // Schneller als normale Partikel
+
+                // Verschiedene helle Farben für Funken-Effekt
+                int sparkColor;
+                float colorChoice = fxRandom.random(1);
+                if (colorChoice < 0.4f) {
+                    sparkColor = sketch.color(255, 255, 255); // Weiß
+                } else if (colorChoice < 0.7f) {
+                    sparkColor = sketch.color(255, 255, 100); // Gelb
+                } else {
+                    sparkColor = sketch.color(255, 200, 100); // Orange
+                }
+
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, sparkColor);
+            }
+        }
+    }
+
+    /**
+     * Spawns electric-style sparks when a ship takes damage.
+     * Creates cyan/blue/white particles for an electrical effect.
+     */
+    void spawnDamageSparks(float x, float y) {
+        int count = 15;
+        for (int i = 0; i < count; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(100, 250);
+
+                // Elektrische Farben (Cyan/Blau/Weiß)
+                int sparkColor;
+                float colorChoice = fxRandom.random(1);
+                if (colorChoice < 0.4f) {
+                    sparkColor = sketch.color(100, 200, 255); // Cyan
+                } else if (colorChoice < 0.7f) {
+                    sparkColor = sketch.color(200, 220, 255); // Hellblau
+                } else {
+                    sparkColor = sketch.color(255, 255, 255); // Weiß
+                }
+
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, sparkColor);
+            }
+        }
+    }
+
+    /**
+     * Spawns debris particles when an asteroid is destroyed.
+     * Amount scales with asteroid size (40-70 particles).
+     * Uses brown/gray colors for realistic asteroid debris.
+     */
+    void spawnMobDebris(float x, float y, float mobRadius) {
+        deferredEffects.submit(() -> spawnMobDebrisNow(x, y, mobRadius));
+    }
+
+    private void spawnMobDebrisNow(float x, float y, float mobRadius) {
+        int debrisCount = (int) (40 + mobRadius);
+
+        for (int i = 0; i < debrisCount; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(50, 250);
+
+                // Verschiedene Trümmer-Farben (Braun/Grau/Dunkel)
+                int debrisColor;
+                float colorChoice = fxRandom.random(1);
+                if (colorChoice < 0.4f) {
+                    debrisColor = sketch.color(139, 69, 19); // Braun (Asteroid)
+                } else if (colorChoice < 0.7f) {
+                    debrisColor = sketch.color(fxRandom.random(80, 120), fxRandom.random(80, 120), fxRandom.random(80, 120)); // Grau
+                } else {
+                    debrisColor = sketch.color(fxRandom.random(60, 90), fxRandom.random(40, 60), fxRandom.random(30, 50)); // Dunkelbraun
+                }
+
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, debrisColor);
+            }
+        }
+    }
+
+    /**
+     * Creates a complex ship explosion with multiple particle types.
+     * Includes core explosion, energy particles, sparks, and debris.
+     * Randomly varies intensity and color for visual variety.
+     * The particles are queued on deferredEffects.
+     *
+     * @param x     X coordinate
+     * @param y     Y coordinate
+     * @param scale Size multiplier for the explosion
+     */
+    void spawnShipExplosion(float x, float y, float scale) {
+        deferredEffects.submit(() -> spawnShipExplosionNow(x, y, scale));
+    }
+
+    private void spawnShipExplosionNow(float x, float y, float scale) {
+        float intensity = fxRandom.random(0.8f, 1.2f) * scale;
+        int explosionType = (int) fxRandom.random(3); // 3 different explosion color schemes
+
+        // Zentrale helle Explosion - variiert in Anzahl und Farbe
+        int coreCount = (int) (fxRandom.random(25, 35) * intensity);
+        for (int i = 0; i < coreCount; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(100, 300) * intensity;
+
+                // Verschiedene Farbvarianten
+                int col;
+                if (explosionType == 0) {
+                    col = sketch.color(255, fxRandom.random(200, 255), fxRandom.random(100, 200)); // Orange-gelb
+                } else if (explosionType == 1) {
+                    col = sketch.color(255, fxRandom.random(150, 200), fxRandom.random(50, 150)); // Mehr orange
+                } else {
+                    col = sketch.color(255, fxRandom.random(220, 255), fxRandom.random(150, 255)); // Heller, gelblicher
+                }
+
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, col);
+            }
+        }
+
+        // Energie-Partikel - Farbe variiert je nach Typ
+        int energyCount = (int) (fxRandom.random(20, 30) * intensity);
+        for (int i = 0; i < energyCount; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(150, 350) * intensity;
+
+                int col;
+                if (explosionType == 0) {
+                    col = sketch.color(fxRandom.random(100, 200), fxRandom.random(150, 255), 255); // Cyan-blau
+                } else if (explosionType == 1) {
+                    col = sketch.color(fxRandom.random(150, 255), fxRandom.random(100, 200), 255); // Mehr violett
+                } else {
+                    col = sketch.color(100, fxRandom.random(200, 255), fxRandom.random(200, 255)); // Türkis
+                }
+
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, col);
+            }
+        }
+
+        // Weiße Funken - zufällige Anzahl
+        int sparkCount = (int) (fxRandom.random(15, 25) * intensity);
+        for (int i = 0; i < sparkCount; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(200, 400) * intensity;
+                int col = sketch.color(255, 255, fxRandom.random(200, 255)); // Leicht variierendes Weiß
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, col);
+            }
+        }
+
+        // Trümmer - manchmal mehr, manchmal weniger
+        int debrisCount = (int) (fxRandom.random(10, 20) * intensity);
+        for (int i = 0; i < debrisCount; i++) {
+            int p = particles.obtain();
+            if (p >= 0) {
+                int dir = FastMath.randomDirection(fxRandom);
+                float speed = fxRandom.random(50, 150) * intensity;
+                int col = sketch.color(fxRandom.random(60, 140), fxRandom.random(60, 140), fxRandom.random(60, 140)); // Variierendes Grau
+                particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, col);
+            }
+        }
+
+        // Gelegentlich extra Effekte
+        if (fxRandom.random(1) < 0.3f) {
+            // Bonus: Rote Explosions-Partikel (30% Chance)
+            for (int i = 0; i < 10; i++) {
+                int p = particles.obtain();
+                if (p >= 0) {
+                    int dir = FastMath.randomDirection(fxRandom);
+                    float speed = fxRandom.random(100, 250);
+                    int col = sketch.color(255, fxRandom.random(50, 100), 0); // Rot-orange
+                    particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed, col);
+                }
+            }
+        }
+    }
+
+    void addScorePopup(float x, float y, int points) {
+        scorePopups.add(new ScorePopup(sketch, x, y, points));
+    }
+
+    /**
+     * Handles player death and respawn logic.
+     * If player has lives remaining: Creates explosion and respawns after delay.
+     * If last life lost: Transitions to GAME_OVER state with boss fade-out.
+     */
+    void handlePlayerDeath() {
+        // Prevent multiple calls
+        if (playerDeathHandled) {
+            return;
+        }
+        playerDeathHandled = true;
+
+        // Common setup for both cases
+        playerRespawning = true;
+        player.pos.set(-1000, -1000); // Hide player
+
+        if (player.lives > 1) {
+            // Spieler hat noch weitere Schiffe - große Explosion und Respawn nach 2 Sekunden
+            // WICHTIG: Leben wird SOFORT reduziert für korrekte HUD-Anzeige
+            player.lives--;
+            respawnTimer = respawnDelay;
+
+            // Große Explosion (wie vorher)
+            explosions.add(new Explosion(sketch, player.pos.x, player.pos.y, "lg"));
+            explosions.add(new Explosion(sketch, player.pos.x - 30, player.pos.y - 30, "sm"));
+            explosions.add(new Explosion(sketch, player.pos.x + 30, player.pos.y + 30, "sm"));
+
+            // Sound
+            playSound(SoundEffect.EXPLOSION);
+            playSound(SoundEffect.CONTROL);
+
+            // Starker Screen Shake
+            addScreenShake(SCREEN_SHAKE_DEATH * 1.5f, SCREEN_SHAKE_DEATH_DURATION * 1.5f);
+
+            // Viele Partikel (150)
+            spawnParticles(player.pos.x, player.pos.y, 100, sketch.color(255, 165, 0));
+            spawnParticles(player.pos.x, player.pos.y, 50, sketch.color(255, 100, 0));
+        } else {
+            // Last life lost - transition to game over
+            respawnTimer = 4.0f;
+
+            // Set lives to 0
+            player.lives = 0;
+
+            // Set game state to GAME_OVER
+            gameState = GameState.GAME_OVER;
+
+            // Trigger boss fade out if active
+            if (boss != null && boss.isActive()) {
+                boss.setGameOver();
+            }
+
+            // Starte Game Over Musik (Boss Theme)
+            listener.startGameOverMusic();
+
+            // Reset game state for background elements
+            fourthPhaseActive = false; // Allow background elements to spawn again
+            bossDefeated = false; // Reset boss defeated flag
+
+            // Clear any existing explosions
+            explosions.clear();
+
+            // Clear all bullets and return them to the pool
+            Iterator<Bullet> bulletIt = bullets.iterator();
+            while (bulletIt.hasNext()) {
+                Bullet b = bulletIt.next();
+                b.active = false;
+                bulletPool.free(b);
+                bulletIt.remove();
+            }
+
+            // Clear all particles and pending effects
+            particles.clear();
+            deferredEffects.clear();
+            events.clear();
+        }
+
+        hudNeedsRedraw = true;
+    }
+
+    /**
+     * Advances the simulation by one step.
+     * Runs the game logic for the current state; rendering is left to the caller.
+     *
+     * @param dt Step length in seconds
+     */
+    public void step(float dt) {
+        profiler.begin(profUpdate);
+        applyTuning();
+        deltaTime = dt;
+        tickCount++;
+        simTime += dt;
+        int frame = (int) (simTime * EFFECT_CADENCE_RATE);
+        cadenceTick = frame != cadenceFrame;
+        cadenceFrame = frame;
+
+        // Remember where everything was last tick (render interpolation)
+        savePreviousPositions();
+
+        // Update screen shake
+        updateScreenShake();
+
+        if (gameState == GameState.RUNNING) {
+            update();
+
+            // Update game timer and check for summary trigger
+            gameTimer += deltaTime;
+
+            // Update second phase timer if in second phase
+            if (secondPhaseActive && !secondSummaryShown) {
+                secondPhaseTimer += deltaTime;
+                // Check if second phase summary should be shown
+                if (secondPhaseTimer >= SECOND_PHASE_DURATION) {
+                    gameState = GameState.SECOND_SUMMARY;
+                    secondSummaryShown = true;
+                    hudNeedsRedraw = true;
+                }
+            }
+
+            // Update third phase timer if in third phase
+            if (thirdPhaseActive && !thirdSummaryShown) {
+                thirdPhaseTimer += deltaTime;
+                // Check if third phase summary should be shown
+                if (thirdPhaseTimer >= THIRD_PHASE_DURATION) {
+                    gameState = GameState.THIRD_SUMMARY;
+                    thirdSummaryShown = true;
+                    hudNeedsRedraw = true;
+                }
+            }
+
+            // Redraw HUD every second to update timer
+            if ((int) gameTimer != (int) (gameTimer - deltaTime)) {
+                hudNeedsRedraw = true;
+            }
+
+            // Check for first summary screen
+            if (!summaryShown && gameTimer >= summaryTriggerTime) {
+                gameState = GameState.SUMMARY;
+                summaryShown = true;
+                hudNeedsRedraw = true;
+            }
+        } else if (gameState == GameState.SUMMARY || gameState == GameState.SECOND_SUMMARY || gameState == GameState.THIRD_SUMMARY) {
+            // In summary state: game continues in background without collisions
+            update();
+        } else if (gameState == GameState.GAME_OVER) {
+            // Im Game Over State: Spiel läuft komplett weiter im Hintergrund
+            // Update background elements but skip game logic
+            profiler.begin(profBackground);
+            updateBackgroundOnly();
+            profiler.end(profBackground);
+        }
+        profiler.end(profUpdate);
+    }
+
+    /**
+     * Leaves the current summary screen and starts the next phase.
+     * Does nothing outside of the summary states.
+     */
+    public void continueFromSummary() {
+        if (gameState == GameState.SUMMARY) {
+            // Continue from first summary screen - activate formation mode and start second phase
+            // Clear all existing enemy ships and formations for a fresh start
+            enemyShips.clear();
+            enemyFormations.clear();
+            bombs.clear(); // Also clear any existing bombs
+
+            gameState = GameState.RUNNING;
+            secondPhaseActive = true;
+            formationModeActive = true;
+            secondPhaseTimer = 0; // Reset second phase timer
+            hudNeedsRedraw = true;
+        } else if (gameState == GameState.SECOND_SUMMARY) {
+            // Continue from second summary screen - start Phase 3
+            // Clear all existing enemies for a fresh start (formations only in Phase 3)
+            enemyShips.clear();
+            enemyFormations.clear();
+            bombs.clear(); // Also clear any existing bombs
+            mobs.clear(); // Clear all asteroids for Phase 3
+
+            gameState = GameState.RUNNING;
+            thirdPhaseActive = true;
+            thirdPhaseTimer = 0; // Reset third phase timer
+            hudNeedsRedraw = true;
+        } else if (gameState == GameState.THIRD_SUMMARY) {
+            // Continue from third summary screen - start Phase 4 (Boss Fight)
+            // Clear all existing enemies and projectiles
+            enemyShips.clear();
+            enemyFormations.clear();
+            bombs.clear();
+            mobs.clear();
+            powerups.clear(); // Also clear powerups for clean boss fight
+            supernovas.clear(); // Clear supernovas for Phase 4
+            particleSwarms.clear(); // Clear particle swarms for Phase 4
+
+            // Ensure player has full lives and shield for boss fight
+            player.lives = 3;
+            player.shield = 100;
+
+            // Spawn the boss
+            spawnBoss();
+
+            gameState = GameState.RUNNING;
+            fourthPhaseActive = true;
+            hudNeedsRedraw = true;
+        }
+    }
+
+    /**
+     * Adapts the world to a new play field size after the host was resized.
+     *
+     * @param scaleX Horizontal scale factor (new width / old width)
+     * @param scaleY Vertical scale factor (new height / old height)
+     */
+    public void rescale(float scaleX, float scaleY) {
+        // Reinitialize spatial grid for new dimensions
+        initSpatialGrid();
+
+        // Handle player position specially to avoid rounding errors
+        // Player should always be at bottom center (same relative position as when spawned)
+        if (!playerRespawning) {
+            player.pos.x = sketch.width / 2.0f;
+            player.pos.y = sketch.height - 60;  // Same offset as in Player constructor
+        }
+
+        // Scale positions of all other game objects
+        for (Mob mob : mobs) {
+            mob.pos.x *= scaleX;
+            mob.pos.y *= scaleY;
+        }
+
+        for (EnemyShip ship : enemyShips) {
+            ship.pos.x *= scaleX;
+            ship.pos.y *= scaleY;
+        }
+
+        for (Bullet bullet : bullets) {
+            bullet.pos.x *= scaleX;
+            bullet.pos.y *= scaleY;
+        }
+
+        for (Bomb bomb : bombs) {
+            bomb.pos.x *= scaleX;
+            bomb.pos.y *= scaleY;
+        }
+
+        for (PowerUp powerup : powerups) {
+            powerup.pos.x *= scaleX;
+            powerup.pos.y *= scaleY;
+        }
+
+        for (Explosion explosion : explosions) {
+            explosion.pos.x *= scaleX;
+            explosion.pos.y *= scaleY;
+        }
+
+        particles.scalePositions(scaleX, scaleY);
+
+        for (ScorePopup popup : scorePopups) {
+            popup.pos.x *= scaleX;
+            popup.pos.y *= scaleY;
+        }
+
+        // Scale background elements that have accessible position fields
+        for (Star star : stars) {
+            star.x *= scaleX;
+            star.y *= scaleY;
+        }
+
+        // Shield hit effects need scaling
+        for (ShieldHitEffect hit : shieldHits) {
+            hit.pos.x *= scaleX;
+            hit.pos.y *= scaleY;
+        }
+
+        // Note: Other background elements (clouds, planets, etc.) will naturally adjust
+        // as they spawn and wrap around with the new screen dimensions
+
+        hudNeedsRedraw = true;
+    }
+
+    /**
+     * Updates only background elements during game over state
+     */
+    void updateBackgroundOnly() {
+        // Update boss for fade-out effect if active
+        if (boss != null && boss.isActive()) {
+            boss.update(deltaTime);
+        }
+
+        // Let running particle effects (boss explosion) play out
+        particles.update(deltaTime);
+
+        // Update parallax stars
+        for (Star star : stars) {
+            star.update(deltaTime);
+        }
+
+        // Update shooting stars
+        for (int i = shootingStars.size() - 1; i >= 0; i--) {
+            ShootingStar ss = shootingStars.get(i);
+            ss.update(deltaTime);
+            if (ss.isDead()) {
+                shootingStars.swapRemove(i);
+            }
+        }
+
+        // Spawn new shooting stars randomly
+        float shootingStarTime = sketch.millis() / 1000.0f;
+        if (shootingStarTime >= nextShootingStarTime) {
+            shootingStars.add(new ShootingStar(sketch));
+            nextShootingStarTime = shootingStarTime + backgroundRandom.random(3, 8);
+        }
+
+        // Update space clouds
+        for (int i = spaceClouds.size() - 1; i >= 0; i--) {
+            SpaceCloud cloud = spaceClouds.get(i);
+            cloud.update(deltaTime);
+            if (cloud.isOffScreen()) {
+                spaceClouds.remove(i); // Ordered removal - keeps the layering of overlapping backgrounds
+            }
+        }
+
+        // Spawn new space clouds
+        if (shootingStarTime >= nextCloudTime) {
+            spaceClouds.add(new SpaceCloud(sketch, backgroundRandom));
+            nextCloudTime = shootingStarTime + backgroundRandom.random(12, 22);
+        }
+
+        // Update micro debris (Background-Staub)
+        for (MicroDebris debris : microDebris) {
+            debris.update(deltaTime);
+        }
+
+        // Update ambient dust (Vordergrund-Staub)
+        for (AmbientDust dust : ambientDust) {
+            dust.update(deltaTime);
+        }
+
+        // Update distant planets
+        for (int i = distantPlanets.size() - 1; i >= 0; i--) {
+            DistantPlanet planet = distantPlanets.get(i);
+            planet.update(deltaTime);
+            if (planet.isOffScreen()) {
+                distantPlanets.remove(i); // Ordered removal - keeps the layering of overlapping backgrounds
+            }
+        }
+
+        // Spawn new planets
+        if (shootingStarTime >= nextPlanetTime) {
+            distantPlanets.add(new DistantPlanet(sketch));
+            nextPlanetTime = shootingStarTime + backgroundRandom.random(20, 36);
+        }
+
+        // Update particle swarms
+        for (int i = particleSwarms.size() - 1; i >= 0; i--) {
+            ParticleSwarm swarm = particleSwarms.get(i);
+            swarm.update(deltaTime);
+            if (swarm.isDead()) {
+                particleSwarms.swapRemove(i);
+            }
+        }
+
+        // Spawn new swarms
+        if (shootingStarTime >= nextSwarmTime) {
+            particleSwarms.add(new ParticleSwarm(sketch));
+            nextSwarmTime = shootingStarTime + backgroundRandom.random(5, 12);
+        }
+
+        // Update supernovas
+        for (int i = supernovas.size() - 1; i >= 0; i--) {
+            Supernova sn = supernovas.get(i);
+            sn.update(deltaTime);
+            if (sn.isDead()) {
+                supernovas.swapRemove(i);
+            }
+        }
+
+        // Spawn new supernovas
+        if (shootingStarTime >= nextSupernovaTime) {
+            supernovas.add(new Supernova(sketch, backgroundRandom));
+            playSound(SoundEffect.SUPERNOVA);
+            nextSupernovaTime = shootingStarTime + backgroundRandom.random(20, 40);
+        }
+    }
+
+    /**
+     * Spawns queued effects until this frame's budget is used up.
+     * Called once per rendered frame, after the simulation ticks.
+     * The gameplay events of those ticks are turned into effects first,
+     * so their large bursts are spawned within the same budget.
+     */
+    public void runDeferredEffects() {
+        runDeferredEffects(-1);
+    }
+
+    /**
+     * Like runDeferredEffects(), but spawns exactly the given number of effect slices
+     * instead of filling the time budget (replays), or fills the budget if slices < 0.
+     */
+    public void runDeferredEffects(int slices) {
+        profiler.begin(profEvents);
+        processEvents();
+        if (slices < 0) {
+            deferredEffects.drain();
+        } else {
+            deferredEffects.drainSlices(slices);
+        }
+        emitPoolEvents();
+        profiler.end(profEvents);
+    }
+
+    /**
+     * Fill the simulation part of a JFR frame event: update phase times of the
+     * profiler's last frame and the entity counts. The host adds its own phases.
+     */
+    public void fillFrameEvent(FrameEvent event, int ticks) {
+        event.ticks = ticks;
+        event.update = profiler.getLastNanos(profUpdate);
+        event.background = profiler.getLastNanos(profBackground);
+        event.particleUpdate = profiler.getLastNanos(profParticles);
+        event.collisions = profiler.getLastNanos(profCollisions);
+        event.events = profiler.getLastNanos(profEvents);
+        event.gameState = gameState.name();
+        event.mobs = mobs.size();
+        event.enemyShips = enemyShips.size();
+        event.formations = enemyFormations.size();
+        event.bullets = bullets.size();
+        event.bombs = bombs.size();
+        event.particles = particles.count();
+    }
+
+    /**
+     * One JFR event per pool that refused objects since the last frame
+     */
+    private void emitPoolEvents() {
+        long refused = particles.getRefusedCount();
+        if (refused != lastParticlesRefused) {
+            emitPoolExhausted("particles", particles.getCapacity(), particles.count(), refused - lastParticlesRefused);
+            lastParticlesRefused = refused;
+        }
+        refused = bulletPool.getRefusedCount();
+        if (refused != lastBulletsRefused) {
+            emitPoolExhausted("bullets", bulletPool.getMaxSize(), bulletPool.getInUseCount(), refused - lastBulletsRefused);
+            lastBulletsRefused = refused;
+        }
+        refused = explosionPool.getRefusedCount();
+        if (refused != lastExplosionsRefused) {
+            emitPoolExhausted("explosions", explosionPool.getMaxSize(), explosionPool.getInUseCount(),
+                    refused - lastExplosionsRefused);
+            lastExplosionsRefused = refused;
+        }
+    }
+
+    private void emitPoolExhausted(String pool, int capacity, int inUse, long refused) {
+        PoolExhaustedEvent event = new PoolExhaustedEvent();
+        if (event.shouldCommit()) {
+            event.pool = pool;
+            event.capacity = capacity;
+            event.inUse = inUse;
+            event.refused = refused;
+            event.commit();
+        }
+    }
+
+    /**
+     * Runs the event consumers over all gameplay events recorded since the last frame.
+     */
+    void processEvents() {
+        if (events.size() == 0) {
+            return;
+        }
+        playEventSounds();
+        spawnEventEffects();
+        events.clear();
+    }
+
+    /**
+     * Sound consumer: one sound request per event. Merging the requests of a frame
+     * is left to the host (Sketch hands them to its SoundVoiceLimiter, which plays
+     * many hits as one louder sound). Events are taken in priority order (see
+     * GameEvent), so the sound of a player hit is requested before the explosions.
+     */
+    private void playEventSounds() {
+        for (GameEvent type : EVENT_TYPES) {
+            for (int i = 0; i < events.size(); i++) {
+                int e = events.slot(i);
+                if (events.type(e) != type) {
+                    continue;
+                }
+                SoundEffect sound = eventSound(e);
+                if (sound != null) {
+                    playSound(sound);
+                }
+            }
+        }
+    }
+
+    private SoundEffect eventSound(int e) {
+        switch (events.type(e)) {
+            case PLAYER_HIT:
+                return SoundEffect.HIT;
+            case BOSS_HIT:
+                // Shield hits use the powerup sound (energy absorption)
+                return events.flag[e] ? SoundEffect.POWERUP : SoundEffect.HIT;
+            case SHIP_DAMAGED:
+                return events.flag[e] ? SoundEffect.ENEMY_EXPLOSION : null;
+            case MOB_DESTROYED:
+                return SoundEffect.ASTEROID_EXPLOSION;
+            case POWERUP_COLLECTED:
+                return SoundEffect.POWERUP;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Effect consumer: explosions, particles, shield hits and score popups for every event.
+     * Screen shake is coalesced - the strongest shake of the frame wins instead of
+     * the last one, and it never cuts a stronger shake that is still running short.
+     */
+    private void spawnEventEffects() {
+        float shake = 0;
+        float shakeTime = 0;
+        for (int i = 0; i < events.size(); i++) {
+            int e = events.slot(i);
+            float x = events.x[e];
+            float y = events.y[e];
+            switch (events.type(e)) {
+                case PLAYER_HIT: {
+                    int source = events.value[e];
+                    if (source != CollisionLayer.SWARM) {
+                        shieldHits.add(new ShieldHitEffect(sketch, events.hitX[e], events.hitY[e]));
+                    }
+                    float amount = SCREEN_SHAKE_DAMAGE;
+                    int count = 15;
+                    if (source == CollisionLayer.MOB) {
+                        count = 10;
+                    } else if (source == CollisionLayer.ENEMY_SHIP || source == CollisionLayer.FORMATION_SHIP) {
+                        amount = SCREEN_SHAKE_DAMAGE * 1.5f;
+                    } else if (source == CollisionLayer.BOMB) {
+                        // Kleine Explosion
+                        Explosion ex = explosionPool.obtain();
+                        ex.reset(x, y, "sm");
+                        explosions.add(ex);
+                    } else if (source == CollisionLayer.SWARM) {
+                        amount = SCREEN_SHAKE_DAMAGE * 0.8f;
+                        count = 20;
+                    }
+                    spawnParticles(x, y, count, events.color[e]);
+                    shake = Math.max(shake, amount);
+                    shakeTime = Math.max(shakeTime, SCREEN_SHAKE_DAMAGE_DURATION);
+                    break;
+                }
+                case BOSS_HIT:
+                    spawnBossHitEffects(x, y, events.flag[e]);
+                    addScorePopup(x, y, 10);
+                    // Smaller screen shake for shield hits, stronger for direct hits
+                    shake = Math.max(shake, SCREEN_SHAKE_BULLET * (events.flag[e] ? 1.5f : 2.5f));
+                    shakeTime = Math.max(shakeTime, SCREEN_SHAKE_BULLET_DURATION);
+                    break;
+                case SHIP_DAMAGED:
+                    // Spawn Damage Sparks (elektrische Funken)
+                    spawnDamageSparks(events.hitX[e], events.hitY[e]);
+                    if (events.flag[e]) {
+                        // Partikel-basierte Raumschiff-Explosion (größenabhängig)
+                        float explosionScale = events.radius[e] / 20.0f; // Relativ zur Player-Größe
+                        spawnShipExplosion(x, y, explosionScale);
+                        spawnImpactSparks(events.hitX[e], events.hitY[e], 30);
+                        addScorePopup(x, y, events.value[e]);
+                        // Screen shake (stärker bei größeren Schiffen)
+                        shake = Math.max(shake, SCREEN_SHAKE_BULLET * 1.5f * explosionScale);
+                        shakeTime = Math.max(shakeTime, SCREEN_SHAKE_BULLET_DURATION);
+                    }
+                    break;
+                case MOB_DESTROYED: {
+                    // Explosion abhängig von der Mob-Größe
+                    Explosion ex = explosionPool.obtain();
+                    ex.reset(x, y, events.radius[e] > 30 ? "lg" : "sm");
+                    explosions.add(ex);
+                    spawnMobDebris(x, y, events.radius[e]);
+                    spawnImpactSparks(events.hitX[e], events.hitY[e], 20);
+                    addScorePopup(x, y, events.value[e]);
+                    shake = Math.max(shake, SCREEN_SHAKE_BULLET);
+                    shakeTime = Math.max(shakeTime, SCREEN_SHAKE_BULLET_DURATION);
+                    break;
+                }
+                case POWERUP_COLLECTED:
+                    spawnParticles(x, y, 10, events.flag[e] ? sketch.color(0, 255, 0) : sketch.color(255, 255, 0));
+                    break;
+            }
+        }
+        if (shake > 0 && (shake >= shakeAmount || shakeDuration <= 0)) {
+            addScreenShake(shake, shakeTime);
+        }
+    }
+
+    /**
+     * Particles and shield ring for a bullet hit on the boss at (x, y)
+     */
+    private void spawnBossHitEffects(float x, float y, boolean shieldWasActive) {
+        if (shieldWasActive) {
+            // SHIELD HIT - Energy absorption effect
+            // Large shield hit effect with expanding ring
+            ShieldHitEffect shieldHit = new ShieldHitEffect(sketch, x, y);
+            shieldHits.add(shieldHit);
+
+            // Cyan/blue energy particles radiating outward
+            for (int i = 0; i < 25; i++) {
+                int p = particles.obtain();
+                if (p >= 0) {
+                    int dir = FastMath.randomDirection(fxRandom);
+                    float speed = fxRandom.random(150, 300);
+                    particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                            sketch.color(100, 200, 255, 220));
+                    particles.life[p] *= 0.6f; // Shorter life for shield particles
+                    particles.maxLife[p] = particles.life[p];
+                }
+            }
+
+            // Additional glowing particles
+            for (int i = 0; i < 10; i++) {
+                int p = particles.obtain();
+                if (p >= 0) {
+                    int dir = FastMath.randomDirection(fxRandom);
+                    float speed = fxRandom.random(50, 150);
+                    particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                            sketch.color(150, 220, 255, 180));
+                }
+            }
+        } else {
+            // DIRECT HIT - Damage to hull
+            // Red/orange damage sparks (electrical/fire)
+            spawnDamageSparks(x, y);
+
+            // Yellow/white impact sparks
+            spawnImpactSparks(x, y, 50);
+
+            // Additional red explosion particles for direct hit
+            for (int i = 0; i < 15; i++) {
+                int p = particles.obtain();
+                if (p >= 0) {
+                    int dir = FastMath.randomDirection(fxRandom);
+                    float speed = fxRandom.random(100, 250);
+                    particles.reset(p, x, y, FastMath.dirX(dir) * speed, FastMath.dirY(dir) * speed,
+                            sketch.color(255, fxRandom.random(100, 150), 0, 200));
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the current positions as previous positions before the next tick moves them.
+     * The renderer blends between both to draw frames that fall between two ticks.
+     * Particles do this themselves in ParticleStore.update().
+     */
+    void savePreviousPositions() {
+        player.prevPos.set(player.pos);
+        for (int i = 0; i < mobs.size(); i++) {
+            Mob m = mobs.get(i);
+            m.prevPos.set(m.pos);
+        }
+        for (int i = 0; i < enemyShips.size(); i++) {
+            EnemyShip ship = enemyShips.get(i);
+            ship.prevPos.set(ship.pos);
+        }
+        for (int i = 0; i < enemyFormations.size(); i++) {
+            ArrayList<EnemyShip> ships = enemyFormations.get(i).ships;
+            for (int j = 0; j < ships.size(); j++) {
+                EnemyShip ship = ships.get(j);
+                ship.prevPos.set(ship.pos);
+            }
+        }
+        if (boss != null) {
+            boss.prevPos.set(boss.pos);
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet b = bullets.get(i);
+            b.prevPos.set(b.pos);
+        }
+        for (int i = 0; i < bombs.size(); i++) {
+            Bomb bomb = bombs.get(i);
+            bomb.prevPos.set(bomb.pos);
+        }
+        for (int i = 0; i < powerups.size(); i++) {
+            PowerUp p = powerups.get(i);
+            p.prevPos.set(p.pos);
+        }
+    }
+
+    void updateScreenShake() {
+        // Don't apply screen shake in GAME_OVER state
+        if (gameState == GameState.GAME_OVER) {
+            shakeAmount = 0;
+            shakeOffset.set(0, 0);
+            return;
+        }
+
+        if (shakeDuration > 0) {
+            shakeDuration -= deltaTime;
+            if (shakeDuration <= 0) {
+                shakeAmount = 0;
+                shakeOffset.set(0, 0);
+            } else {
+                shakeOffset.set(
+                        fxRandom.random(-shakeAmount, shakeAmount),
+                        fxRandom.random(-shakeAmount, shakeAmount));
+            }
+        }
+    }
+
+    /**
+     * Haupt-Update-Logik für alle Spielobjekte und das HUD.
+     */
+    void update() {
+        profiler.begin(profBackground);
+
+        // Update parallax stars
+        for (Star star : stars) {
+            star.update(deltaTime);
+        }
+
+        // Update shooting stars
+        for (int i = shootingStars.size() - 1; i >= 0; i--) {
+            ShootingStar ss = shootingStars.get(i);
+            ss.update(deltaTime);
+            if (ss.isDead()) {
+                shootingStars.swapRemove(i);
+            }
+        }
+
+        // Spawn new shooting stars randomly
+        float shootingStarTime = sketch.millis() / 1000.0f;
+
+        if (shootingStarTime >= nextShootingStarTime) {
+            shootingStars.add(new ShootingStar(sketch));
+            nextShootingStarTime = shootingStarTime + backgroundRandom.random(3, 8); // Alle 3-8 Sekunden
+        }
+
+        // Update space clouds
+        for (int i = spaceClouds.size() - 1; i >= 0; i--) {
+            SpaceCloud cloud = spaceClouds.get(i);
+            cloud.update(deltaTime);
+            if (cloud.isOffScreen()) {
+                spaceClouds.remove(i); // Ordered removal - keeps the layering of overlapping backgrounds
+            }
+        }
+
+        // Spawn new space clouds gradually (40% weniger als ursprünglich)
+        if (shootingStarTime >= nextCloudTime) {
+            spaceClouds.add(new SpaceCloud(sketch, backgroundRandom));
+            nextCloudTime = shootingStarTime + backgroundRandom.random(12, 22); // Alle 12-22 Sekunden (10-18 * 1.2)
+        }
+
+        // Update micro debris (Background-Staub)
+        for (MicroDebris debris : microDebris) {
+            debris.update(deltaTime);
+        }
+
+        // Update ambient dust (Vordergrund-Staub)
+        for (AmbientDust dust : ambientDust) {
+            dust.update(deltaTime);
+        }
+
+        // Update shield hit effects
+        for (int i = shieldHits.size() - 1; i >= 0; i--) {
+            ShieldHitEffect hit = shieldHits.get(i);
+            hit.update(deltaTime);
+            if (hit.isDead()) {
+                shieldHits.swapRemove(i);
+            }
+        }
+
+        // Update distant planets
+        for (int i = distantPlanets.size() - 1; i >= 0; i--) {
+            DistantPlanet planet = distantPlanets.get(i);
+            planet.update(deltaTime);
+            if (planet.isOffScreen()) {
+                distantPlanets.remove(i); // Ordered removal - keeps the layering of overlapping backgrounds
+            }
+        }
+
+        // Spawn new planets (not in Phase 4)
+        if (!fourthPhaseActive && shootingStarTime >= nextPlanetTime) {
+            distantPlanets.add(new DistantPlanet(sketch));
+            nextPlanetTime = shootingStarTime + backgroundRandom.random(20, 36); // Alle 20-36 Sekunden (25-45 * 0.8)
+        }
+
+        // Update particle swarms
+        for (int i = particleSwarms.size() - 1; i >= 0; i--) {
+            ParticleSwarm swarm = particleSwarms.get(i);
+            swarm.update(deltaTime);
+            if (swarm.isDead()) {
+                particleSwarms.swapRemove(i);
+            }
+        }
+
+        // Spawn new swarms (not in Phase 4)
+        if (!fourthPhaseActive && shootingStarTime >= nextSwarmTime) {
+            particleSwarms.add(new ParticleSwarm(sketch));
+            nextSwarmTime = shootingStarTime + backgroundRandom.random(5, 12); // Alle 5-12 Sekunden
+        }
+
+        // Update supernovas
+        for (int i = supernovas.size() - 1; i >= 0; i--) {
+            Supernova sn = supernovas.get(i);
+            sn.update(deltaTime);
+            if (sn.isDead()) {
+                supernovas.swapRemove(i);
+            }
+        }
+
+        // Spawn new supernovas (not in Phase 4)
+        if (!fourthPhaseActive && shootingStarTime >= nextSupernovaTime) {
+            supernovas.add(new Supernova(sketch, backgroundRandom));
+            playSound(SoundEffect.SUPERNOVA);
+            nextSupernovaTime = shootingStarTime + backgroundRandom.random(20, 40); // Alle 20-40 Sekunden
+        }
+
+        profiler.end(profBackground);
+        profiler.begin(profPlayer);
+
+        // Handle player respawn timer - 2 second delay after death
+        if (playerRespawning) {
+            respawnTimer -= deltaTime;
+            if (respawnTimer <= 0) {
+                playerRespawning = false;
+                playerDeathHandled = false; // Reset death flag for next death
+
+                // WICHTIG: Leben wurde bereits in handlePlayerDeath() reduziert
+
+                if (player.lives > 0) {
+                    // Respawn player mit neuem Schiff
+                    player.pos.set(sketch.width / 2.0f, sketch.height - 60);  // Same position as initial spawn
+                    player.shield = 100; // Voller Shield beim Respawn
+                } else {
+                    // Keine Leben mehr - Game Over
+                    handlePlayerDeath();
+                    listener.startGameOverMusic();
+                }
+                hudNeedsRedraw = true;
+            }
+        }
+
+        // Update player (nur wenn nicht respawning)
+        if (!playerRespawning) {
+            player.update(deltaTime, inputLeft, inputRight, inputFire);
+
+            // Handle shooting
+            if (player.shouldShoot(inputFire)) {
+                performPlayerShoot();
+            }
+        }
+
+        profiler.end(profPlayer);
+        profiler.begin(profBullets);
+
+        // Update bullets efficiently using Iterator for safe removal
+        Iterator<Bullet> bulletIt = bullets.iterator();
+        while (bulletIt.hasNext()) {
+            Bullet b = bulletIt.next();
+            if (b.active) {
+                b.update(deltaTime);
+
+                // Spawn bullet trail particles (reduced)
+                if (cadenceTick && b.shouldSpawnTrailParticle(cadenceFrame)) {
+                    int p = particles.obtain();
+                    if (p >= 0) {
+                        particles.reset(p, b.getTrailParticleX(), b.getTrailParticleY(),
+                                fxRandom.random(-5, 5), fxRandom.random(10, 30),
+                                sketch.color(255, fxRandom.random(50, 150), 0, 120));
+                    }
+                }
+
+                if (b.isOffScreen()) {
+                    b.active = false;
+                }
+            }
+
+            if (!b.active) {
+                bulletIt.remove();
+                bulletPool.free(b);
+            }
+        }
+
+        profiler.end(profBullets);
+        profiler.begin(profMobs);
+
+        // Update and cull mobs
+        for (int i = mobs.size() - 1; i >= 0; i--) {
+            Mob m = mobs.get(i);
+            m.update(deltaTime);
+
+            // Spawn dust trail particles from asteroids
+            if (cadenceTick && m.shouldSpawnDustParticle(cadenceFrame)) {
+                // Main dust trail
+                int p = particles.obtain();
+                if (p >= 0) {
+                    particles.reset(p, m.getDustParticleX(), m.getDustParticleY(),
+                            m.getDustParticleVelX(), m.getDustParticleVelY(),
+                            m.getDustParticleColor());
+                    particles.size[p] = m.getDustParticleSize();
+                }
+
+                // Additional smaller dust particles
+                if (m.shouldSpawnSecondaryDust()) {
+                    int p2 = particles.obtain();
+                    if (p2 >= 0) {
+                        particles.reset(p2, m.getSecondaryDustX(), m.getSecondaryDustY(),
+                                m.getSecondaryDustVelX(), m.getSecondaryDustVelY(),
+                                m.getSecondaryDustColor());
+                        particles.size[p2] = m.getSecondaryDustSize();
+                    }
+                }
+            }
+
+            if (m.isOffScreen()) {
+                mobs.swapRemove(i);
+            }
+        }
+
+        profiler.end(profMobs);
+        profiler.begin(profShips);
+
+        // Update and cull enemy ships
+        for (int i = enemyShips.size() - 1; i >= 0; i--) {
+            EnemyShip ship = enemyShips.get(i);
+
+            // Spawn warp-in effect on first frame
+            if (ship.needsWarpInEffect()) {
+                spawnEnemyShipWarpInEffect(ship);
+            }
+
+            ship.update(deltaTime, cadenceFrame, player.pos);
+
+            // Spawn warp particles
+            if (cadenceTick && ship.shouldSpawnWarpParticle(cadenceFrame)) {
+                float angle = ship.getWarpParticleAngle();
+                float dist = ship.getWarpParticleDist();
+                float speed = ship.getWarpParticleSpeed();
+                int p = particles.obtain();
+                if (p >= 0) {
+                    particles.reset(p, 
+                            ship.pos.x + FastMath.cos(angle) * dist,
+                            ship.pos.y + FastMath.sin(angle) * dist,
+                            FastMath.cos(angle) * speed,
+                            FastMath.sin(angle) * speed,
+                            ship.getWarpParticleColor()
+                    );
+                }
+            }
+
+            // Spawn thruster particles
+            if (cadenceTick && ship.shouldSpawnThrusterParticle(cadenceFrame)) {
+                int p = particles.obtain();
+                if (p >= 0) {
+                    particles.reset(p, ship.getThrusterParticleX(), ship.getThrusterParticleY(),
+                            ship.getThrusterParticleVelX(), ship.getThrusterParticleVelY(),
+                            ship.thrusterColor);
+                    particles.size[p] = fxRandom.random(4, 9); // Dicker = größere Partikel
+                    particles.life[p] *= 0.2f; // 80% kürzer = 20% der ursprünglichen Länge
+                    particles.maxLife[p] = particles.life[p];
+                }
+            }
+
+            // Handle bomb dropping
+            if (ship.shouldDropBomb()) {
+                performEnemyShipBombDrop(ship);
+            }
+
+            // Handle ship splitting
+            if (ship.shouldPerformSplit()) {
+                performEnemyShipSplit(ship);
+            }
+
+            if (ship.isOffScreen()) {
+                enemyShips.swapRemove(i);
+            }
+        }
+
+        profiler.end(profShips);
+        profiler.begin(profFormations);
+
+        // Update enemy formations
+        for (int i = enemyFormations.size() - 1; i >= 0; i--) {
+            EnemyFormation formation = enemyFormations.get(i);
+            formation.update(deltaTime, player.pos);
+
+            // Spawn warp-in effects for formation ships
+            for (EnemyShip ship : formation.ships) {
+                if (ship.needsWarpInEffect()) {
+                    spawnEnemyShipWarpInEffect(ship);
+                }
+
+                // Handle bomb dropping from formation ships
+                if (ship.shouldDropBomb()) {
+                    performEnemyShipBombDrop(ship);
+                }
+            }
+
+            if (formation.isOffScreen()) {
+                enemyFormations.swapRemove(i);
+            }
+        }
+
+        profiler.end(profFormations);
+        profiler.begin(profBoss);
+
+        // Update boss if active
+        if (boss != null) {
+            if (!boss.isDead()) {
+                boss.update(deltaTime);
+
+                // Boss shooting
+                if (boss.shouldShoot()) {
+                    performBossShoot();
+                }
+
+                // Boss special attack
+                if (boss.shouldDoSpecialAttack()) {
+                    performBossSpecialAttack();
+                }
+
+                // Boss shield particle emission
+                if (boss.shouldEmitShieldParticles()) {
+                    int particleCount = boss.getShieldParticleCount();
+                    for (int i = 0; i < particleCount; i++) {
+                        float[] data = boss.getShieldParticleData();
+                        int p = particles.obtain();
+                        if (p >= 0) {
+                            particles.reset(p, data[0], data[1], data[2], data[3], sketch.color(100, 200, 255, 180));
+                            particles.size[p] = fxRandom.random(2, 5);
+                            particles.life[p] = fxRandom.random(0.3f, 0.8f); // Short life
+                            particles.maxLife[p] = particles.life[p];
+                            particles.noFriction[p] = false; // Shield particles have friction
+                        }
+                    }
+                }
+            } else if (!bossDefeated && gameState != GameState.GAME_OVER) {
+                // Check if boss just died (trigger explosion once), but not if game is already over
+                bossDefeated = true;
+                handleBossDefeat();
+            }
+        }
+
+        profiler.end(profBoss);
+        profiler.begin(profSpawning);
+
+        // Spawn new mobs or enemy ships (NOT in Phase 4)
+        if (!fourthPhaseActive) {
+            long currentTime = sketch.millis();
+            int totalEnemies = mobs.size() + enemyShips.size();
+
+            // Calculate spawn interval (20% faster in Phase 3)
+            long effectiveSpawnInterval = (secondSummaryShown && !thirdSummaryShown) ?
+                    (long) (mobSpawnInterval * 0.83) : // 17% shorter interval = 20% faster spawn rate
+                    mobSpawnInterval;
+
+            // Phase 3: Count formations separately (not individual ships)
+            int minEnemiesThreshold = minMobs;
+            if (secondSummaryShown && !thirdSummaryShown) {
+                // In Phase 3, count number of formations (not ships)
+                totalEnemies = enemyFormations.size();
+                minEnemiesThreshold = 3; // Keep 3 formations active (reduced by 30% from 5)
+            }
+
+            if (totalEnemies < minEnemiesThreshold && currentTime - lastMobSpawnTime > effectiveSpawnInterval) {
+                enemySpawnCounter++;
+
+                // Phase 3 (after second summary, before third summary): Only formations, no single ships or asteroids
+                if (secondSummaryShown && !thirdSummaryShown) {
+                    // 100% formations in Phase 3
+                    spawnEnemyFormation();
+                } else if (formationModeActive && enemySpawnCounter % 10 == 0) {
+                    // Phase 2: Every 10th enemy spawn in formation mode
+                    spawnEnemyFormation();
+                } else if (sketch.random(1) < 0.3) {
+                    // Phase 1 and 2: 30% chance for single enemy ship
+                    spawnEnemyShip();
+                } else {
+                    // Phase 1 and 2: 70% chance for asteroids
+                    spawnMob();
+                }
+                lastMobSpawnTime = currentTime;
+            }
+        }
+
+        profiler.end(profSpawning);
+        profiler.begin(profBombs);
+
+        // Update bombs
+        for (int i = bombs.size() - 1; i >= 0; i--) {
+            Bomb bomb = bombs.get(i);
+            bomb.update(deltaTime, player.pos, player.isDead());
+
+            // Spawn Trail-Partikel
+            if (cadenceTick && bomb.shouldSpawnTrailParticle(cadenceFrame)) {
+                int p = particles.obtain();
+                if (p >= 0) {
+                    particles.reset(p, 
+                            bomb.getTrailParticleX(),
+                            bomb.getTrailParticleY(),
+                            bomb.getTrailParticleVelX(),
+                            bomb.getTrailParticleVelY(),
+                            bomb.getTrailParticleColor()
+                    );
+                }
+            }
+
+            if (bomb.isOffScreen()) {
+                bombs.swapRemove(i);
+            }
+        }
+
+        profiler.end(profBombs);
+        profiler.begin(profPowerups);
+
+        // Update powerups
+        for (int i = powerups.size() - 1; i >= 0; i--) {
+            PowerUp p = powerups.get(i);
+            p.update(deltaTime);
+
+            // Spawn Aura-Partikel
+            if (cadenceTick && p.shouldSpawnAuraParticle(cadenceFrame)) {
+                float angle = p.getAuraParticleAngle();
+                int particle = particles.obtain();
+                if (particle >= 0) {
+                    particles.reset(particle, 
+                            p.getAuraParticleX(angle),
+                            p.getAuraParticleY(angle),
+                            p.getAuraParticleVelX(angle),
+                            p.getAuraParticleVelY(angle),
+                            p.getAuraParticleColor()
+                    );
+                }
+            }
+
+            if (p.isOffScreen()) {
+                powerups.swapRemove(i);
+            }
+        }
+
+        profiler.end(profPowerups);
+        profiler.begin(profEffects);
+
+        // Update explosions
+        for (int i = explosions.size() - 1; i >= 0; i--) {
+            Explosion e = explosions.get(i);
+            e.update(deltaTime, explosionAnims);
+            if (e.isFinished()) {
+                explosions.swapRemove(i);
+                explosionPool.free(e);
+            }
+        }
+
+        profiler.end(profEffects);
+
+        // Update particles
+        profiler.begin(profParticles);
+        particles.update(deltaTime);
+        profiler.end(profParticles);
+
+        // Update score popups
+        profiler.begin(profEffects);
+        for (int i = scorePopups.size() - 1; i >= 0; i--) {
+            ScorePopup sp = scorePopups.get(i);
+            sp.update(deltaTime);
+            if (sp.isDead()) {
+                scorePopups.swapRemove(i);
+            }
+        }
+
+        profiler.end(profEffects);
+
+        profiler.begin(profCollisions);
+        checkCollisions();
+        profiler.end(profCollisions);
+
+        // Check if HUD needs redraw
+        if (score != lastScore || player.lives != lastLives || player.shield != lastShield) {
+            hudNeedsRedraw = true;
+            lastScore = score;
+            lastLives = player.lives;
+            lastShield = player.shield;
+        }
+    }
+
+    /**
+     * Fast circle collision detection using squared distance.
+     * Avoids expensive sqrt() call by comparing squared distances.
+     *
+     * @param a  Center of first circle
+     * @param ra Radius of first circle
+     * @param b  Center of second circle
+     * @param rb Radius of second circle
+     * @return true if circles overlap
+     */
+    public boolean circlesCollide(PVector a, float ra, PVector b, float rb) {
+        float dx = a.x - b.x;
+        float dy = a.y - b.y;
+        float minDist = ra + rb;
+        return dx * dx + dy * dy < minDist * minDist;
+    }
+
+    /**
+     * Checks all collision interactions between game objects.
+     * All collidable types are indexed in one grid under their CollisionLayer;
+     * bullets and the player query it with the layers they can hit.
+     * Bullets and bombs are tested along their path since the last tick (swept).
+     * Handles: bullets vs mobs, bullets vs ships, bullets vs boss,
+     * player vs bombs, player vs powerups, player vs enemies.
+     * Public so the collision benchmark in bench/ can run the sweep on its own.
+     */
+    public void checkCollisions() {
+        // No collisions during game over or summary screens
+        if (gameState == GameState.GAME_OVER || gameState == GameState.SUMMARY ||
+                gameState == GameState.SECOND_SUMMARY || gameState == GameState.THIRD_SUMMARY) {
+            return;
+        }
+
+        // Only created while a JFR recording wants it, the pass runs 120 times a second
+        CollisionPassEvent passEvent = JfrEvents.isCollisionPassEnabled() ? new CollisionPassEvent() : null;
+        if (passEvent != null) {
+            passEvent.begin();
+        }
+        int bulletCount = bullets.size();
+
+        // Build the collision grid
+        collisionGrid.clear();
+        for (Mob mob : mobs) {
+            collisionGrid.insert(mob, CollisionLayer.MOB);
+        }
+        for (EnemyShip ship : enemyShips) {
+            collisionGrid.insert(ship, CollisionLayer.ENEMY_SHIP);
+        }
+        for (EnemyFormation formation : enemyFormations) {
+            for (EnemyShip ship : formation.ships) {
+                collisionGrid.insert(ship, CollisionLayer.FORMATION_SHIP);
+            }
+        }
+        if (fourthPhaseActive && boss != null && !boss.isDead()) {
+            collisionGrid.insert(boss, CollisionLayer.BOSS);
+        }
+        for (Bomb bomb : bombs) {
+            // Indexed with the circle around this tick's whole path, for the swept test against the player
+            float halfPath = PVector.dist(bomb.prevPos, bomb.pos) / 2;
+            collisionGrid.insert(bomb, CollisionLayer.BOMB, (bomb.prevPos.x + bomb.pos.x) / 2,
+                    (bomb.prevPos.y + bomb.pos.y) / 2, bomb.radius + halfPath);
+        }
+        for (PowerUp p : powerups) {
+            collisionGrid.insert(p, CollisionLayer.POWERUP);
+        }
+        for (ParticleSwarm swarm : particleSwarms) {
+            collisionGrid.insert(swarm, CollisionLayer.SWARM);
+        }
+
+        // Bullets: one pass per bullet over all enemy layers. Hits are only recorded here
+        // and applied afterwards, destroyed targets are removed from their lists in bulk.
+        bulletHits.clear();
+        Iterator<Bullet> bulletIter = bullets.iterator();
+        while (bulletIter.hasNext()) {
+            Bullet bullet = bulletIter.next();
+            if (bullet.active) {
+                int entry = collisionGrid.querySweptFirstEntry(bullet.prevPos.x, bullet.prevPos.y, bullet.pos.x, bullet.pos.y,
+                        bullet.radius, CollisionLayer.ENEMIES);
+                if (entry < 0) {
+                    continue;
+                }
+                recordBulletHit(entry, bullet.pos.x, bullet.pos.y);
+                bullet.active = false;
+            }
+            bulletIter.remove();
+            bulletPool.free(bullet);
+        }
+        applyBulletHits();
+
+        // Check player-mob collisions
+        if (!godMode) { // Skip player collisions in god mode
+            for (Collidable hit : queryPlayerHits(CollisionLayer.MOB)) {
+                Mob mob = (Mob) hit;
+                if (circlesCollide(player.pos, player.radius, mob.pos, mob.radius)) {
+                    player.takeDamage(20);
+                    pushPlayerHit(mob.pos, CollisionLayer.MOB, sketch.color(255, 0, 0));
+
+                    if (player.isDead()) {
+                        handlePlayerDeath();
+                    }
+                }
+            }
+        }
+
+        // Check player-enemy ship collisions
+        if (!godMode) { // Skip player collisions in god mode
+            for (Collidable hit : queryPlayerHits(CollisionLayer.ENEMY_SHIP)) {
+                EnemyShip ship = (EnemyShip) hit;
+                if (circlesCollide(player.pos, player.radius, ship.pos, ship.radius)) {
+                    player.takeDamage(30); // Mehr Schaden durch Schiffe
+                    pushPlayerHit(ship.pos, CollisionLayer.ENEMY_SHIP, sketch.color(255, 50, 0));
+
+                    if (player.isDead()) {
+                        handlePlayerDeath();
+                    }
+                }
+            }
+        }
+
+        // Check player-formation ship collisions
+        if (!godMode) { // Skip player collisions in god mode
+            for (Collidable hit : queryPlayerHits(CollisionLayer.FORMATION_SHIP)) {
+                EnemyShip ship = (EnemyShip) hit;
+                if (circlesCollide(player.pos, player.radius, ship.pos, ship.radius)) {
+                    player.takeDamage(30);
+                    pushPlayerHit(ship.pos, CollisionLayer.FORMATION_SHIP, sketch.color(255, 50, 0));
+
+                    if (player.isDead()) {
+                        handlePlayerDeath();
+                    }
+                }
+            }
+        }
+
+        // Check player-bomb collisions
+        if (!godMode) { // Skip player collisions in god mode
+            for (Collidable hit : queryPlayerHits(CollisionLayer.BOMB)) {
+                Bomb bomb = (Bomb) hit;
+                if (bombHitsPlayer(bomb)) {
+                    player.takeDamage(30); // Bomben machen mehr Schaden
+                    pushPlayerHit(bomb.pos, CollisionLayer.BOMB, sketch.color(255, 150, 0));
+
+                    bombs.swapRemove(bomb);
+                    collisionGrid.remove(bomb);
+
+                    if (player.isDead()) {
+                        handlePlayerDeath();
+                        listener.startGameOverMusic();
+                        explosions.add(new Explosion(sketch, player.pos.x, player.pos.y, "player"));
+                        hudNeedsRedraw = true;
+                        playSound(SoundEffect.EXPLOSION);
+                        addScreenShake(SCREEN_SHAKE_DEATH, SCREEN_SHAKE_DEATH_DURATION);
+                        spawnParticles(player.pos.x, player.pos.y, 50, sketch.color(255, 165, 0));
+                    }
+                }
+            }
+        }
+
+        // Check player-particle swarm collisions
+        if (!godMode) { // Skip player collisions in god mode
+            for (Collidable hit : queryPlayerHits(CollisionLayer.SWARM)) {
+                ParticleSwarm swarm = (ParticleSwarm) hit;
+                if (circlesCollide(player.pos, player.radius, swarm.center, swarm.getRadius())) {
+                    player.takeDamage(15); // Schaden durch Schwarm
+                    particleSwarms.swapRemove(swarm);
+                    collisionGrid.remove(swarm);
+                    pushPlayerHit(swarm.center, CollisionLayer.SWARM, swarm.swarmCol);
+
+                    if (player.isDead()) {
+                        playSound(SoundEffect.EXPLOSION);
+                        addScreenShake(SCREEN_SHAKE_DEATH, SCREEN_SHAKE_DEATH_DURATION);
+                        spawnParticles(player.pos.x, player.pos.y, 50, sketch.color(255, 165, 0));
+                        handlePlayerDeath();
+                    }
+                }
+            }
+
+        }
+
+        // Check player-powerup collisions
+        for (Collidable hit : queryPlayerHits(CollisionLayer.POWERUP)) {
+            PowerUp p = (PowerUp) hit;
+            if (circlesCollide(player.pos, player.radius, p.pos, p.radius)) {
+                if (p.type.equals(POWERUP_SHIELD)) {
+                    player.gainShield((int) sketch.random(10, 30));
+                    int e = events.push(GameEvent.POWERUP_COLLECTED, p.pos.x, p.pos.y);
+                    events.flag[e] = true;
+                } else if (p.type.equals(POWERUP_GUN)) {
+                    player.powerUp();
+                    events.push(GameEvent.POWERUP_COLLECTED, p.pos.x, p.pos.y);
+                }
+                powerups.swapRemove(p);
+                collisionGrid.remove(p);
+                hudNeedsRedraw = true;
+            }
+        }
+
+        if (passEvent != null) {
+            passEvent.end();
+            if (passEvent.shouldCommit()) {
+                passEvent.entries = collisionGrid.size();
+                passEvent.bullets = bulletCount;
+                passEvent.bulletHits = bulletHits.size();
+                passEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Record a bullet hit. Targets that this hit destroys are taken out of the
+     * collision grid right away, so later bullets in the same pass fly on.
+     */
+    private void recordBulletHit(int entry, float x, float y) {
+        Collidable target = collisionGrid.getObject(entry);
+        int layer = collisionGrid.getLayer(entry);
+        int hits = bulletHits.add(target, entry, layer, x, y);
+        if (layer == CollisionLayer.MOB) {
+            collisionGrid.disable(entry);
+        } else if (layer == CollisionLayer.ENEMY_SHIP || layer == CollisionLayer.FORMATION_SHIP) {
+            EnemyShip ship = (EnemyShip) target;
+            if (ship.health - BULLET_DAMAGE * hits <= 0) {
+                collisionGrid.disable(entry);
+            }
+        }
+    }
+
+    /**
+     * Apply all recorded bullet hits in the order they happened, then remove
+     * the destroyed mobs and ships from their lists in one pass each.
+     */
+    private void applyBulletHits() {
+        for (int i = 0; i < bulletHits.size(); i++) {
+            float x = bulletHits.getX(i);
+            float y = bulletHits.getY(i);
+            int layer = bulletHits.getLayer(i);
+            if (layer == CollisionLayer.MOB) {
+                applyMobHit((Mob) bulletHits.getTarget(i), x, y);
+            } else if (layer == CollisionLayer.ENEMY_SHIP) {
+                applyShipHit((EnemyShip) bulletHits.getTarget(i), false, x, y);
+            } else if (layer == CollisionLayer.FORMATION_SHIP) {
+                applyShipHit((EnemyShip) bulletHits.getTarget(i), true, x, y);
+            } else if (layer == CollisionLayer.BOSS) {
+                applyBossHit(x, y);
+            }
+        }
+        bulletHits.clear();
+
+        if (!killedTargets.isEmpty()) {
+            mobs.removeIf(isKilledTarget);
+            enemyShips.removeIf(isKilledTarget);
+            killedTargets.clear();
+        }
+    }
+
+    /**
+     * Bullet hit on a mob at (x, y): the mob is destroyed
+     */
+    private void applyMobHit(Mob mob, float x, float y) {
+        killedTargets.add(mob);
+
+        int points = 50 - mob.radius;
+        score += points;
+
+        int e = events.push(GameEvent.MOB_DESTROYED, mob.pos.x, mob.pos.y);
+        events.hitX[e] = x;
+        events.hitY[e] = y;
+        events.radius[e] = mob.radius;
+        events.value[e] = points;
+
+        // Random powerup drop
+        if (sketch.random(1) < powerupDropChance) {
+            dropPowerUp(mob.pos.x, mob.pos.y);
+        }
+
+        // Increment kill counter
+        mobsKilled++;
+        enemiesKilled++;
+    }
+
+    /**
+     * Bullet hit on an enemy ship at (x, y)
+     * @param inFormation true if the ship flies in an EnemyFormation
+     */
+    private void applyShipHit(EnemyShip ship, boolean inFormation, float x, float y) {
+        // Reduziere Health
+        ship.health -= BULLET_DAMAGE;
+
+        int e = events.push(GameEvent.SHIP_DAMAGED, ship.pos.x, ship.pos.y);
+        events.hitX[e] = x;
+        events.hitY[e] = y;
+        events.radius[e] = ship.radius;
+
+        // Wenn Health auf 0, zerstöre Schiff
+        if (ship.health <= 0) {
+            if (inFormation) {
+                findFormation(ship).removeShip(ship);
+            } else {
+                killedTargets.add(ship);
+            }
+
+            // Punkte basierend auf Schiffsgröße (85-140 Punkte)
+            int brightness = 85 + (ship.radius - 17) * 5; // 17->85, 28->140
+            score += brightness;
+            events.value[e] = brightness;
+            events.flag[e] = true;
+
+            // Increment kill counter
+            shipsKilled++;
+            enemiesKilled++;
+        }
+
+        // Höhere Powerup-Drop-Chance für Schiffe
+        if (sketch.random(1) < powerupDropChance * 2) {
+            dropPowerUp(ship.pos.x, ship.pos.y);
+        }
+    }
+
+    /**
+     * Bullet hit on the boss at (x, y)
+     */
+    private void applyBossHit(float x, float y) {
+        // Check if shield is active before damage
+        boolean shieldWasActive = boss.isShieldActive();
+
+        // Boss takes damage
+        boss.takeDamage(BULLET_DAMAGE);
+
+        // Small score for hitting boss
+        score += 10;
+
+        int e = events.push(GameEvent.BOSS_HIT, x, y);
+        events.flag[e] = shieldWasActive;
+
+        hudNeedsRedraw = true;
+    }
+
+    /**
+     * Query the collision grid around the player into the shared hit buffer.
+     * The loops re-check each hit, since handlePlayerDeath() moves the player away mid-pass.
+     */
+    private ArrayList<Collidable> queryPlayerHits(int mask) {
+        collisionHits.clear();
+        collisionGrid.query(player.pos.x, player.pos.y, player.radius, mask, collisionHits);
+        return collisionHits;
+    }
+
+    /**
+     * Record a PLAYER_HIT event for a hit by the object at pos (of the given CollisionLayer),
+     * with the point where it struck the player's shield
+     */
+    private void pushPlayerHit(PVector pos, int source, int color) {
+        tempVector.set(pos).sub(player.pos).normalize().mult(player.radius).add(player.pos);
+        int e = events.push(GameEvent.PLAYER_HIT, pos.x, pos.y);
+        events.hitX[e] = tempVector.x;
+        events.hitY[e] = tempVector.y;
+        events.value[e] = source;
+        events.color[e] = color;
+    }
+
+    /**
+     * Swept test of the bomb's path this tick against the player, so fast bombs
+     * cannot pass through the player between two ticks
+     */
+    private boolean bombHitsPlayer(Bomb bomb) {
+        return CollisionSystem.sweepCircle(bomb.prevPos.x, bomb.prevPos.y, bomb.pos.x, bomb.pos.y, bomb.radius,
+                player.pos.x, player.pos.y, player.radius) >= 0;
+    }
+
+    /**
+     * Formation that owns a formation ship
+     */
+    private EnemyFormation findFormation(EnemyShip ship) {
+        for (EnemyFormation formation : enemyFormations) {
+            if (formation.ships.contains(ship)) {
+                return formation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drop a powerup where an enemy was hit; it is added to the collision grid
+     * right away so the player can still pick it up in this collision pass.
+     */
+    private void dropPowerUp(float x, float y) {
+        PowerUp p = new PowerUp(sketch, x, y);
+        powerups.add(p);
+        collisionGrid.insert(p, CollisionLayer.POWERUP);
+    }
+
+    /**
+     * Helper method to safely obtain a particle slot.
+     * Returns -1 if the store is full (silently fails to prevent crashes).
+     */
+    private int safeObtainParticle() {
+        return particles.obtain();
+    }
+
+    /**
+     * Helper method to safely create and add a particle with null check.
+     * Silently fails if pool is exhausted.
+     */
+    private void addParticleIfAvailable(float x, float y, float vx, float vy, int color) {
+        int p = particles.obtain();
+        if (p >= 0) {
+            particles.reset(p, x, y, vx, vy, color);
+        }
+    }
+}
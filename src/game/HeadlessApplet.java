@@ -0,0 +1,41 @@
+package game;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+/**
+ * A PApplet that never opens a window or an OpenGL context.
+ * It only provides what the simulation needs from its host: random(), color(),
+ * loadImage(), the play field size and a millis() clock driven by simulated time.
+ */
+public class HeadlessApplet extends PApplet {
+    private double simSeconds = 0;
+
+    public HeadlessApplet(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixelWidth = width;
+        this.pixelHeight = height;
+
+        // color()/red() need a graphics object for the color mode, but nothing is ever drawn
+        g = new PGraphics();
+        g.colorMode(RGB, 255);
+
+        // Resolve resources/ relative to the working directory, like the windowed game
+        sketchPath();
+    }
+
+    /**
+     * Advances the simulated clock returned by millis().
+     *
+     * @param dt Step length in seconds
+     */
+    public void advance(float dt) {
+        simSeconds += dt;
+    }
+
+    @Override
+    public int millis() {
+        return (int) (simSeconds * 1000.0);
+    }
+}
@@ -0,0 +1,130 @@
+package game;
+
+import game.jfr.JfrEvents;
+import game.management.GameTuning;
+import game.managers.AssetManager;
+import game.replay.InputPlayer;
+import game.replay.Recording;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Plays a recording (game.Sketch --record=FILE or HeadlessSimulation --record=FILE)
+ * back without a window: same seed, same input per tick, same split of the deferred
+ * effects over the frames. The world goes through exactly the states of the recorded
+ * session, which the per-frame checksums confirm, so two builds can be compared on
+ * identical work.
+ *
+ * Usage: java -Djava.awt.headless=true -cp "out:lib/*" game.HeadlessReplay FILE [--profile] [--alloc] [--no-verify]
+ *   --profile   time every profiler scope per frame and report average and peak at the end
+ *   --alloc     track the bytes allocated per frame and subsystem and report them at the end
+ *   --no-verify keep going after the first frame whose checksum differs from the recording
+ */
+public class HeadlessReplay {
+    public static void main(String[] args) throws IOException {
+        String file = null;
+        boolean profile = false;
+        boolean trackAllocations = false;
+        boolean verify = true;
+        for (String arg : args) {
+            if (arg.equals("--profile")) {
+                profile = true;
+            } else if (arg.equals("--alloc")) {
+                trackAllocations = true;
+            } else if (arg.equals("--no-verify")) {
+                verify = false;
+            } else {
+                file = arg;
+            }
+        }
+        if (file == null) {
+            System.err.println("Usage: HeadlessReplay FILE [--profile] [--alloc] [--no-verify]");
+            System.exit(2);
+        }
+
+        try (InputPlayer player = new InputPlayer(new File(file))) {
+            HeadlessApplet host = new HeadlessApplet(player.getWidth(), player.getHeight());
+            AssetManager assets = new AssetManager(host);
+            assets.loadGameAssets();
+
+            // Same order as the recording host: seed, create the world, start the game
+            host.randomSeed(player.getSeed());
+            GameWorld world = new GameWorld(host, assets, new WorldListener() {
+            }, player.getSeed());
+            world.initSpawnTimers();
+            world.initGame();
+            world.allocations.setEnabled(trackAllocations);
+            world.profiler.setEnabled(profile);
+            JfrEvents.preload();
+
+            final float step = 1.0f / player.getTickRate();
+            long ticks = 0;
+            long mismatches = 0;
+            long firstMismatch = -1;
+            long slowestFrame = 0;
+            long start = System.nanoTime();
+
+            while (player.nextFrame()) {
+                long frameStart = System.nanoTime();
+                if (player.isResized()) {
+                    float scaleX = (float) player.getResizeWidth() / host.width;
+                    float scaleY = (float) player.getResizeHeight() / host.height;
+                    host.width = host.pixelWidth = player.getResizeWidth();
+                    host.height = host.pixelHeight = player.getResizeHeight();
+                    world.rescale(scaleX, scaleY);
+                }
+                if (player.isContinued()) {
+                    world.continueFromSummary();
+                }
+
+                world.profiler.beginFrame();
+                for (int i = 0; i < player.getTickCount(); i++) {
+                    Recording.applyInput(world, player.getInput(i));
+                    GameTuning knobs = player.getTuning(i);
+                    if (knobs != null) {
+                        Recording.applyTuning(world, knobs);
+                    }
+                    host.advance(step);
+                    world.step(step);
+                }
+                world.runDeferredEffects(player.getDeferredSlices());
+                world.profiler.endFrame();
+                slowestFrame = Math.max(slowestFrame, System.nanoTime() - frameStart);
+                ticks += player.getTickCount();
+
+                if (Recording.checksum(world) != player.getChecksum()) {
+                    mismatches++;
+                    if (firstMismatch < 0) {
+                        firstMismatch = player.getFrames();
+                        System.err.printf("Frame %d (t=%.2fs) differs from the recording: state=%s score=%d mobs=%d ships=%d particles=%d%n",
+                                firstMismatch, world.simTime, world.gameState, world.score, world.mobs.size(),
+                                world.enemyShips.size(), world.particles.count());
+                        if (verify) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long frames = player.getFrames();
+            System.out.println("----");
+            System.out.printf("Replayed %d frames, %d ticks at %.0f Hz (%.1f s game time) in %.2f s wall time%n",
+                    frames, ticks, player.getTickRate(), world.simTime, seconds);
+            System.out.printf("Throughput: %.0f frames/s, %.1f us/frame average, %.2f ms slowest frame%n",
+                    frames / seconds, seconds * 1e6 / Math.max(1, frames), slowestFrame / 1e6);
+            System.out.printf("Final state: %s, score %d%n", world.gameState, world.score);
+            if (firstMismatch < 0) {
+                System.out.println("Checksums: all frames match the recording");
+            } else {
+                System.out.printf("Checksums: %d frames differ, first at frame %d%n", mismatches, firstMismatch);
+            }
+            HeadlessSimulation.printStats(world, trackAllocations, "frame");
+            world.dispose();
+            if (firstMismatch >= 0) {
+                System.exit(1);
+            }
+        }
+    }
+}
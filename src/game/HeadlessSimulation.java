@@ -0,0 +1,218 @@
+package game;
+
+import game.GameWorld.GameState;
+import game.managers.AssetManager;
+import game.jfr.FrameEvent;
+import game.jfr.JfrEvents;
+import game.management.GameMonitor;
+import game.replay.InputRecorder;
+import game.replay.Recording;
+import game.systems.GameEvent;
+import game.utils.AllocationTracker;
+import game.utils.FrameProfiler;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs the game simulation without a window, sound or OpenGL.
+ * Steps a GameWorld for a fixed number of ticks and reports throughput,
+ * so the game can be soak-tested and profiled on machines without a display.
+ *
+ * Usage: java -Djava.awt.headless=true -cp "out:lib/*" game.HeadlessSimulation [ticks] [--hz=N] [--god] [--idle] [--alloc] [--profile] [--jmx]
+ *                                                                     [--seed=N] [--record=FILE]
+ *   ticks   number of fixed steps to simulate (default 10 minutes of game time)
+ *   --hz=N  simulation tick rate (default 120, same as the game)
+ *   --god   player cannot be hit, so the run reaches the later phases and the boss
+ *   --idle  no simulated input and no automatic continue on summary screens
+ *   --alloc track the bytes allocated per tick and subsystem and report them at the end
+ *   --profile time every profiler scope per tick and report average and peak at the end
+ *   --jmx   register the GameMonitor MBean, so the run can be watched and tuned from JConsole
+ *   --seed=N seed the random number generator, so the run is repeatable
+ *   --record=FILE record the seed and the input of every tick, for HeadlessReplay
+ */
+public class HeadlessSimulation {
+    static final int WIDTH = 600;
+    static final int HEIGHT = 800;
+    static final int DEFAULT_TICK_RATE = 120;
+    static final float REPORT_INTERVAL = 10.0f; // Game seconds between progress lines
+
+    public static void main(String[] args) throws IOException {
+        int ticks = -1;
+        int tickRate = DEFAULT_TICK_RATE;
+        boolean godMode = false;
+        boolean idle = false;
+        boolean trackAllocations = false;
+        boolean profile = false;
+        boolean jmx = false;
+        long seed = System.nanoTime();
+        String recordFile = null;
+        for (String arg : args) {
+            if (arg.startsWith("--hz=")) {
+                tickRate = Integer.parseInt(arg.substring(5));
+            } else if (arg.equals("--god")) {
+                godMode = true;
+            } else if (arg.equals("--idle")) {
+                idle = true;
+            } else if (arg.equals("--alloc")) {
+                trackAllocations = true;
+            } else if (arg.equals("--profile")) {
+                profile = true;
+            } else if (arg.equals("--jmx")) {
+                jmx = true;
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring(7));
+            } else if (arg.startsWith("--record=")) {
+                recordFile = arg.substring(9);
+            } else {
+                ticks = Integer.parseInt(arg);
+            }
+        }
+        if (ticks < 0) {
+            ticks = tickRate * 600;
+        }
+        final float step = 1.0f / tickRate;
+        final int reportTicks = (int) (REPORT_INTERVAL * tickRate);
+
+        HeadlessApplet host = new HeadlessApplet(WIDTH, HEIGHT);
+        AssetManager assets = new AssetManager(host);
+        assets.loadGameAssets();
+
+        // Seed right before creating the world: everything random in it follows from the seed
+        host.randomSeed(seed);
+        GameWorld world = new GameWorld(host, assets, new WorldListener() {
+        }, seed);
+        world.initSpawnTimers();
+        world.initGame();
+        world.godMode = godMode;
+        world.allocations.setEnabled(trackAllocations);
+        world.profiler.setEnabled(profile);
+        JfrEvents.preload();
+        GameMonitor monitor = null;
+        if (jmx) {
+            monitor = new GameMonitor(world);
+            monitor.register();
+        }
+        InputRecorder recorder = null;
+        if (recordFile != null) {
+            recorder = new InputRecorder(new File(recordFile), seed, tickRate, WIDTH, HEIGHT);
+        }
+
+        int maxParticles = 0;
+        long slowestTick = 0;
+        long start = System.nanoTime();
+
+        for (int tick = 0; tick < ticks; tick++) {
+            if (!idle && autopilot(world) && recorder != null) {
+                recorder.continued();
+            }
+            if (recorder != null) {
+                recorder.recordTick(Recording.inputBits(world));
+            }
+
+            long tickStart = System.nanoTime();
+            host.advance(step);
+            // One frame per tick; only created while a JFR recording wants it
+            FrameEvent frameEvent = JfrEvents.isFrameEnabled() ? new FrameEvent() : null;
+            world.profiler.setRecording(frameEvent != null);
+            if (frameEvent != null) {
+                frameEvent.begin();
+            }
+            world.profiler.beginFrame();
+            world.step(step);
+            if (recorder != null) {
+                recorder.recordTuning(world);
+            }
+            world.runDeferredEffects();
+            world.profiler.endFrame();
+            if (recorder != null) {
+                recorder.endFrame(world.deferredEffects.getLastDrainSlices(), Recording.checksum(world));
+            }
+            if (frameEvent != null) {
+                frameEvent.end();
+                if (frameEvent.shouldCommit()) {
+                    world.fillFrameEvent(frameEvent, 1);
+                    frameEvent.commit();
+                }
+            }
+            long tickNanos = System.nanoTime() - tickStart;
+            slowestTick = Math.max(slowestTick, tickNanos);
+            if (monitor != null) {
+                monitor.sample(tickNanos);
+            }
+
+            maxParticles = Math.max(maxParticles, world.particles.count());
+
+            if ((tick + 1) % reportTicks == 0) {
+                System.out.printf("t=%6.1fs  state=%-14s score=%6d  mobs=%3d ships=%3d formations=%2d bullets=%3d bombs=%3d particles=%5d%n",
+                        world.simTime, world.gameState, world.score, world.mobs.size(), world.enemyShips.size(),
+                        world.enemyFormations.size(), world.bullets.size(), world.bombs.size(), world.particles.count());
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (recorder != null) {
+            recorder.close();
+        }
+        System.out.println("----");
+        System.out.printf("Simulated %d ticks at %d Hz (%.1f s game time) in %.2f s wall time%n", ticks, tickRate, world.simTime, seconds);
+        System.out.printf("Throughput: %.0f ticks/s, %.1f us/tick average, %.2f ms slowest tick%n",
+                ticks / seconds, seconds * 1e6 / ticks, slowestTick / 1e6);
+        System.out.printf("Final state: %s, score %d, peak particles %d%n", world.gameState, world.score, maxParticles);
+        printStats(world, trackAllocations, "tick");
+        world.dispose();
+    }
+
+    /**
+     * Counters of the effect queue, events and sprite cache, and the profiler and
+     * allocation reports if they were enabled
+     * @param unit What the profiler's frames were ("tick" or "frame")
+     */
+    static void printStats(GameWorld world, boolean trackAllocations, String unit) {
+        System.out.printf("Deferred effects: %d jobs, peak queue depth %d, %d frames over budget, slowest drain %d us%n",
+                world.deferredEffects.getSubmittedJobs(), world.deferredEffects.getMaxQueueDepth(),
+                world.deferredEffects.getDeferredFrames(), world.deferredEffects.getMaxDrainMicros());
+        System.out.printf("Gameplay events: %d (mobs destroyed %d, ship hits %d, boss hits %d, player hits %d, powerups %d), peak %d per frame, %d dropped%n",
+                world.events.getPushedEvents(), world.events.getPushedEvents(GameEvent.MOB_DESTROYED),
+                world.events.getPushedEvents(GameEvent.SHIP_DAMAGED), world.events.getPushedEvents(GameEvent.BOSS_HIT),
+                world.events.getPushedEvents(GameEvent.PLAYER_HIT), world.events.getPushedEvents(GameEvent.POWERUP_COLLECTED),
+                world.events.getMaxSize(), world.events.getDroppedEvents());
+        if (world.profiler.isEnabled()) {
+            FrameProfiler prof = world.profiler;
+            System.out.printf("Time per %s (average / peak): %.3f / %.3f ms%n", unit,
+                    prof.getTotalAverageFrameMillis(), prof.getPeakFrameMillis());
+            for (int scope = 0; scope < prof.getScopeCount(); scope++) {
+                System.out.printf("  %-18s %7.3f / %.3f ms%n", "  ".repeat(prof.getDepth(scope)) + prof.getName(scope),
+                        prof.getTotalAverageMillis(scope), prof.getPeakMillis(scope));
+            }
+        }
+        if (world.allocations.isEnabled()) {
+            System.out.println("Allocations per " + unit + " (average / peak):");
+            for (int phase = 0; phase < world.allocations.getPhaseCount(); phase++) {
+                System.out.printf("  %-16s %10s / %s%n", world.allocations.getName(phase),
+                        AllocationTracker.formatBytes(world.allocations.getAverageBytes(phase)),
+                        AllocationTracker.formatBytes(world.allocations.getPeakBytes(phase)));
+            }
+        } else if (trackAllocations) {
+            System.out.println("Allocation tracking is not supported by this JVM");
+        }
+    }
+
+    /**
+     * Simple scripted input: keep firing, sweep left and right, and continue past summary screens.
+     * @return true if it continued from a summary screen
+     */
+    static boolean autopilot(GameWorld world) {
+        boolean sweepLeft = (int) (world.simTime / 1.5) % 2 == 0;
+        world.inputLeft = sweepLeft;
+        world.inputRight = !sweepLeft;
+        world.inputFire = true;
+
+        if (world.gameState == GameState.SUMMARY || world.gameState == GameState.SECOND_SUMMARY
+                || world.gameState == GameState.THIRD_SUMMARY) {
+            world.continueFromSummary();
+            return true;
+        }
+        return false;
+    }
+}
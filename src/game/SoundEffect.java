@@ -0,0 +1,16 @@
+package game;
+
+// Sound effects the simulation can request; Sketch maps them to loaded SoundFiles.
+public enum SoundEffect {
+    SHOOT,
+    EXPLOSION,
+    ENEMY_EXPLOSION, // Spezielle Explosion für Enemy Ships
+    ASTEROID_EXPLOSION, // Spezielle Explosion für Asteroiden
+    POWERUP,
+    HIT,
+    TRACKING_BOMB,
+    SPLIT, // Ship Split
+    SUPERNOVA,
+    LASER, // Normale Enemy Bullets
+    CONTROL // Player Ship Destruction
+}
@@ -0,0 +1,20 @@
+package game;
+
+/**
+ * Receives the presentation side effects of a GameWorld (sound and music).
+ * Sketch plays them through the sound library; a headless run simply ignores them.
+ */
+public interface WorldListener {
+
+    /**
+     * Called whenever the simulation wants a sound effect played.
+     */
+    default void playSound(SoundEffect effect) {
+    }
+
+    /**
+     * Called when the game switches to the game over / victory theme.
+     */
+    default void startGameOverMusic() {
+    }
+}
@@ -3,10 +3,11 @@ package game.advanced;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PVector;
+import game.utils.Collidable;
 import java.util.ArrayList;
 
 // Manages a group of particles for swarm effects.
-public class ParticleSwarm {
+public class ParticleSwarm implements Collidable {
     private PApplet sketch;
     public ArrayList<SwarmParticle> particles;
     public PVector center;
@@ -73,6 +74,12 @@ public class ParticleSwarm {
                center.y < -200 || center.y > sketch.height + 200;
     }
 
+    @Override
+    public PVector getPosition() {
+        return center;
+    }
+
+    @Override
     public float getRadius() {
         // Kollisionsradius basierend auf maximaler Partikel-Distanz
         return 60 * size;
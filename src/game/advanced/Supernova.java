@@ -3,11 +3,14 @@ package game.advanced;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PVector;
+import game.utils.FastMath;
+import game.utils.FastRandom;
 import java.util.ArrayList;
 
 // Represents a supernova explosion with shockwaves and debris.
 public class Supernova {
     private PApplet sketch;
+    private final FastRandom random; // Also used every update, hence not sketch.random()
     public PVector pos;
     public float life;
     public float maxLife;
@@ -24,23 +27,24 @@ public class Supernova {
     public float rotationSpeed;
     public float sizeScale; // Größen-Skalierung (0.5 - 1.0)
     
-    public Supernova(PApplet sketch) {
+    public Supernova(PApplet sketch, FastRandom random) {
         this.sketch = sketch;
+        this.random = random;
         
         // Position nur im oberen 2/3 des Bildschirms
-        pos = new PVector(sketch.random(sketch.width * 0.1f, sketch.width * 0.9f), 
-                         sketch.random(sketch.height * 0.05f, sketch.height * 0.66f));
+        pos = new PVector(random.random(sketch.width * 0.1f, sketch.width * 0.9f), 
+                         random.random(sketch.height * 0.05f, sketch.height * 0.66f));
         
-        maxLife = sketch.random(8, 15); // Längere Dauer für dramatischen Effekt
+        maxLife = random.random(8, 15); // Längere Dauer für dramatischen Effekt
         life = maxLife;
-        rotation = sketch.random(PApplet.TWO_PI);
-        rotationSpeed = sketch.random(-0.2f, 0.2f);
+        rotation = random.random(PApplet.TWO_PI);
+        rotationSpeed = random.random(-0.2f, 0.2f);
         
         // Zufällige Größe: 50% bis 100% der vollen Größe
-        sizeScale = sketch.random(0.5f, 1.0f);
+        sizeScale = random.random(0.5f, 1.0f);
         
         // Farbvarianten (realistischer)
-        float colorChoice = sketch.random(1);
+        float colorChoice = random.random(1);
         if (colorChoice < 0.25f) {
             coreColor = sketch.color(255, 255, 255); // Weißer Kern
             midColor = sketch.color(255, 220, 150); // Gelb-orange
@@ -61,9 +65,9 @@ public class Supernova {
         
         // Erstelle mehrere Schockwellen die nacheinander erscheinen
         shockwaves = new ArrayList<>();
-        int numWaves = (int) sketch.random(3, 5);
+        int numWaves = (int) random.random(3, 5);
         for (int i = 0; i < numWaves; i++) {
-            float delay = i * sketch.random(0.8f, 1.5f); // Zeitverzögerung zwischen Wellen
+            float delay = i * random.random(0.8f, 1.5f); // Zeitverzögerung zwischen Wellen
             shockwaves.add(new ShockwaveRing(sketch, delay, i, sizeScale));
         }
         
@@ -74,24 +78,24 @@ public class Supernova {
         debrisColors = new ArrayList<>();
         debrisRotations = new ArrayList<>();
         
-        int numDebris = (int) (sketch.random(60, 100) * sizeScale);
+        int numDebris = (int) (random.random(60, 100) * sizeScale);
         for (int i = 0; i < numDebris; i++) {
             debrisPositions.add(new PVector(0, 0));
             
             // Ungleichmäßige Geschwindigkeiten (turbulent)
-            float angle = sketch.random(PApplet.TWO_PI);
-            float speed = sketch.random(15, 80) * sizeScale; // Skalierte Expansion
-            float turbulence = sketch.random(-20, 20) * sizeScale;
+            int dir = FastMath.randomDirection(random);
+            float speed = random.random(15, 80) * sizeScale; // Skalierte Expansion
+            float turbulence = random.random(-20, 20) * sizeScale;
             debrisVelocities.add(new PVector(
-                sketch.cos(angle) * speed + turbulence,
-                sketch.sin(angle) * speed + turbulence
+                FastMath.dirX(dir) * speed + turbulence,
+                FastMath.dirY(dir) * speed + turbulence
             ));
             
-            debrisSizes.add(sketch.random(1.5f, 4) * sizeScale);
-            debrisRotations.add(sketch.random(PApplet.TWO_PI));
+            debrisSizes.add(random.random(1.5f, 4) * sizeScale);
+            debrisRotations.add(random.random(PApplet.TWO_PI));
             
             // Farbverteilung
-            float colorRand = sketch.random(1);
+            float colorRand = random.random(1);
             if (colorRand < 0.2f) {
                 debrisColors.add(coreColor);
             } else if (colorRand < 0.6f) {
@@ -103,20 +107,20 @@ public class Supernova {
         
         // NEUER GROSSER PARTIKELRING - schnelle Expansion
         // Erstelle dichten Ring von Partikeln
-        int ringParticles = (int) (sketch.random(80, 120) * sizeScale);
+        int ringParticles = (int) (random.random(80, 120) * sizeScale);
         for (int i = 0; i < ringParticles; i++) {
             debrisPositions.add(new PVector(0, 0));
             
             // Gleichmäßig verteilte Partikel im Ring
-            float angle = (PApplet.TWO_PI / ringParticles) * i + sketch.random(-0.1f, 0.1f);
-            float speed = sketch.random(120, 180) * sizeScale; // Skalierte SCHNELLE Expansion
-            debrisVelocities.add(new PVector(sketch.cos(angle) * speed, sketch.sin(angle) * speed));
+            float angle = (PApplet.TWO_PI / ringParticles) * i + random.random(-0.1f, 0.1f);
+            float speed = random.random(120, 180) * sizeScale; // Skalierte SCHNELLE Expansion
+            debrisVelocities.add(new PVector(FastMath.cos(angle) * speed, FastMath.sin(angle) * speed));
             
-            debrisSizes.add(sketch.random(2, 4.5f) * sizeScale); // Skalierte Partikel
-            debrisRotations.add(sketch.random(PApplet.TWO_PI));
+            debrisSizes.add(random.random(2, 4.5f) * sizeScale); // Skalierte Partikel
+            debrisRotations.add(random.random(PApplet.TWO_PI));
             
             // Ring-Partikel sind heller
-            debrisColors.add(sketch.random(1) < 0.5f ? coreColor : midColor);
+            debrisColors.add(random.random(1) < 0.5f ? coreColor : midColor);
         }
     }
     
@@ -140,14 +144,14 @@ public class Supernova {
             debrisPos.y += vel.y * delta_time;
             
             // Turbulente Bewegung
-            vel.x += sketch.random(-5, 5) * delta_time;
-            vel.y += sketch.random(-5, 5) * delta_time;
+            vel.x += random.random(-5, 5) * delta_time;
+            vel.y += random.random(-5, 5) * delta_time;
             
             // Leichte Abbremsung (frame-rate independent)
             vel.mult((float) Math.pow(0.995f, delta_time * 60));
             
             // Update Rotation
-            debrisRotations.set(i, debrisRotations.get(i) + sketch.random(-2, 2) * delta_time);
+            debrisRotations.set(i, debrisRotations.get(i) + random.random(-2, 2) * delta_time);
         }
     }
     
@@ -232,8 +236,8 @@ public class Supernova {
                         float offset = wave.particleOffsets.get(i);
                         float particleRadius = wave.radius * 1.8f + offset;
                         
-                        float px = sketch.cos(angle) * particleRadius;
-                        float py = sketch.sin(angle) * particleRadius;
+                        float px = FastMath.cos(angle) * particleRadius;
+                        float py = FastMath.sin(angle) * particleRadius;
                         
                         // Partikel mit Glow
                         pg.fill(sketch.red(midColor), sketch.green(midColor), sketch.blue(midColor), 80 * waveAlpha);
@@ -3,6 +3,7 @@ package game.advanced;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PVector;
+import game.utils.FastMath;
 
 // Represents a single particle in a particle swarm.
 public class SwarmParticle {
@@ -22,13 +23,13 @@ public class SwarmParticle {
         angle = sketch.random(PApplet.TWO_PI);
         distance = sketch.random(20, 60) * swarmSize;
         speed = sketch.random(1, 3);
-        offset = new PVector(sketch.cos(angle) * distance, sketch.sin(angle) * distance);
+        offset = new PVector(FastMath.cos(angle) * distance, FastMath.sin(angle) * distance);
         pos = PVector.add(centerPos, offset);
     }
 
     public void update(float delta_time, PVector centerPos) {
         angle += speed * delta_time;
-        offset.set(sketch.cos(angle) * distance, sketch.sin(angle) * distance);
+        offset.set(FastMath.cos(angle) * distance, FastMath.sin(angle) * distance);
         pos = PVector.add(centerPos, offset);
     }
 
@@ -3,11 +3,13 @@ package game.background;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PVector;
+import game.utils.FastRandom;
 import java.util.ArrayList;
 
 // Represents a space cloud with organic shape and internal stars.
 public class SpaceCloud {
     private PApplet sketch;
+    private final FastRandom random; // Also used every update, hence not sketch.random()
     public PVector pos;
     public PVector velocity;
     public float size;
@@ -22,39 +24,40 @@ public class SpaceCloud {
     public ArrayList<PVector> starPositions; // Internal stars
     public ArrayList<Float> starBrightness;
 
-    public SpaceCloud(PApplet sketch) {
+    public SpaceCloud(PApplet sketch, FastRandom random) {
         this.sketch = sketch;
-        size = sketch.random(150, 400);
+        this.random = random;
+        size = random.random(150, 400);
         
         // Obere 2/3 des Bildschirms
         float upperLimit = sketch.height * 2.0f / 3.0f;
         
         // Spawn WEIT außerhalb des Bildschirms von verschiedenen Seiten
-        int side = (int) sketch.random(3); // 0=oben, 1=rechts, 2=links
+        int side = (int) random.random(3); // 0=oben, 1=rechts, 2=links
         
         if (side == 0) {
             // Von oben - außerhalb, fließt langsam nach unten
-            pos = new PVector(sketch.random(sketch.width), -size - 100);
-            velocity = new PVector(0, sketch.random(15, 30)); // Langsamer
-            rotationSpeed = sketch.random(-0.1f, 0.1f);
+            pos = new PVector(random.random(sketch.width), -size - 100);
+            velocity = new PVector(0, random.random(15, 30)); // Langsamer
+            rotationSpeed = random.random(-0.1f, 0.1f);
         } else if (side == 1) {
             // Von rechts - außerhalb, fließt langsam nach links
-            pos = new PVector(sketch.width + size + 100, sketch.random(-size - 100, -50));
-            velocity = new PVector(sketch.random(-35, -20), sketch.random(10, 20)); // Langsamer
-            rotationSpeed = sketch.random(-0.1f, 0.1f);
+            pos = new PVector(sketch.width + size + 100, random.random(-size - 100, -50));
+            velocity = new PVector(random.random(-35, -20), random.random(10, 20)); // Langsamer
+            rotationSpeed = random.random(-0.1f, 0.1f);
         } else {
             // Von links - außerhalb, fließt langsam nach rechts
-            pos = new PVector(-size - 100, sketch.random(-size - 100, -50));
-            velocity = new PVector(sketch.random(20, 35), sketch.random(10, 20)); // Langsamer
-            rotationSpeed = sketch.random(-0.1f, 0.1f);
+            pos = new PVector(-size - 100, random.random(-size - 100, -50));
+            velocity = new PVector(random.random(20, 35), random.random(10, 20)); // Langsamer
+            rotationSpeed = random.random(-0.1f, 0.1f);
         }
         
-        rotation = sketch.random(PApplet.TWO_PI);
-        alpha = sketch.random(15, 40); // Slightly more visible
-        pulsePhase = sketch.random(PApplet.TWO_PI);
+        rotation = random.random(PApplet.TWO_PI);
+        alpha = random.random(15, 40); // Slightly more visible
+        pulsePhase = random.random(PApplet.TWO_PI);
         
         // Verschiedene Nebel-Farben mit Gradienten
-        float colorChoice = sketch.random(1);
+        float colorChoice = random.random(1);
         if (colorChoice < 0.25f) {
             col = sketch.color(100, 150, 255); // Blau
             col2 = sketch.color(150, 100, 255); // zu Lila
@@ -72,23 +75,23 @@ public class SpaceCloud {
         // Create multiple blobs for organic shape
         blobOffsets = new ArrayList<>();
         blobSizes = new ArrayList<>();
-        int numBlobs = (int) sketch.random(4, 8);
+        int numBlobs = (int) random.random(4, 8);
         for (int i = 0; i < numBlobs; i++) {
-            float angle = sketch.random(PApplet.TWO_PI);
-            float dist = sketch.random(size * 0.2f, size * 0.5f);
+            float angle = random.random(PApplet.TWO_PI);
+            float dist = random.random(size * 0.2f, size * 0.5f);
             blobOffsets.add(new PVector(sketch.cos(angle) * dist, sketch.sin(angle) * dist));
-            blobSizes.add(sketch.random(size * 0.4f, size * 0.8f));
+            blobSizes.add(random.random(size * 0.4f, size * 0.8f));
         }
         
         // Add internal stars
         starPositions = new ArrayList<>();
         starBrightness = new ArrayList<>();
-        int numStars = (int) sketch.random(5, 15);
+        int numStars = (int) random.random(5, 15);
         for (int i = 0; i < numStars; i++) {
-            float angle = sketch.random(PApplet.TWO_PI);
-            float dist = sketch.random(size * 0.3f);
+            float angle = random.random(PApplet.TWO_PI);
+            float dist = random.random(size * 0.3f);
             starPositions.add(new PVector(sketch.cos(angle) * dist, sketch.sin(angle) * dist));
-            starBrightness.add(sketch.random(PApplet.TWO_PI));
+            starBrightness.add(random.random(PApplet.TWO_PI));
         }
     }
 
@@ -100,7 +103,7 @@ public class SpaceCloud {
         
         // Update star brightness
         for (int i = 0; i < starBrightness.size(); i++) {
-            starBrightness.set(i, starBrightness.get(i) + delta_time * sketch.random(2, 4));
+            starBrightness.set(i, starBrightness.get(i) + delta_time * random.random(2, 4));
         }
     }
 
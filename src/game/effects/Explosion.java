@@ -4,6 +4,7 @@ import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
 import processing.core.PVector;
+import game.systems.SpriteBatch;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -81,4 +82,14 @@ public class Explosion {
             }
         }
     }
+
+    public void display(SpriteBatch batch, HashMap<String, ArrayList<PImage>> explosionAnims) {
+        if (!finished) {
+            ArrayList<PImage> anim = explosionAnims.get(size);
+            if (anim != null && currentFrame < anim.size()) {
+                PImage frame = anim.get(currentFrame);
+                batch.draw(frame, pos.x, pos.y, frame.width * scale, frame.height * scale, 0, 255);
+            }
+        }
+    }
 }
@@ -8,6 +8,7 @@ import processing.core.PVector;
 public class Particle {
     private PApplet sketch;
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public PVector vel;
     public float life;
     public float maxLife;
@@ -23,6 +24,7 @@ public class Particle {
         this.maxLife = 1.0f;
         this.size = 3;
         this.noFriction = false;
+        prevPos.set(pos);
     }
 
     public void reset(float x, float y, float vx, float vy, int col) {
@@ -33,9 +35,11 @@ public class Particle {
         this.maxLife = this.life;
         this.size = sketch.random(2, 5); // Slightly larger
         this.noFriction = false; // Reset friction flag
+        prevPos.set(pos);
     }
 
     public void update(float delta_time) {
+        prevPos.set(pos);
         pos.x += vel.x * delta_time;
         pos.y += vel.y * delta_time;
         
@@ -55,6 +59,16 @@ public class Particle {
     }
 
     public void display(PGraphics pg) {
+        display(pg, 1.0f);
+    }
+
+    /**
+     * Draws the particle between its previous and current tick position.
+     * @param interpolation 0 = previous tick, 1 = current tick
+     */
+    public void display(PGraphics pg, float interpolation) {
+        float x = prevPos.x + (pos.x - prevPos.x) * interpolation;
+        float y = prevPos.y + (pos.y - prevPos.y) * interpolation;
         float alpha;
         
         if (noFriction) {
@@ -84,11 +98,11 @@ public class Particle {
         if (brightness > 150) {
             // Draw outer glow
             pg.fill(r, g, b, alpha * 0.3f);
-            pg.ellipse(pos.x, pos.y, size * 2, size * 2);
+            pg.ellipse(x, y, size * 2, size * 2);
         }
         
         // Draw main particle
         pg.fill(r, g, b, alpha);
-        pg.ellipse(pos.x, pos.y, size, size);
+        pg.ellipse(x, y, size, size);
     }
 }
@@ -0,0 +1,344 @@
+package game.effects;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import game.utils.FastRandom;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Particle storage as parallel arrays (struct of arrays) instead of Particle objects.
+ * A particle is an index into the arrays; live particles occupy the slots 0..count-1
+ * and dead ones are removed by moving the last particle into their slot.
+ * Behaves like Particle (same lifetime, friction and fading), but needs no PVectors,
+ * no pool and no per-object headers, and update() walks the arrays linearly.
+ * With setParallelism() above 1, large particle counts are integrated on a ForkJoinPool;
+ * the result is identical to the single-threaded path.
+ *
+ * Usage:
+ *   int p = particles.obtain();
+ *   if (p >= 0) {
+ *       particles.reset(p, x, y, vx, vy, color);
+ *       particles.size[p] = 6;
+ *   }
+ */
+public class ParticleStore {
+    static final int PARALLEL_THRESHOLD = 4096; // Below this, fork/join overhead outweighs the gain
+    static final int CHUNK_SIZE = 1024; // Particles per fork/join task
+
+    private final PApplet sketch;
+    private final FastRandom random;
+    private final int capacity;
+    private int count = 0;
+    private long refusedCount = 0; // obtain() calls on a full store
+    private int limit; // Live particle maximum, at most capacity (tuning)
+    private float density = 1.0f; // Share of spawn requests that get a particle (tuning)
+    private float densityCredit = 0;
+
+    // Per-particle data, valid for indices 0..count-1
+    public final float[] x;
+    public final float[] y;
+    public final float[] prevX; // Position at the previous tick (render interpolation)
+    public final float[] prevY;
+    public final float[] vx;
+    public final float[] vy;
+    public final float[] life;
+    public final float[] maxLife;
+    public final float[] size;
+    public final int[] col;
+    public final boolean[] noFriction; // Boss explosion particles: almost no friction, fade with speed
+
+    private ForkJoinPool pool = null; // null = single-threaded update
+    private int parallelism = 1;
+    private long lastUpdateNanos = 0;
+
+    /**
+     * @param random Stream for the particles' lifetimes and sizes
+     */
+    public ParticleStore(PApplet sketch, int capacity, FastRandom random) {
+        this.sketch = sketch;
+        this.random = random;
+        this.capacity = capacity;
+        this.limit = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+        col = new int[capacity];
+        noFriction = new boolean[capacity];
+    }
+
+    /**
+     * Claim a slot for a new particle
+     * @return Index of the new particle, or -1 if the store is full or the request was
+     *         thinned out by a density below 1
+     */
+    public int obtain() {
+        if (count >= limit) {
+            refusedCount++;
+            return -1;
+        }
+        if (density < 1.0f) {
+            // Spread the skipped requests evenly instead of dropping whole bursts
+            densityCredit += density;
+            if (densityCredit < 1.0f) {
+                return -1;
+            }
+            densityCredit -= 1.0f;
+        }
+        return count++;
+    }
+
+    /**
+     * Initialize a particle, same defaults as Particle.reset()
+     */
+    public void reset(int i, float px, float py, float pvx, float pvy, int color) {
+        x[i] = px;
+        y[i] = py;
+        prevX[i] = px;
+        prevY[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        col[i] = color;
+        life[i] = random.random(1.0f, 2.5f); // Longer lifetime
+        maxLife[i] = life[i];
+        size[i] = random.random(2, 5); // Slightly larger
+        noFriction[i] = false;
+    }
+
+    /**
+     * Move all particles, apply friction and remove dead ones
+     */
+    public void update(float deltaTime) {
+        long start = System.nanoTime();
+
+        // Frame-rate independent friction, computed once per step instead of per particle
+        float friction = (float) Math.pow(0.95f, deltaTime * 60);
+        float lowFriction = (float) Math.pow(0.99f, deltaTime * 60); // Only 1% friction
+
+        if (pool != null && count >= PARALLEL_THRESHOLD) {
+            pool.invoke(new IntegrateTask(0, count, deltaTime, friction, lowFriction));
+        } else {
+            integrate(0, count, deltaTime, friction, lowFriction);
+        }
+        removeDead();
+
+        lastUpdateNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Integrate the particles from..to-1. Each particle only touches its own slot,
+     * so ranges can run on different threads.
+     */
+    private void integrate(int from, int to, float deltaTime, float friction, float lowFriction) {
+        for (int i = from; i < to; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+
+            float f = noFriction[i] ? lowFriction : friction;
+            vx[i] *= f;
+            vy[i] *= f;
+
+            life[i] -= deltaTime;
+        }
+    }
+
+    /**
+     * Swap-remove dead particles: the last particle takes the freed slot and is checked next.
+     * Runs on the calling thread, so the resulting order does not depend on the threads.
+     */
+    private void removeDead() {
+        int i = 0;
+        while (i < count) {
+            if (life[i] <= 0) {
+                count--;
+                copy(count, i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Splits the particle range in halves until a chunk is small enough to integrate directly.
+     */
+    private final class IntegrateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final float deltaTime;
+        private final float friction;
+        private final float lowFriction;
+
+        IntegrateTask(int from, int to, float deltaTime, float friction, float lowFriction) {
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+            this.friction = friction;
+            this.lowFriction = lowFriction;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                integrate(from, to, deltaTime, friction, lowFriction);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new IntegrateTask(from, mid, deltaTime, friction, lowFriction),
+                        new IntegrateTask(mid, to, deltaTime, friction, lowFriction));
+            }
+        }
+    }
+
+    /**
+     * Set the number of threads for update(); 1 = single-threaded.
+     * Only counts of at least PARALLEL_THRESHOLD particles are split up.
+     */
+    public void setParallelism(int threads) {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        parallelism = Math.max(threads, 1);
+        if (parallelism > 1) {
+            pool = new ForkJoinPool(parallelism);
+        }
+    }
+
+    /**
+     * Shut the worker pool down; update() runs single-threaded afterwards.
+     * Call when the store is no longer used, so its threads do not outlive it.
+     */
+    public void dispose() {
+        setParallelism(1);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Duration of the last update() in nanoseconds (for the debug overlay / benchmarks)
+     */
+    public long getLastUpdateNanos() {
+        return lastUpdateNanos;
+    }
+
+    /**
+     * Draw all particles between their previous and current tick position
+     * @param interpolation 0 = previous tick, 1 = current tick
+     */
+    public void display(PGraphics pg, float interpolation) {
+        pg.noStroke();
+        for (int i = 0; i < count; i++) {
+            float alpha;
+            if (noFriction[i]) {
+                // For boss explosion particles: fade based on speed
+                float speed = (float) Math.sqrt(vx[i] * vx[i] + vy[i] * vy[i]);
+                float speedRatio = Math.min(speed / 500, 1.0f); // 500 = approximate average initial speed
+                alpha = Math.min(255 * speedRatio, 255 * (life[i] / maxLife[i]));
+            } else {
+                alpha = 255 * (life[i] / maxLife[i]);
+            }
+
+            float px = prevX[i] + (x[i] - prevX[i]) * interpolation;
+            float py = prevY[i] + (y[i] - prevY[i]) * interpolation;
+
+            // Colors are created in RGB mode with 0-255 range, so the channels can be read directly
+            int c = col[i];
+            float r = (c >> 16) & 0xFF;
+            float g = (c >> 8) & 0xFF;
+            float b = c & 0xFF;
+
+            // Add glow effect for brighter particles
+            if ((r + g + b) / 3.0f > 150) {
+                pg.fill(r, g, b, alpha * 0.3f);
+                pg.ellipse(px, py, size[i] * 2, size[i] * 2);
+            }
+
+            pg.fill(r, g, b, alpha);
+            pg.ellipse(px, py, size[i], size[i]);
+        }
+    }
+
+    /**
+     * Scale all positions, e.g. after a window size change
+     */
+    public void scalePositions(float scaleX, float scaleY) {
+        for (int i = 0; i < count; i++) {
+            x[i] *= scaleX;
+            y[i] *= scaleY;
+            prevX[i] *= scaleX;
+            prevY[i] *= scaleY;
+        }
+    }
+
+    private void copy(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        life[to] = life[from];
+        maxLife[to] = maxLife[from];
+        size[to] = size[from];
+        col[to] = col[from];
+        noFriction[to] = noFriction[from];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Lower the live particle maximum below the capacity (or raise it back)
+     */
+    public void setLimit(int limit) {
+        this.limit = Math.max(0, Math.min(limit, capacity));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Scale all particle effects: 0.5 spawns every second requested particle. At most 1.
+     */
+    public void setDensity(float density) {
+        this.density = Math.max(0, Math.min(density, 1.0f));
+        densityCredit = 0;
+    }
+
+    public float getDensity() {
+        return density;
+    }
+
+    /**
+     * Number of particles that could not be spawned because the store was full
+     */
+    public long getRefusedCount() {
+        return refusedCount;
+    }
+
+    public boolean isFull() {
+        return count >= limit;
+    }
+}
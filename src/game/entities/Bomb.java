@@ -3,11 +3,13 @@ package game.entities;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PVector;
+import game.utils.Collidable;
 
 // Represents a bomb dropped by enemies, possibly tracking the player.
-public class Bomb {
+public class Bomb implements Collidable {
     private PApplet sketch;
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public PVector vel;
     public int radius = 8;
     public float rotation = 0;
@@ -47,6 +49,7 @@ public class Bomb {
         }
         
         this.rotationSpeed = sketch.random(-5, 5) * speedMultiplier;
+        prevPos.set(pos);
     }
 
     public void update(float delta_time, PVector playerPos, boolean playerIsDead) {
@@ -102,6 +105,16 @@ public class Bomb {
             sketch.color(255, 150, 0, 150);  // Orange für normale
     }
 
+    @Override
+    public PVector getPosition() {
+        return pos;
+    }
+
+    @Override
+    public float getRadius() {
+        return radius;
+    }
+
     public boolean isOffScreen() {
         return pos.y > sketch.height + radius || pos.x < -radius || pos.x > sketch.width + radius;
     }
@@ -8,9 +8,12 @@ import processing.core.PApplet;
 import processing.core.PImage;
 import processing.core.PVector;
 import processing.core.PGraphics;
+import game.utils.Collidable;
+import game.utils.FastMath;
 
-public class Boss {
+public class Boss implements Collidable {
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public PVector vel;
     public float radius;
     public int health;
@@ -105,6 +108,7 @@ public class Boss {
         this.attackCounter = 0;
         this.specialAttackCooldown = 8.0f; // Special attack every 8 seconds
         this.specialAttackTimer = 4.0f; // First special attack after 4 seconds
+        prevPos.set(pos);
     }
     
     public void setGameOver() {
@@ -266,17 +270,27 @@ public class Boss {
         // Emit from random point on shield perimeter
         float angle = sketch.random(PApplet.TWO_PI);
         float emitRadius = radius + 20; // Emit from shield edge
-        float x = pos.x + PApplet.cos(angle) * emitRadius;
-        float y = pos.y + PApplet.sin(angle) * emitRadius;
+        float x = pos.x + FastMath.cos(angle) * emitRadius;
+        float y = pos.y + FastMath.sin(angle) * emitRadius;
         
         // Velocity pointing outward with random speed
         float speed = sketch.random(50, 200); // Random speed
-        float vx = PApplet.cos(angle) * speed;
-        float vy = PApplet.sin(angle) * speed;
+        float vx = FastMath.cos(angle) * speed;
+        float vy = FastMath.sin(angle) * speed;
         
         return new float[]{x, y, vx, vy, speed};
     }
     
+    @Override
+    public PVector getPosition() {
+        return pos;
+    }
+
+    @Override
+    public float getRadius() {
+        return radius;
+    }
+
     public boolean isDead() {
         return !active || health <= 0;
     }
@@ -326,8 +340,8 @@ public class Boss {
             pg.blendMode(PApplet.ADD); // Additive blending for glow effect
             
             // Pulsing animation
-            float pulse = (PApplet.sin(time * 4) + 1) / 2; // 0-1, faster pulse
-            float shimmer = (PApplet.sin(time * 8) + 1) / 2; // 0-1, shimmer effect
+            float pulse = (FastMath.sin(time * 4) + 1) / 2; // 0-1, faster pulse
+            float shimmer = (FastMath.sin(time * 8) + 1) / 2; // 0-1, shimmer effect
             
             // Cyan/blue energy color
             int baseColor = pg.color(100, 200, 255);
@@ -366,9 +380,9 @@ public class Boss {
             pg.strokeWeight(4);
             for (int i = 0; i < 16; i++) {
                 float angle = time * 1.5f + i * PApplet.TWO_PI / 16;
-                float particleRadius = radius + 18 + PApplet.sin(time * 6 + i) * 8;
-                float px = pos.x + PApplet.cos(angle) * particleRadius;
-                float py = pos.y + PApplet.sin(angle) * particleRadius;
+                float particleRadius = radius + 18 + FastMath.sin(time * 6 + i) * 8;
+                float px = pos.x + FastMath.cos(angle) * particleRadius;
+                float py = pos.y + FastMath.sin(angle) * particleRadius;
                 int particleAlpha = (int) (120 + 120 * shimmer);
                 pg.stroke(baseColor, particleAlpha);
                 pg.point(px, py);
@@ -378,9 +392,9 @@ public class Boss {
             pg.strokeWeight(3);
             for (int i = 0; i < 12; i++) {
                 float angle = -time * 2.0f + i * PApplet.TWO_PI / 12;
-                float particleRadius = radius + 8 + PApplet.sin(time * 10 + i * 0.5f) * 4;
-                float px = pos.x + PApplet.cos(angle) * particleRadius;
-                float py = pos.y + PApplet.sin(angle) * particleRadius;
+                float particleRadius = radius + 8 + FastMath.sin(time * 10 + i * 0.5f) * 4;
+                float px = pos.x + FastMath.cos(angle) * particleRadius;
+                float py = pos.y + FastMath.sin(angle) * particleRadius;
                 int particleAlpha = (int) (100 + 100 * pulse);
                 pg.stroke(baseColor, particleAlpha);
                 pg.point(px, py);
@@ -4,11 +4,13 @@ import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
 import processing.core.PVector;
+import game.systems.SpriteBatch;
 
 // Represents a bullet fired by the player.
 public class Bullet {
     private PApplet sketch;
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public float speed = 500;
     public int radius = 5;
     public boolean active = true;
@@ -20,6 +22,7 @@ public class Bullet {
         this.pos = new PVector(x, y);
         this.startY = y;
         this.maxReach = sketch.height * 0.75f; // Erreicht nur 75% der Bildschirmhöhe
+        prevPos.set(pos);
     }
 
     public void reset(float x, float y) {
@@ -27,6 +30,7 @@ public class Bullet {
         this.active = true;
         this.startY = y;
         this.maxReach = sketch.height * 0.75f;
+        prevPos.set(pos);
     }
 
     public void update(float delta_time) {
@@ -84,4 +88,17 @@ public class Bullet {
             pg.popStyle();
         }
     }
+
+    public void display(SpriteBatch batch, PImage bulletImg) {
+        if (bulletImg != null) {
+            batch.draw(bulletImg, pos.x, pos.y, bulletImg.width, bulletImg.height, 0, getAlpha() * 255);
+        } else {
+            // Same interpolated position as a batched bullet
+            PGraphics pg = batch.direct();
+            pg.pushMatrix();
+            pg.translate(batch.getOffsetX(), batch.getOffsetY());
+            display(pg, null);
+            pg.popMatrix();
+        }
+    }
 }
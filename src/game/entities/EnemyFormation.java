@@ -5,10 +5,13 @@ package game.entities;
 
 import processing.core.PApplet;
 import processing.core.PVector;
+import game.systems.SpriteCache;
+import game.utils.FastMath;
 import java.util.ArrayList;
 
 public class EnemyFormation {
     private PApplet sketch;
+    private final SpriteCache spriteCache;
     public ArrayList<EnemyShip> ships;
     public PVector centerPos;
     public PVector velocity;
@@ -33,7 +36,16 @@ public class EnemyFormation {
     private ArrayList<Float> diveSpeedMultipliers = new ArrayList<>(); // Random speed variation
     
     public EnemyFormation(PApplet sketch, int shipCount, int formationType, ArrayList<processing.core.PImage> shipImages) {
+        this(sketch, shipCount, formationType, shipImages, null);
+    }
+
+    /**
+     * @param spriteCache Shared scaled ship images, or null to scale per ship
+     */
+    public EnemyFormation(PApplet sketch, int shipCount, int formationType, ArrayList<processing.core.PImage> shipImages,
+                          SpriteCache spriteCache) {
         this.sketch = sketch;
+        this.spriteCache = spriteCache;
         this.ships = new ArrayList<>();
         this.centerPos = new PVector();
         this.velocity = new PVector();
@@ -61,15 +73,13 @@ public class EnemyFormation {
         }
         
         for (int i = 0; i < shipCount; i++) {
-            EnemyShip ship = new EnemyShip(sketch, shipImages);
+            EnemyShip ship = new EnemyShip(sketch, shipImages, spriteCache);
             ship.isSplitChild = true; // Prevent splitting
             ship.canSplit = false;
             
             // Use the same ship image for all ships in formation
             if (formationShipImage != null) {
-                ship.img = formationShipImage;
-                ship.scaledImg = formationShipImage.copy();
-                ship.scaledImg.resize(ship.radius * 2, ship.radius * 2);
+                ship.setImage(formationShipImage);
             }
             
             // Reduce bomb drop rate by 20% (increase interval by 25%)
@@ -124,8 +134,8 @@ public class EnemyFormation {
                 
             case 3: // Circle
                 float angle = index * PApplet.TWO_PI / total;
-                offset.x = PApplet.cos(angle) * spacing;
-                offset.y = PApplet.sin(angle) * spacing;
+                offset.x = FastMath.cos(angle) * spacing;
+                offset.y = FastMath.sin(angle) * spacing;
                 break;
         }
         
@@ -139,8 +149,8 @@ public class EnemyFormation {
         
         // Galaxian-style diving attacks (Phase 3)
         if (useGalaxianPattern) {
-            // Randomly select ships to dive
-            if (attackTimer >= attackInterval && divingShipIndices.size() < 2) {
+            // Randomly select ships to dive (formation may already be empty until it is culled)
+            if (attackTimer >= attackInterval && divingShipIndices.size() < 2 && !ships.isEmpty()) {
                 int shipIndex = (int) sketch.random(ships.size());
                 if (!divingShipIndices.contains(shipIndex)) {
                     divingShipIndices.add(shipIndex);
@@ -173,7 +183,7 @@ public class EnemyFormation {
             if (distance > 5) {
                 direction.normalize();
                 direction.mult(150); // Attack speed
-                velocity.lerp(direction, 0.05f);
+                velocity.lerp(direction, 1 - (float) Math.pow(1 - 0.05f, deltaTime * 60)); // 5% per 60fps-frame
                 // Ensure formation continues moving downward (never upward)
                 if (velocity.y < 30) {
                     velocity.y = 30; // Minimum downward speed
@@ -185,7 +195,7 @@ public class EnemyFormation {
             }
         } else {
             // Normal movement with slight direction changes
-            if (sketch.random(1) < 0.02f) {
+            if (sketch.random(1) < 0.02f * deltaTime * 60) { // 2% per 60fps-frame
                 velocity.x += sketch.random(-20, 20);
                 velocity.x = PApplet.constrain(velocity.x, -80, 80);
             }
@@ -222,14 +232,14 @@ public class EnemyFormation {
                 PVector offset = getFormationOffset(i, ships.size());
                 
                 // Add individual wobble (increased amplitude for more visible movement)
-                float wobbleOffset = PApplet.sin(wobblePhase + i * 0.8f) * 12;
+                float wobbleOffset = FastMath.sin(wobblePhase + i * 0.8f) * 12;
                 offset.x += wobbleOffset;
-                offset.y += PApplet.cos(wobblePhase * 0.7f + i * 0.5f) * 8;
+                offset.y += FastMath.cos(wobblePhase * 0.7f + i * 0.5f) * 8;
                 
                 PVector targetShipPos = PVector.add(centerPos, offset);
                 
                 // Smoothly move ship to target position
-                ship.pos.lerp(targetShipPos, 0.1f);
+                ship.pos.lerp(targetShipPos, 1 - (float) Math.pow(1 - 0.1f, deltaTime * 60)); // 10% per 60fps-frame
             }
             
             // Update ship's internal state
@@ -299,8 +309,8 @@ public class EnemyFormation {
             float baseSpeed = 84 + progress * 42; // Base speed (was 200+100, then 120+60, now 84+42)
             float speed = baseSpeed * speedMultiplier; // Apply random multiplier (0.5-0.7)
             float radAngle = PApplet.radians(angle);
-            ship.pos.x += PApplet.cos(radAngle) * speed * deltaTime;
-            ship.pos.y += PApplet.sin(radAngle) * speed * deltaTime;
+            ship.pos.x += FastMath.cos(radAngle) * speed * deltaTime;
+            ship.pos.y += FastMath.sin(radAngle) * speed * deltaTime;
             
         } else {
             // Return to formation or exit screen
@@ -319,8 +329,8 @@ public class EnemyFormation {
                 float baseSpeed = 105; // Base return speed (was 250, then 150, now 105)
                 float speed = baseSpeed * speedMultiplier; // Apply random multiplier (0.5-0.7)
                 float radAngle = PApplet.radians(angle);
-                ship.pos.x += PApplet.cos(radAngle) * speed * deltaTime;
-                ship.pos.y += PApplet.sin(radAngle) * speed * deltaTime;
+                ship.pos.x += FastMath.cos(radAngle) * speed * deltaTime;
+                ship.pos.y += FastMath.sin(radAngle) * speed * deltaTime;
                 
             } else {
                 // Remove from diving list and return to formation
@@ -11,15 +11,27 @@ import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
 import processing.core.PVector;
+import game.utils.Collidable;
+import game.utils.FastMath;
+import game.utils.FastRandom;
+import game.systems.SpriteBatch;
+import game.systems.SpriteCache;
 import java.util.ArrayList;
 
-public class EnemyShip {
+public class EnemyShip implements Collidable {
+    public static final int MIN_RADIUS = 17;
+    public static final int MAX_RADIUS = 28;
+    public static final int MIN_SPLIT_RADIUS = 20; // Nur große Schiffe können sich teilen
+    public static final float SPLIT_SCALE = 0.7f; // Radius der geteilten Schiffe relativ zum Original
+
     private PApplet sketch;
+    private final SpriteCache spriteCache; // Shared scaled images, null: every ship scales its own
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public PVector speed;
     public int radius; // Variiert zwischen 12 und 20 (Player-Größe)
     public PImage img;
-    public PImage scaledImg;
+    private PImage scaledImg; // img at the ship's size for display(PGraphics), made on first use
     public float wobble = 0;
     public float tilt = 0; // Leichte Neigung basierend auf Bewegungsrichtung
     public int movementPattern; // 0-6: verschiedene Bewegungsmuster
@@ -45,20 +57,47 @@ public class EnemyShip {
     public int maxHealth; // Maximale Gesundheit
 
     public EnemyShip(PApplet sketch, ArrayList<PImage> shipImages) {
+        this(sketch, shipImages, null);
+    }
+
+    public EnemyShip(PApplet sketch, ArrayList<PImage> shipImages, SpriteCache spriteCache) {
         this.sketch = sketch;
+        this.spriteCache = spriteCache;
         this.pos = new PVector();
         this.speed = new PVector();
         // Zufällige Größe: 84% bis 140% der Player-Größe (60-100% * 1.4)
-        radius = (int) sketch.random(17, 29); // 17-28 (Player hat 20)
+        radius = (int) sketch.random(MIN_RADIUS, MAX_RADIUS + 1); // 17-28 (Player hat 20)
         if (shipImages != null && !shipImages.isEmpty()) {
-            img = shipImages.get((int) sketch.random(shipImages.size()));
-            // Skaliere das Bild basierend auf Radius
-            scaledImg = img.copy();
-            scaledImg.resize(radius * 2, radius * 2);
+            setImage(shipImages.get((int) sketch.random(shipImages.size())));
         }
         reset();
     }
 
+    /**
+     * Use img for this ship. Set the radius first.
+     */
+    public void setImage(PImage img) {
+        this.img = img;
+        scaledImg = null;
+    }
+
+    /**
+     * img scaled to the radius. Only display(PGraphics, FastRandom) needs it: the sprite batch
+     * scales img in the quad, so the game itself never resizes ship images.
+     */
+    private PImage getScaledImage() {
+        if (scaledImg == null) {
+            if (spriteCache != null) {
+                scaledImg = spriteCache.get(img, radius * 2, radius * 2);
+            } else {
+                // Skaliere das Bild basierend auf Radius
+                scaledImg = img.copy();
+                scaledImg.resize(radius * 2, radius * 2);
+            }
+        }
+        return scaledImg;
+    }
+
     public void reset() {
         // Spawn well outside the screen (at least 100 pixels above)
         pos.set(sketch.random(radius, sketch.width - radius), -100 - radius);
@@ -70,7 +109,7 @@ public class EnemyShip {
         nextBombTime = (sketch.millis() / 1000.0f) + bombInterval;
         
         // 30% Chance dass Schiff sich teilen kann (nur wenn groß genug und nicht bereits geteilt)
-        if (!isSplitChild && radius >= 20) {
+        if (!isSplitChild && radius >= MIN_SPLIT_RADIUS) {
             canSplit = sketch.random(1) < 0.3f;
             if (canSplit) {
                 splitTime = (sketch.millis() / 1000.0f) + sketch.random(2, 5); // Split nach 2-5 Sekunden
@@ -108,6 +147,7 @@ public class EnemyShip {
             thrusterColor = sketch.color(150, 255, 100); // Grün
         }
         thrusterFlicker = sketch.random(PApplet.TWO_PI);
+        prevPos.set(pos);
     }
     
     public boolean needsWarpInEffect() {
@@ -157,12 +197,12 @@ public class EnemyShip {
         
         switch (movementPattern) {
             case 0: // Gerade Bewegung mit leichtem Drift
-                pos.x += sketch.sin(wobble) * 20 * delta_time;
-                tilt = sketch.sin(wobble) * 3;
+                pos.x += FastMath.sin(wobble) * 20 * delta_time;
+                tilt = FastMath.sin(wobble) * 3;
                 break;
                 
             case 1: // Sinuswellen-Bewegung (smooth)
-                float sineMove = sketch.sin(wobble) * 50 * delta_time;
+                float sineMove = FastMath.sin(wobble) * 50 * delta_time;
                 pos.x += sineMove;
                 tilt = sineMove * 2;
                 break;
@@ -179,9 +219,9 @@ public class EnemyShip {
                 
             case 3: // Kreisförmige Bewegung (Spirale)
                 float circleRadius = 30;
-                pos.x += sketch.cos(patternTimer * 2) * circleRadius * delta_time;
-                pos.y += sketch.sin(patternTimer * 2) * circleRadius * delta_time * 0.5f; // Langsamer vertikal
-                tilt = sketch.cos(patternTimer * 2) * 8;
+                pos.x += FastMath.cos(patternTimer * 2) * circleRadius * delta_time;
+                pos.y += FastMath.sin(patternTimer * 2) * circleRadius * delta_time * 0.5f; // Langsamer vertikal
+                tilt = FastMath.cos(patternTimer * 2) * 8;
                 break;
                 
             case 4: // Aggressive Ausweichbewegung (zum Spieler hin/weg)
@@ -199,7 +239,7 @@ public class EnemyShip {
                 break;
                 
             case 5: // Wellenförmig mit Geschwindigkeitsänderung
-                float wave = sketch.sin(wobble * 1.5f);
+                float wave = FastMath.sin(wobble * 1.5f);
                 pos.x += wave * 60 * delta_time;
                 speed.y = 80 + wave * 30; // Geschwindigkeit variiert
                 tilt = wave * 5;
@@ -208,12 +248,12 @@ public class EnemyShip {
             case 6: // Ruckartige "Dash" Bewegung
                 if ((int)(patternTimer * 2) % 3 == 0) {
                     // Schneller Dash
-                    pos.x += sketch.sin(patternTimer * 10) * 100 * delta_time;
-                    tilt = sketch.sin(patternTimer * 10) * 10;
+                    pos.x += FastMath.sin(patternTimer * 10) * 100 * delta_time;
+                    tilt = FastMath.sin(patternTimer * 10) * 10;
                 } else {
                     // Langsame Drift
-                    pos.x += sketch.sin(wobble) * 15 * delta_time;
-                    tilt = sketch.sin(wobble) * 2;
+                    pos.x += FastMath.sin(wobble) * 15 * delta_time;
+                    tilt = FastMath.sin(wobble) * 2;
                 }
                 break;
                 
@@ -243,7 +283,7 @@ public class EnemyShip {
         }
         
         // Tilt smoothing
-        tilt *= 0.95f;
+        tilt *= (float) Math.pow(0.95f, delta_time * 60);
     }
     
     public boolean shouldDropBomb() {
@@ -309,20 +349,86 @@ public class EnemyShip {
         return radius * 3.0f;
     }
 
+    @Override
+    public PVector getPosition() {
+        return pos;
+    }
+
+    @Override
+    public float getRadius() {
+        return radius;
+    }
+
     public boolean isOffScreen() {
         return pos.y > sketch.height + radius || pos.x < -radius || pos.x > sketch.width + radius;
     }
 
-    public void display(PGraphics pg) {
+    /**
+     * @param random Drawing-only stream for the thruster particles (GameWorld.renderRandom)
+     */
+    public void display(PGraphics pg, FastRandom random) {
         pg.pushMatrix();
         pg.translate(pos.x, pos.y);
         // Leichte Neigung basierend auf Bewegungsrichtung
         pg.rotate(sketch.radians(tilt));
-        
+        drawEffects(pg, random);
+
+        if (img != null) {
+            pg.image(getScaledImage(), 0, 0);
+        } else {
+            drawFallbackShip(pg);
+        }
+
+        pg.popMatrix();
+    }
+
+    /**
+     * Whether displayEffects() draws anything this frame
+     */
+    public boolean hasVisibleEffects() {
+        return (hasGlow && shieldActive) || hasThrusters || img == null;
+    }
+
+    /**
+     * Shield and thrusters only, drawn directly; the ship sprite itself goes
+     * through the SpriteBatch (see display(SpriteBatch))
+     * @param random Drawing-only stream for the thruster particles (GameWorld.renderRandom)
+     */
+    public void displayEffects(PGraphics pg, FastRandom random) {
+        pg.pushMatrix();
+        pg.translate(pos.x, pos.y);
+        pg.rotate(PApplet.radians(tilt));
+        drawEffects(pg, random);
+        if (img == null) {
+            drawFallbackShip(pg);
+        }
+        pg.popMatrix();
+    }
+
+    public void display(SpriteBatch batch) {
+        if (img != null) {
+            batch.draw(img, pos.x, pos.y, radius * 2, radius * 2, PApplet.radians(tilt), 255);
+        }
+    }
+
+    private void drawFallbackShip(PGraphics pg) {
+        // Fallback: Zeichne ein einfaches Schiff
+        pg.pushStyle();
+        pg.fill(200, 50, 50);
+        pg.noStroke();
+        pg.triangle(-radius, radius, 0, -radius, radius, radius);
+        pg.popStyle();
+    }
+
+    /**
+     * Shield and thrusters in ship coordinates. The thrusters draw from random, never from
+     * the simulation's generators, so drawing does not change what a replay sees.
+     */
+    private void drawEffects(PGraphics pg, FastRandom random) {
         // Schutzschild-Effekt (nur vordere Hälfte, nur für 2/3 der Schiffe)
         // Schaltet sich zeitbasiert ein/aus (3 Sek an, 2 Sek aus)
         if (hasGlow && shieldActive) {
-            float glowIntensity = 0.5f + sketch.sin(glowPulse) * 0.4f; // 0.1 - 0.9
+            float glowIntensity = 0.5f + FastMath.sin(glowPulse) * 0.4f; // 0.1 - 0.9
             float shieldSize = radius * 3.0f; // Größer
             float shieldAlpha = 120 + glowIntensity * 100; // 120-220 (viel heller)
             
@@ -355,8 +461,8 @@ public class EnemyShip {
         // Zeichne Thruster als Partikel-System (hinter dem Schiff)
         if (hasThrusters) {
             // Unregelmäßiges Flackern
-            float flicker1 = sketch.sin(thrusterFlicker);
-            float flicker2 = sketch.sin(thrusterFlicker * 1.7f);
+            float flicker1 = FastMath.sin(thrusterFlicker);
+            float flicker2 = FastMath.sin(thrusterFlicker * 1.7f);
             float flickerIntensity = 0.5f + (flicker1 * 0.3f + flicker2 * 0.2f);
             
             pg.pushStyle();
@@ -372,24 +478,24 @@ public class EnemyShip {
                 float thrusterX = thruster == 0 ? leftX : rightX;
                 
                 // 5-8 Partikel pro Thruster
-                int particleCount = (int) sketch.random(5, 9);
+                int particleCount = (int) random.random(5, 9);
                 for (int i = 0; i < particleCount; i++) {
                     // Zufällige Position entlang der Thruster-Flamme
-                    float offsetX = sketch.random(-radius * 0.15f, radius * 0.15f);
-                    float offsetY = sketch.random(-radius * 0.6f, 0); // Nach oben (Flamme entgegen Flugrichtung)
+                    float offsetX = random.random(-radius * 0.15f, radius * 0.15f);
+                    float offsetY = random.random(-radius * 0.6f, 0); // Nach oben (Flamme entgegen Flugrichtung)
                     
                     // Größe variiert - größer am Anfang (baseY), kleiner am Ende (weiter oben)
                     float sizeMultiplier = 1.0f + (offsetY / (radius * 0.6f)) * 0.7f; // offsetY ist negativ, also invertiert
-                    float particleSize = sketch.random(3, 8) * sizeMultiplier * flickerIntensity;
+                    float particleSize = random.random(3, 8) * sizeMultiplier * flickerIntensity;
                     
                     // Alpha variiert - heller am Anfang, dunkler am Ende
                     float alphaMultiplier = 1.0f + (offsetY / (radius * 0.6f)) * 0.5f; // offsetY ist negativ, also invertiert
-                    float particleAlpha = (150 + sketch.random(100)) * alphaMultiplier * flickerIntensity;
+                    float particleAlpha = (150 + random.random(100)) * alphaMultiplier * flickerIntensity;
                     
                     // Farbe mit leichter Variation
-                    int r = (int) sketch.constrain(sketch.red(thrusterColor) + sketch.random(-30, 30), 0, 255);
-                    int g = (int) sketch.constrain(sketch.green(thrusterColor) + sketch.random(-30, 30), 0, 255);
-                    int b = (int) sketch.constrain(sketch.blue(thrusterColor) + sketch.random(-30, 30), 0, 255);
+                    int r = (int) sketch.constrain(sketch.red(thrusterColor) + random.random(-30, 30), 0, 255);
+                    int g = (int) sketch.constrain(sketch.green(thrusterColor) + random.random(-30, 30), 0, 255);
+                    int b = (int) sketch.constrain(sketch.blue(thrusterColor) + random.random(-30, 30), 0, 255);
                     
                     pg.fill(r, g, b, particleAlpha);
                     pg.ellipse(thrusterX + offsetX, baseY + offsetY, particleSize, particleSize);
@@ -403,18 +509,5 @@ public class EnemyShip {
             
             pg.popStyle();
         }
-        
-        if (scaledImg != null) {
-            pg.image(scaledImg, 0, 0);
-        } else {
-            // Fallback: Zeichne ein einfaches Schiff
-            pg.pushStyle();
-            pg.fill(200, 50, 50);
-            pg.noStroke();
-            pg.triangle(-radius, radius, 0, -radius, radius, radius);
-            pg.popStyle();
-        }
-        
-        pg.popMatrix();
     }
 }
@@ -4,12 +4,15 @@ import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
 import processing.core.PVector;
+import game.utils.Collidable;
+import game.systems.SpriteBatch;
 import java.util.ArrayList;
 
 // Represents a meteor or asteroid object with position, speed, and rotation.
-public class Mob {
+public class Mob implements Collidable {
     private PApplet sketch;
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public PVector speed;
     public float rotation = 0;
     public float rotationSpeed;
@@ -44,6 +47,7 @@ public class Mob {
 
             rotationSpeed = direction * baseSpeed / Math.max(sizeMultiplier, 0.5f);
         }
+        prevPos.set(pos);
     }
 
     public void update(float delta_time) {
@@ -112,6 +116,16 @@ public class Mob {
         return sketch.random(1.5f, 3) * sizeMultiplier;
     }
 
+    @Override
+    public PVector getPosition() {
+        return pos;
+    }
+
+    @Override
+    public float getRadius() {
+        return radius;
+    }
+
     public boolean isOffScreen() {
         return pos.y > sketch.height + radius || pos.x < -radius || pos.x > sketch.width + radius;
     }
@@ -123,4 +137,8 @@ public class Mob {
         pg.image(img, 0, 0);
         pg.popMatrix();
     }
+
+    public void display(SpriteBatch batch) {
+        batch.draw(img, pos.x, pos.y, img.width, img.height, rotation, 255);
+    }
 }
@@ -4,11 +4,14 @@ import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
 import processing.core.PVector;
+import game.utils.FastRandom;
 
 // Represents the player’s spaceship, including movement, shooting, shield, and lives.
 public class Player {
+
     private PApplet sketch;
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public float speed = 300; // Pixels per second
     public int radius = 20;   // Collision radius
     public int shield = 100;  // 0-100, regenerates on powerup
@@ -26,6 +29,7 @@ public class Player {
     public Player(PApplet sketch) {
         this.sketch = sketch;
         this.pos = new PVector(sketch.width / 2.0f, sketch.height - 60);
+        prevPos.set(pos);
     }
 
     public void update(float delta_time, boolean leftPressed, boolean rightPressed, 
@@ -83,7 +87,10 @@ public class Player {
         return shield <= 0; // Schiff ist zerstört wenn Shield auf 0
     }
 
-    public void display(PGraphics pg, PImage playerImg, boolean leftPressed, boolean rightPressed) {
+    /**
+     * @param random Drawing-only stream for the thruster flicker (GameWorld.renderRandom)
+     */
+    public void display(PGraphics pg, PImage playerImg, boolean leftPressed, boolean rightPressed, FastRandom random) {
         pg.pushStyle();
 
         // Draw main thruster FIRST (so it appears behind the ship)
@@ -92,7 +99,7 @@ public class Player {
 
             // Flickering thruster effect - BIGGER & IRREGULAR
             float baseFlicker = sketch.sin(thrusterFlicker) * 12;
-            float irregularFlicker = sketch.random(-5, 5); // Additional random flicker
+            float irregularFlicker = random.random(-5, 5); // Additional random flicker
             float thrusterLength = (45 + baseFlicker + irregularFlicker) * thrusterIntensity;
             float startY = pos.y + 20; // Start at bottom of ship
 
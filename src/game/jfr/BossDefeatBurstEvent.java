@@ -0,0 +1,31 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The boss explosion, from the boss's death until its last wave was spawned
+ * (the waves are spread over several frames)
+ */
+@Name("game.BossDefeatBurst")
+@Label("Boss Defeat Burst")
+@Category({"Game", "Effects"})
+@Description("Particle waves of the boss explosion")
+@StackTrace(false)
+public class BossDefeatBurstEvent extends Event {
+    @Label("X")
+    public float x;
+
+    @Label("Y")
+    public float y;
+
+    @Label("Waves")
+    public int waves;
+
+    @Label("Particles Spawned")
+    public int particlesSpawned;
+}
@@ -0,0 +1,27 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One collision pass of a simulation tick: grid build, bullet sweep and player checks
+ */
+@Name("game.CollisionPass")
+@Label("Collision Pass")
+@Category({"Game", "Simulation"})
+@Description("Collision detection of one simulation tick")
+@StackTrace(false)
+public class CollisionPassEvent extends Event {
+    @Label("Grid Entries")
+    public int entries;
+
+    @Label("Bullets")
+    public int bullets;
+
+    @Label("Bullet Hits")
+    public int bulletHits;
+}
@@ -0,0 +1,28 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creation of an enemy formation; the duration is the time spent building its ships
+ */
+@Name("game.FormationSpawn")
+@Label("Formation Spawn")
+@Category({"Game", "Spawns"})
+@Description("An enemy formation was created")
+@StackTrace(false)
+public class FormationSpawnEvent extends Event {
+    @Label("Ships")
+    public int ships;
+
+    @Label("Formation Type")
+    @Description("0 = V-shape, 1 = line, 2 = diamond, 3 = circle")
+    public int formationType;
+
+    @Label("Diving Attacks")
+    public boolean galaxian;
+}
@@ -0,0 +1,82 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One rendered frame: its phase times (from the FrameProfiler) and what was on screen.
+ * The event's own duration is the whole frame.
+ */
+@Name("game.Frame")
+@Label("Frame")
+@Category({"Game", "Frame"})
+@Description("A rendered frame with its phase durations and entity counts")
+@StackTrace(false)
+public class FrameEvent extends Event {
+    @Label("Ticks")
+    @Description("Simulation ticks run in this frame")
+    public int ticks;
+
+    @Label("Update")
+    @Timespan(Timespan.NANOSECONDS)
+    public long update;
+
+    @Label("Background Update")
+    @Timespan(Timespan.NANOSECONDS)
+    public long background;
+
+    @Label("Particle Update")
+    @Timespan(Timespan.NANOSECONDS)
+    public long particleUpdate;
+
+    @Label("Collisions")
+    @Timespan(Timespan.NANOSECONDS)
+    public long collisions;
+
+    @Label("Events")
+    @Description("Gameplay event consumers and deferred effects")
+    @Timespan(Timespan.NANOSECONDS)
+    public long events;
+
+    @Label("Sound")
+    @Timespan(Timespan.NANOSECONDS)
+    public long sound;
+
+    @Label("Render")
+    @Timespan(Timespan.NANOSECONDS)
+    public long render;
+
+    @Label("Game Layer")
+    @Timespan(Timespan.NANOSECONDS)
+    public long gameLayer;
+
+    @Label("HUD")
+    @Timespan(Timespan.NANOSECONDS)
+    public long hud;
+
+    @Label("Game State")
+    public String gameState;
+
+    @Label("Mobs")
+    public int mobs;
+
+    @Label("Enemy Ships")
+    public int enemyShips;
+
+    @Label("Formations")
+    public int formations;
+
+    @Label("Bullets")
+    public int bullets;
+
+    @Label("Bombs")
+    public int bombs;
+
+    @Label("Particles")
+    public int particles;
+}
@@ -0,0 +1,44 @@
+package game.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * The first use of an event class initializes JFR's event machinery, which takes a few
+ * hundred ms. preload() does that during loading, so the first frame does not stall.
+ *
+ * The events emitted every frame or tick are only created while a recording wants
+ * them (isFrameEnabled(), isCollisionPassEnabled()), so without JFR those paths
+ * allocate nothing.
+ */
+public final class JfrEvents {
+    private static final EventType FRAME = EventType.getEventType(FrameEvent.class);
+    private static final EventType COLLISION_PASS = EventType.getEventType(CollisionPassEvent.class);
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Load and initialize all game event classes. Safe to call from any thread.
+     */
+    public static void preload() {
+        new FrameEvent().isEnabled();
+        new BossDefeatBurstEvent().isEnabled();
+        new FormationSpawnEvent().isEnabled();
+        new PoolExhaustedEvent().isEnabled();
+        new CollisionPassEvent().isEnabled();
+    }
+
+    /**
+     * Whether a running recording has FrameEvent enabled
+     */
+    public static boolean isFrameEnabled() {
+        return FRAME.isEnabled();
+    }
+
+    /**
+     * Whether a running recording has CollisionPassEvent enabled
+     */
+    public static boolean isCollisionPassEnabled() {
+        return COLLISION_PASS.isEnabled();
+    }
+}
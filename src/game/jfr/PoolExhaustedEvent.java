@@ -0,0 +1,32 @@
+package game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A pool refused objects because it was full. Emitted at most once per pool and frame,
+ * with the number of refused requests since the last event.
+ */
+@Name("game.PoolExhausted")
+@Label("Pool Exhausted")
+@Category({"Game", "Memory"})
+@Description("A pool was full and refused objects")
+@StackTrace(false)
+public class PoolExhaustedEvent extends Event {
+    @Label("Pool")
+    public String pool;
+
+    @Label("Capacity")
+    public int capacity;
+
+    @Label("In Use")
+    public int inUse;
+
+    @Label("Refused")
+    @Description("Requests that got no object since the last event")
+    public long refused;
+}
@@ -0,0 +1,183 @@
+package game.management;
+
+import game.GameWorld;
+import game.entities.EnemyFormation;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * JMX view of a running GameWorld, for watching and tuning a live session from
+ * JConsole or VisualVM. The counters are sampled on the game thread once per frame
+ * (sample()), so the JMX threads never touch the world's lists; the tuning knobs
+ * write into world.tuning, which the world applies on its next tick.
+ */
+public class GameMonitor implements GameMonitorMBean {
+    public static final String OBJECT_NAME = "game:type=GameMonitor";
+    static final int FRAME_SAMPLES = 600; // 10 s at 60 fps
+
+    private final GameWorld world;
+    private final GameTuning tuning;
+    private ObjectName registeredName = null;
+
+    // Snapshot of the last sampled frame
+    private volatile String gameState = "";
+    private volatile int score;
+    private volatile int tickCount;
+    private volatile int mobs;
+    private volatile int enemyShips;
+    private volatile int formations;
+    private volatile int formationShips;
+    private volatile int bullets;
+    private volatile int bombs;
+    private volatile int powerups;
+    private volatile int explosions;
+    private volatile int particles;
+    private volatile int bulletPoolInUse;
+    private volatile int explosionPoolInUse;
+    private volatile long particlesRefused;
+    private volatile int deferredEffectJobs;
+
+    // Frame times in ns, ring buffer written by the game thread
+    private final long[] frameNanos = new long[FRAME_SAMPLES];
+    private volatile int frameCount = 0;
+
+    public GameMonitor(GameWorld world) {
+        this.world = world;
+        this.tuning = world.tuning;
+    }
+
+    /**
+     * Start the platform MBean server (a few hundred ms the first time), e.g. on a
+     * loader thread, so register() is quick. Safe to call from any thread.
+     */
+    public static void preload() {
+        ManagementFactory.getPlatformMBeanServer();
+    }
+
+    /**
+     * Register under OBJECT_NAME, replacing an earlier monitor
+     * @return false if JMX is not available
+     */
+    public boolean register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            registeredName = name;
+            return true;
+        } catch (Exception e) {
+            System.err.println("Could not register the JMX monitor: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public void unregister() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (Exception e) {
+            System.err.println("Could not unregister the JMX monitor: " + e.getMessage());
+        }
+        registeredName = null;
+    }
+
+    /**
+     * Take the snapshot of the world and record the frame time. Call on the game thread, once per frame.
+     * @param frameTimeNanos Time since the previous frame
+     */
+    public void sample(long frameTimeNanos) {
+        gameState = world.gameState.name();
+        score = world.score;
+        tickCount = world.tickCount;
+        mobs = world.mobs.size();
+        enemyShips = world.enemyShips.size();
+        formations = world.enemyFormations.size();
+        int ships = 0;
+        for (EnemyFormation formation : world.enemyFormations) {
+            ships += formation.ships.size();
+        }
+        formationShips = ships;
+        bullets = world.bullets.size();
+        bombs = world.bombs.size();
+        powerups = world.powerups.size();
+        explosions = world.explosions.size();
+        particles = world.particles.count();
+        bulletPoolInUse = world.getBulletPool().getInUseCount();
+        explosionPoolInUse = world.getExplosionPool().getInUseCount();
+        particlesRefused = world.particles.getRefusedCount();
+        deferredEffectJobs = world.deferredEffects.getQueueDepth();
+
+        frameNanos[frameCount % FRAME_SAMPLES] = frameTimeNanos;
+        frameCount++;
+    }
+
+    /**
+     * Frame time percentile over the recorded frames, in ms
+     */
+    double frameTimePercentile(double percentile) {
+        int n = Math.min(frameCount, FRAME_SAMPLES);
+        if (n == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(frameNanos, n);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * n) - 1;
+        return sorted[Math.max(0, Math.min(index, n - 1))] / 1e6;
+    }
+
+    @Override public String getGameState() { return gameState; }
+    @Override public int getScore() { return score; }
+    @Override public int getTickCount() { return tickCount; }
+
+    @Override public int getMobs() { return mobs; }
+    @Override public int getEnemyShips() { return enemyShips; }
+    @Override public int getFormations() { return formations; }
+    @Override public int getFormationShips() { return formationShips; }
+    @Override public int getBullets() { return bullets; }
+    @Override public int getBombs() { return bombs; }
+    @Override public int getPowerups() { return powerups; }
+    @Override public int getExplosions() { return explosions; }
+    @Override public int getParticles() { return particles; }
+
+    @Override public int getBulletPoolInUse() { return bulletPoolInUse; }
+    @Override public int getBulletPoolMax() { return world.getBulletPool().getMaxSize(); }
+    @Override public int getExplosionPoolInUse() { return explosionPoolInUse; }
+    @Override public int getExplosionPoolMax() { return world.getExplosionPool().getMaxSize(); }
+    @Override public int getParticleCapacity() { return world.particles.getCapacity(); }
+    @Override public long getParticlesRefused() { return particlesRefused; }
+    @Override public int getDeferredEffectJobs() { return deferredEffectJobs; }
+
+    @Override public double getFrameTimeP50() { return frameTimePercentile(50); }
+    @Override public double getFrameTimeP95() { return frameTimePercentile(95); }
+    @Override public double getFrameTimeP99() { return frameTimePercentile(99); }
+    @Override public double getFrameTimeMax() { return frameTimePercentile(100); }
+
+    @Override
+    public double getFramesPerSecond() {
+        double p50 = getFrameTimeP50();
+        return p50 > 0 ? 1000.0 / p50 : 0;
+    }
+
+    @Override public int getGridSize() { return tuning.getGridSize(); }
+    @Override public void setGridSize(int gridSize) { tuning.setGridSize(gridSize); }
+    @Override public int getParticleLimit() { return tuning.getParticleLimit(); }
+    @Override public void setParticleLimit(int particleLimit) { tuning.setParticleLimit(particleLimit); }
+    @Override public float getParticleDensity() { return tuning.getParticleDensity(); }
+    @Override public void setParticleDensity(float particleDensity) { tuning.setParticleDensity(particleDensity); }
+    @Override public float getPowerupDropChance() { return tuning.getPowerupDropChance(); }
+    @Override public void setPowerupDropChance(float chance) { tuning.setPowerupDropChance(chance); }
+    @Override public long getMobSpawnInterval() { return tuning.getMobSpawnInterval(); }
+    @Override public void setMobSpawnInterval(long interval) { tuning.setMobSpawnInterval(interval); }
+    @Override public long getEffectBudgetMicros() { return tuning.getEffectBudgetMicros(); }
+    @Override public void setEffectBudgetMicros(long budget) { tuning.setEffectBudgetMicros(budget); }
+    @Override public float getTickRate() { return tuning.getTickRate(); }
+    @Override public void setTickRate(float tickRate) { tuning.setTickRate(tickRate); }
+}
@@ -0,0 +1,55 @@
+package game.management;
+
+/**
+ * Management interface of the running game (JMX, object name game:type=GameMonitor).
+ * Counters are read-only; the tuning knobs take effect on the next tick.
+ */
+public interface GameMonitorMBean {
+    // Game state
+    String getGameState();
+    int getScore();
+    int getTickCount();
+
+    // Entities per type
+    int getMobs();
+    int getEnemyShips();
+    int getFormations();
+    int getFormationShips();
+    int getBullets();
+    int getBombs();
+    int getPowerups();
+    int getExplosions();
+    int getParticles();
+
+    // Pool usage
+    int getBulletPoolInUse();
+    int getBulletPoolMax();
+    int getExplosionPoolInUse();
+    int getExplosionPoolMax();
+    int getParticleCapacity();
+    long getParticlesRefused();
+    int getDeferredEffectJobs();
+
+    // Frame times over the last FRAME_SAMPLES frames, in ms
+    double getFrameTimeP50();
+    double getFrameTimeP95();
+    double getFrameTimeP99();
+    double getFrameTimeMax();
+    double getFramesPerSecond();
+
+    // Tuning knobs
+    int getGridSize();
+    void setGridSize(int gridSize);
+    int getParticleLimit();
+    void setParticleLimit(int particleLimit);
+    float getParticleDensity();
+    void setParticleDensity(float particleDensity);
+    float getPowerupDropChance();
+    void setPowerupDropChance(float powerupDropChance);
+    long getMobSpawnInterval();
+    void setMobSpawnInterval(long mobSpawnInterval);
+    long getEffectBudgetMicros();
+    void setEffectBudgetMicros(long effectBudgetMicros);
+    float getTickRate();
+    void setTickRate(float tickRate);
+}
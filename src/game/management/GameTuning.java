@@ -0,0 +1,113 @@
+package game.management;
+
+/**
+ * Tuning knobs that can be changed while the game runs, e.g. from JConsole through
+ * GameMonitor. Setters may be called from any thread; the world picks the values up
+ * at the start of its next tick (see GameWorld.applyTuning()), the tick rate is
+ * picked up by the host at the start of its next frame.
+ */
+public class GameTuning {
+    private volatile int gridSize;
+    private volatile int particleLimit;
+    private volatile float particleDensity = 1.0f;
+    private volatile float powerupDropChance;
+    private volatile long mobSpawnInterval;
+    private volatile long effectBudgetMicros;
+    private volatile float tickRate;
+
+    /**
+     * Collision grid cell size in pixels
+     */
+    public int getGridSize() { return gridSize; }
+
+    public void setGridSize(int gridSize) {
+        if (gridSize < 10) {
+            throw new IllegalArgumentException("Grid size must be at least 10 pixels");
+        }
+        this.gridSize = gridSize;
+    }
+
+    /**
+     * Maximum number of live particles, at most the particle store's capacity
+     */
+    public int getParticleLimit() { return particleLimit; }
+
+    public void setParticleLimit(int particleLimit) {
+        if (particleLimit < 0) {
+            throw new IllegalArgumentException("Particle limit must not be negative");
+        }
+        this.particleLimit = particleLimit;
+    }
+
+    /**
+     * Share of requested particles that are spawned, 0..1
+     */
+    public float getParticleDensity() { return particleDensity; }
+
+    public void setParticleDensity(float particleDensity) {
+        if (particleDensity < 0 || particleDensity > 1) {
+            throw new IllegalArgumentException("Particle density must be between 0 and 1");
+        }
+        this.particleDensity = particleDensity;
+    }
+
+    /**
+     * Chance that a destroyed mob drops a powerup (ships drop at twice the chance)
+     */
+    public float getPowerupDropChance() { return powerupDropChance; }
+
+    public void setPowerupDropChance(float powerupDropChance) {
+        if (powerupDropChance < 0 || powerupDropChance > 1) {
+            throw new IllegalArgumentException("Drop chance must be between 0 and 1");
+        }
+        this.powerupDropChance = powerupDropChance;
+    }
+
+    /**
+     * Minimum time between two enemy spawns in ms
+     */
+    public long getMobSpawnInterval() { return mobSpawnInterval; }
+
+    public void setMobSpawnInterval(long mobSpawnInterval) {
+        if (mobSpawnInterval < 0) {
+            throw new IllegalArgumentException("Spawn interval must not be negative");
+        }
+        this.mobSpawnInterval = mobSpawnInterval;
+    }
+
+    /**
+     * Time per frame for spawning queued effects in microseconds
+     */
+    public long getEffectBudgetMicros() { return effectBudgetMicros; }
+
+    public void setEffectBudgetMicros(long effectBudgetMicros) {
+        if (effectBudgetMicros < 0) {
+            throw new IllegalArgumentException("Effect budget must not be negative");
+        }
+        this.effectBudgetMicros = effectBudgetMicros;
+    }
+
+    /**
+     * Take over every knob of other except the tick rate (those that change the simulation)
+     */
+    public void setSimulationKnobs(GameTuning other) {
+        gridSize = other.gridSize;
+        particleLimit = other.particleLimit;
+        particleDensity = other.particleDensity;
+        powerupDropChance = other.powerupDropChance;
+        mobSpawnInterval = other.mobSpawnInterval;
+        effectBudgetMicros = other.effectBudgetMicros;
+    }
+
+    /**
+     * Simulation ticks per second (only the windowed game; the headless simulation keeps its rate)
+     */
+    public float getTickRate() { return tickRate; }
+
+    public void setTickRate(float tickRate) {
+        if (tickRate < 10 || tickRate > 1000) {
+            throw new IllegalArgumentException("Tick rate must be between 10 and 1000 Hz");
+        }
+        this.tickRate = tickRate;
+    }
+}
@@ -0,0 +1,167 @@
+package game.managers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads assets on worker threads while the animation thread keeps drawing.
+ * Tasks run on a small pool (e.g. PNG decoding) or on a single serial lane for
+ * loaders that must not run concurrently with each other (SoundFile keeps a static,
+ * unsynchronized sample cache). Both run in parallel to each other.
+ *
+ * Every task is either required - the game cannot start without it - or streamed,
+ * i.e. only needed later (boss art, music). Results are handed over as Futures and
+ * should be published into shared fields on the animation thread.
+ */
+public class AssetLoader {
+    // PApplet.loadImage() skips its save-completion check (a renderer call) on threads
+    // with this prefix - the same one Processing's own requestImage() workers use
+    private static final String THREAD_PREFIX = "requestImage-assets-";
+
+    private final ExecutorService pool;
+    private final ExecutorService serialLane;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    // Submitted from the animation thread only, completed on the workers
+    private int submitted = 0;
+    private int requiredSubmitted = 0;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger requiredCompleted = new AtomicInteger();
+
+    /**
+     * @param threads Worker threads for pool tasks (the serial lane has its own thread)
+     */
+    public AssetLoader(int threads) {
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, THREAD_PREFIX + threadCount.incrementAndGet());
+            t.setDaemon(true); // Never keep the JVM alive for a half-loaded asset
+            return t;
+        };
+        pool = Executors.newFixedThreadPool(Math.max(1, threads), factory);
+        serialLane = Executors.newSingleThreadExecutor(factory);
+    }
+
+    /**
+     * Pool size for this machine: leave one core to the animation thread
+     */
+    public static int defaultThreads() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Load on the pool, in parallel to other pool tasks
+     * @param required true if the game cannot start before this task is done
+     */
+    public <T> Future<T> submit(Callable<T> task, boolean required) {
+        return pool.submit(track(task, required));
+    }
+
+    /**
+     * Load on the serial lane, one task after the other in submission order
+     * @param required true if the game cannot start before this task is done
+     */
+    public <T> Future<T> submitSerial(Callable<T> task, boolean required) {
+        return serialLane.submit(track(task, required));
+    }
+
+    private <T> Callable<T> track(Callable<T> task, boolean required) {
+        submitted++;
+        if (required) {
+            requiredSubmitted++;
+        }
+        return () -> {
+            try {
+                return task.call();
+            } finally {
+                completed.incrementAndGet();
+                if (required) {
+                    requiredCompleted.incrementAndGet();
+                }
+            }
+        };
+    }
+
+    /**
+     * True once every required task has finished (successfully or not)
+     */
+    public boolean isRequiredReady() {
+        return requiredCompleted.get() >= requiredSubmitted;
+    }
+
+    public boolean isDone() {
+        return completed.get() >= submitted;
+    }
+
+    /**
+     * Share of finished tasks, 0..1
+     */
+    public float getProgress() {
+        return submitted == 0 ? 1.0f : (float) completed.get() / submitted;
+    }
+
+    /**
+     * Share of finished required tasks, 0..1 - the game starts at 1
+     */
+    public float getRequiredProgress() {
+        return requiredSubmitted == 0 ? 1.0f : (float) requiredCompleted.get() / requiredSubmitted;
+    }
+
+    public int getSubmitted() { return submitted; }
+    public int getCompleted() { return completed.get(); }
+
+    /**
+     * Stop accepting tasks and block until every submitted one has finished
+     */
+    public void finish() {
+        shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            serialLane.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop the worker threads once the queued tasks are done
+     */
+    public void shutdown() {
+        pool.shutdown();
+        serialLane.shutdown();
+    }
+
+    /**
+     * Result of a finished task, or null if it failed
+     */
+    public static <T> T getNow(Future<T> future) {
+        try {
+            return future.get(0, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            System.err.println("Asset loading failed: " + e.getCause());
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Result of a task, waiting for it if it is still running; null if it failed
+     */
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("Asset loading failed: " + e.getCause());
+            return null;
+        }
+    }
+}
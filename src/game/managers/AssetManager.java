@@ -3,8 +3,14 @@ package game.managers;
 import processing.core.PApplet;
 import processing.core.PImage;
 import processing.sound.SoundFile;
+
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 public class AssetManager {
     private final PApplet sketch;
@@ -12,6 +18,41 @@ public class AssetManager {
     private final HashMap<String, SoundFile> sounds = new HashMap<>();
     private final HashMap<String, ArrayList<PImage>> animations = new HashMap<>();
 
+    // Game assets - shared by the renderer (Sketch) and the simulation (GameWorld)
+    public PImage backgroundImg;
+    public PImage playerImg;
+    public PImage playerMiniImg;
+    public PImage bulletImg;
+    public ArrayList<PImage> meteorImgs = new ArrayList<>();
+    public ArrayList<PImage> enemyShipImgs = new ArrayList<>();
+    public PImage bossImg;
+    public HashMap<String, ArrayList<PImage>> explosionAnims = new HashMap<>();
+    public HashMap<String, PImage> powerupImgs = new HashMap<>();
+
+    // Pending loads from submitGameAssets(), published into the fields above on the animation thread
+    private Future<PImage> backgroundLoad;
+    private Future<PImage[]> playerLoad; // Player and mini player image
+    private final ArrayList<Future<PImage>> meteorLoads = new ArrayList<>();
+    private final ArrayList<Future<PImage[]>> explosionLoads = new ArrayList<>(); // Large and small frame
+    private final ArrayList<Future<PImage>> sonicLoads = new ArrayList<>();
+    private final ArrayList<Future<PImage>> shipEffectLoads = new ArrayList<>();
+    private Future<PImage> bulletLoad;
+    private final ArrayList<Future<PImage>> shipLoads = new ArrayList<>();
+    private Future<PImage> shieldLoad;
+    private Future<PImage> gunLoad;
+    private Future<PImage> bossLoad;
+    private boolean requiredPublished = false;
+
+    // Baked asset pack (see AssetPack, AssetBaker)
+    public static final String PACK_FILE = "resources/assets.pack";
+    // Directories whose files the pack is baked from; a change in any of them makes the pack stale
+    static final String[] PACK_SOURCE_DIRS = {"resources/img", "resources/Effects", "resources/Ships",
+            "resources/Ships2", "resources/boss"};
+    // Increase when the resizing/filtering below changes, so old packs are not used anymore
+    static final int BAKE_VERSION = 1;
+    private AssetPack pack;
+    private boolean usePack = true;
+
     public AssetManager(PApplet sketch) {
         this.sketch = sketch;
     }
@@ -71,4 +112,302 @@ public class AssetManager {
         // }
         // animations.put("explosion", explosionFrames);
     }
+
+    // Robust image loader: returns placeholder if missing
+    public PImage safeLoadImage(String path, int w, int h, int col) {
+        PImage img = sketch.loadImage(path);
+        if (img == null) {
+            img = createPlaceholderImage(w, h, col);
+        }
+        return img;
+    }
+
+    /**
+     * Loads all game assets and waits for them; the images are decoded in parallel.
+     * Used where nothing has to be drawn meanwhile (headless runs, benchmarks).
+     */
+    public void loadGameAssets() {
+        AssetLoader loader = new AssetLoader(AssetLoader.defaultThreads());
+        submitGameAssets(loader);
+        loader.finish();
+        publishRequired();
+        publishStreamed();
+    }
+
+    /**
+     * Queue all game images on the loader. Everything Phase 1 needs is required;
+     * the boss image is streamed and only needed for the boss fight.
+     * Images are copied out of the baked asset pack if it is current (see AssetBaker),
+     * otherwise decoded from the PNGs.
+     * Placeholder colors are computed here, since color() is not thread-safe.
+     * Call publishRequired() once loader.isRequiredReady().
+     */
+    public void submitGameAssets(AssetLoader loader) {
+        pack = usePack ? AssetPack.open(new File(sketch.sketchPath(PACK_FILE)), sourceFingerprint()) : null;
+
+        int black = sketch.color(0);
+        int orange = sketch.color(255, 165, 0);
+        int brown = sketch.color(139, 69, 19);
+        int fire = sketch.color(255, 140, 0);
+        int cyan = sketch.color(100, 200, 255);
+        int red = sketch.color(255, 0, 0);
+        int shipRed = sketch.color(200, 50, 50);
+        int gold = sketch.color(255, 255, 0);
+        int bgWidth = sketch.width;
+        int bgHeight = sketch.height;
+
+        // Load background image
+        backgroundLoad = load(loader, "background", () -> {
+            PImage img = safeLoadImage("resources/img/starfield.png", bgWidth, bgHeight, black);
+            img.filter(PApplet.BLUR, 0); // Pre-optimize images for P2D
+            return img;
+        }, true);
+
+        // Load player image and create the mini player image
+        playerLoad = loadPair(loader, "player", "player-mini", () -> {
+            PImage img = loadFiltered("resources/img/playerShip1_orange.png", 50, 30, orange);
+            PImage mini = img.copy();
+            mini.resize(25, 19);
+            mini.filter(PApplet.BLUR, 0);
+            return new PImage[]{img, mini};
+        }, true);
+
+        // Load meteor images
+        String[] meteorFiles = {"meteorBrown_big1.png", "meteorBrown_med1.png",
+                "meteorBrown_med3.png", "meteorBrown_small1.png",
+                "meteorBrown_small2.png", "meteorBrown_tiny1.png"};
+        for (String file : meteorFiles) {
+            meteorLoads.add(load(loader, "meteor/" + meteorLoads.size(),
+                    () -> loadFiltered("resources/img/" + file, 20, 20, brown), true));
+        }
+
+        // Load explosion animations: large and small frames from the same image
+        for (int i = 0; i < 9; i++) {
+            String filename = String.format("regularExplosion%02d.png", i);
+            explosionLoads.add(loadPair(loader, "explosion/lg/" + i, "explosion/sm/" + i, () -> {
+                PImage img = safeLoadImage("resources/img/" + filename, 75, 75, fire);
+                PImage largeImg = img.copy();
+                largeImg.resize(75, 75);
+                largeImg.filter(PApplet.BLUR, 0);
+
+                PImage smallImg = img.copy();
+                smallImg.resize(40, 40);
+                smallImg.filter(PApplet.BLUR, 0);
+                return new PImage[]{largeImg, smallImg};
+            }, true));
+
+            String sonicFile = String.format("sonicExplosion%02d.png", i);
+            sonicLoads.add(load(loader, "explosion/player/" + i, () -> {
+                PImage img = sketch.loadImage("resources/img/" + sonicFile);
+                if (img != null) {
+                    img.resize(100, 100);
+                    img.filter(PApplet.BLUR, 0);
+                }
+                return img; // null: the large explosion frame is used instead
+            }, true));
+        }
+
+        // Load space effects for ship explosions
+        for (int i = 1; i <= 18; i++) {
+            String filename = String.format("resources/Effects/spaceEffects_%03d.png", i);
+            shipEffectLoads.add(load(loader, "explosion/ship/" + (i - 1), () -> {
+                PImage effectImg = safeLoadImage(filename, 60, 60, cyan);
+                effectImg.resize(60, 60);
+                effectImg.filter(PApplet.BLUR, 0);
+                return effectImg;
+            }, true));
+        }
+
+        // Load bullet image
+        bulletLoad = load(loader, "bullet", () -> loadFiltered("resources/img/laserRed16.png", 10, 20, red), true);
+
+        // Load enemy ship images from Ships directory
+        for (int i = 1; i <= 9; i++) {
+            String filename = String.format("resources/Ships/spaceShips_%03d.png", i);
+            shipLoads.add(load(loader, "ship/" + shipLoads.size(), () -> loadFiltered(filename, 50, 50, shipRed), true));
+        }
+
+        // Load additional enemy ship images from Ships2 directory
+        String[] ships2Files = {"Raumschiff1.png", "Raumschiff2.png", "Raumschiff3.png",
+                "Raumschiff4.png", "Raumschiff5.png", "Raumschiff6.png",
+                "enemy00.png", "enemy03.png", "enemy04.png"};
+        for (String file : ships2Files) {
+            String filename = "resources/Ships2/" + file;
+            shipLoads.add(load(loader, "ship/" + shipLoads.size(), () -> loadFiltered(filename, 50, 50, shipRed), true));
+        }
+
+        // Load powerup images
+        shieldLoad = load(loader, "powerup/shield", () -> loadFiltered("resources/img/shield_gold.png", 30, 30, gold), true);
+        gunLoad = load(loader, "powerup/gun", () -> loadFiltered("resources/img/bolt_gold.png", 30, 30, gold), true);
+
+        // Load boss image - not needed before Phase 4, streams in behind
+        bossLoad = load(loader, "boss", () -> loadFiltered("resources/boss/boss-ship.png", 150, 150, red), false);
+    }
+
+    /**
+     * Queue one image: from the pack if it has it, else decoded
+     */
+    private Future<PImage> load(AssetLoader loader, String name, Callable<PImage> decode, boolean required) {
+        AssetPack current = pack;
+        if (current != null && current.contains(name)) {
+            return loader.submit(() -> current.getImage(sketch, name), required);
+        }
+        return loader.submit(decode, required);
+    }
+
+    /**
+     * Queue two images that are decoded together (e.g. two sizes of the same frame)
+     */
+    private Future<PImage[]> loadPair(AssetLoader loader, String name, String name2, Callable<PImage[]> decode,
+                                      boolean required) {
+        AssetPack current = pack;
+        if (current != null && current.contains(name) && current.contains(name2)) {
+            return loader.submit(() -> new PImage[]{current.getImage(sketch, name), current.getImage(sketch, name2)}, required);
+        }
+        return loader.submit(decode, required);
+    }
+
+    /**
+     * Fingerprint of the source images a current asset pack must have been baked from.
+     * The background is scaled to the screen, so the screen size is part of it.
+     */
+    public long sourceFingerprint() {
+        File[] dirs = new File[PACK_SOURCE_DIRS.length];
+        for (int i = 0; i < dirs.length; i++) {
+            dirs[i] = new File(sketch.sketchPath(PACK_SOURCE_DIRS[i]));
+        }
+        return AssetPack.fingerprint(BAKE_VERSION + ":" + sketch.width + "x" + sketch.height, dirs);
+    }
+
+    /**
+     * All loaded images under the names used in the asset pack (see AssetBaker).
+     * Call after loadGameAssets().
+     */
+    public LinkedHashMap<String, PImage> getNamedImages() {
+        LinkedHashMap<String, PImage> named = new LinkedHashMap<>();
+        named.put("background", backgroundImg);
+        named.put("player", playerImg);
+        named.put("player-mini", playerMiniImg);
+        for (int i = 0; i < meteorImgs.size(); i++) {
+            named.put("meteor/" + i, meteorImgs.get(i));
+        }
+        for (String anim : new String[]{"lg", "sm", "player", "ship"}) {
+            ArrayList<PImage> frames = explosionAnims.get(anim);
+            for (int i = 0; i < frames.size(); i++) {
+                named.put("explosion/" + anim + "/" + i, frames.get(i));
+            }
+        }
+        named.put("bullet", bulletImg);
+        for (int i = 0; i < enemyShipImgs.size(); i++) {
+            named.put("ship/" + i, enemyShipImgs.get(i));
+        }
+        named.put("powerup/shield", powerupImgs.get("shield"));
+        named.put("powerup/gun", powerupImgs.get("gun"));
+        named.put("boss", getBossImg());
+        return named;
+    }
+
+    /**
+     * true: use the asset pack if it is current (default); false: always decode the PNGs
+     */
+    public void setUsePack(boolean usePack) {
+        this.usePack = usePack;
+    }
+
+    /**
+     * true if the last submitGameAssets() loaded from the asset pack
+     */
+    public boolean isLoadedFromPack() {
+        return pack != null;
+    }
+
+    private PImage loadFiltered(String path, int w, int h, int col) {
+        PImage img = safeLoadImage(path, w, h, col);
+        img.filter(PApplet.BLUR, 0);
+        return img;
+    }
+
+    /**
+     * Move the required images into the public fields. Call on the animation thread
+     * once the loader reports them ready; later calls do nothing.
+     */
+    public void publishRequired() {
+        if (requiredPublished) {
+            return;
+        }
+        requiredPublished = true;
+
+        backgroundImg = AssetLoader.await(backgroundLoad);
+        PImage[] player = AssetLoader.await(playerLoad);
+        playerImg = player[0];
+        playerMiniImg = player[1];
+        for (Future<PImage> load : meteorLoads) {
+            meteorImgs.add(AssetLoader.await(load));
+        }
+
+        explosionAnims.put("lg", new ArrayList<>());
+        explosionAnims.put("sm", new ArrayList<>());
+        explosionAnims.put("player", new ArrayList<>());
+        explosionAnims.put("ship", new ArrayList<>()); // Neue Explosion für Raumschiffe
+        for (int i = 0; i < explosionLoads.size(); i++) {
+            PImage[] frames = AssetLoader.await(explosionLoads.get(i));
+            explosionAnims.get("lg").add(frames[0]);
+            explosionAnims.get("sm").add(frames[1]);
+            PImage sonic = AssetLoader.await(sonicLoads.get(i));
+            explosionAnims.get("player").add(sonic != null ? sonic : frames[0]);
+        }
+        for (Future<PImage> load : shipEffectLoads) {
+            explosionAnims.get("ship").add(AssetLoader.await(load));
+        }
+
+        bulletImg = AssetLoader.await(bulletLoad);
+        for (Future<PImage> load : shipLoads) {
+            enemyShipImgs.add(AssetLoader.await(load));
+        }
+        powerupImgs.put("shield", AssetLoader.await(shieldLoad));
+        powerupImgs.put("gun", AssetLoader.await(gunLoad));
+    }
+
+    /**
+     * Move streamed images into the public fields as soon as they are loaded.
+     * Cheap enough to call every frame.
+     */
+    public void publishStreamed() {
+        if (bossImg == null && bossLoad != null && bossLoad.isDone()) {
+            bossImg = AssetLoader.getNow(bossLoad);
+        }
+    }
+
+    /**
+     * All sprites drawn through the sprite batch, for packing into the texture atlas
+     */
+    public ArrayList<PImage> getSpriteImages() {
+        ArrayList<PImage> sprites = new ArrayList<>();
+        sprites.addAll(meteorImgs);
+        sprites.addAll(enemyShipImgs);
+        sprites.add(bulletImg);
+        sprites.addAll(powerupImgs.values());
+        for (ArrayList<PImage> frames : explosionAnims.values()) {
+            sprites.addAll(frames);
+        }
+        return sprites;
+    }
+
+    /**
+     * Boss image; waits for it if it is still loading when the boss fight starts
+     */
+    public PImage getBossImg() {
+        if (bossImg == null && bossLoad != null) {
+            bossImg = AssetLoader.await(bossLoad);
+        }
+        return bossImg;
+    }
+
+    public PImage createPlaceholderImage(int w, int h, int col) {
+        PImage img = sketch.createImage(w, h, PApplet.ARGB);
+        img.loadPixels();
+        Arrays.fill(img.pixels, col);
+        img.updatePixels();
+        return img;
+    }
 }
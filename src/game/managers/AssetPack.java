@@ -0,0 +1,193 @@
+package game.managers;
+
+import processing.core.PApplet;
+import processing.core.PImage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-baked images: the final pixels of every sprite and animation frame (already
+ * resized and filtered), written once by AssetBaker and memory-mapped at startup,
+ * so loading an image is a copy out of the mapped file instead of PNG decoding.
+ *
+ * File layout (big-endian):
+ *   int magic, int version, long source fingerprint, int entry count,
+ *   per entry: UTF name, int width, int height, int format, long pixel offset,
+ *   then the pixel data as ints (ARGB), each entry starting at its offset.
+ * A pack whose version or fingerprint does not match is stale and not used.
+ */
+public class AssetPack {
+    static final int MAGIC = 0x53485041; // "SHPA"
+    static final int VERSION = 1;
+
+    private static class Entry {
+        final int width;
+        final int height;
+        final int format;
+        final long offset;
+
+        Entry(int width, int height, int format, long offset) {
+            this.width = width;
+            this.height = height;
+            this.format = format;
+            this.offset = offset;
+        }
+    }
+
+    private final MappedByteBuffer data;
+    private final HashMap<String, Entry> entries = new HashMap<>();
+
+    private AssetPack(MappedByteBuffer data) {
+        this.data = data;
+    }
+
+    /**
+     * Map a pack file if it is current.
+     * @param fingerprint Fingerprint of the source files the pack must have been baked from
+     * @return The pack, or null if the file is missing, stale or unreadable
+     */
+    public static AssetPack open(File file, long fingerprint) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.getInt() != MAGIC || data.getInt() != VERSION || data.getLong() != fingerprint) {
+                System.err.println("Asset pack " + file + " is stale, decoding the source images instead");
+                return null;
+            }
+            AssetPack pack = new AssetPack(data);
+            int count = data.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[data.getShort() & 0xFFFF];
+                data.get(name);
+                int width = data.getInt();
+                int height = data.getInt();
+                int format = data.getInt();
+                long offset = data.getLong();
+                if (offset + (long) width * height * 4 > channel.size()) {
+                    throw new IOException("entry out of bounds");
+                }
+                pack.entries.put(new String(name, StandardCharsets.UTF_8), new Entry(width, height, format, offset));
+            }
+            return pack;
+        } catch (Exception e) {
+            System.err.println("Error reading asset pack " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Copy an image out of the mapped file. Safe to call from several threads at once.
+     */
+    public PImage getImage(PApplet sketch, String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        PImage img = sketch.createImage(entry.width, entry.height, entry.format);
+        // Every reader gets its own view, so the positions do not interfere
+        IntBuffer pixels = data.duplicate().position((int) entry.offset).slice().asIntBuffer();
+        pixels.get(img.pixels, 0, entry.width * entry.height);
+        img.updatePixels();
+        return img;
+    }
+
+    /**
+     * Write images into a pack file, in map order
+     */
+    public static void write(File file, Map<String, PImage> images, long fingerprint) throws IOException {
+        ArrayList<String> names = new ArrayList<>(images.keySet());
+
+        // Index size decides where the pixel data starts
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(header);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(fingerprint);
+        out.writeInt(names.size());
+        long indexSize = header.size();
+        for (String name : names) {
+            indexSize += 2 + name.getBytes(StandardCharsets.UTF_8).length + 4 * 3 + 8;
+        }
+        long offset = (indexSize + 3) & ~3L;
+
+        long[] offsets = new long[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            PImage img = images.get(names.get(i));
+            offsets[i] = offset;
+            out.writeUTF(names.get(i));
+            out.writeInt(img.width);
+            out.writeInt(img.height);
+            out.writeInt(img.format);
+            out.writeLong(offset);
+            offset += (long) img.width * img.height * 4;
+        }
+        out.flush();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            channel.write(ByteBuffer.wrap(header.toByteArray()), 0);
+            for (int i = 0; i < names.size(); i++) {
+                PImage img = images.get(names.get(i));
+                img.loadPixels();
+                ByteBuffer pixels = ByteBuffer.allocate(img.width * img.height * 4);
+                pixels.asIntBuffer().put(img.pixels, 0, img.width * img.height);
+                channel.write(pixels, offsets[i]);
+            }
+        }
+    }
+
+    /**
+     * Fingerprint of all files in the given directories (names, sizes and modification
+     * times), so a pack goes stale as soon as a source image is added, removed or changed.
+     * @param settings Everything else the baked pixels depend on (bake version, screen size)
+     */
+    public static long fingerprint(String settings, File... dirs) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a
+        hash = mix(hash, settings);
+        for (File dir : dirs) {
+            File[] files = dir.listFiles();
+            if (files == null) {
+                continue;
+            }
+            Arrays.sort(files);
+            for (File f : files) {
+                if (f.isFile()) {
+                    hash = mix(hash, dir.getName() + "/" + f.getName() + ":" + f.length() + ":" + f.lastModified());
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String s) {
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
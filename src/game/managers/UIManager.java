@@ -3,6 +3,7 @@ package game.managers;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
+import game.GameWorld;
 import game.Sketch;
 
 public class UIManager {
@@ -35,9 +36,10 @@ public class UIManager {
     
     public void update() {
         // Check if UI needs to be redrawn
-        int currentScore = sketch.score;
-        int currentLives = sketch.player != null ? sketch.player.lives : 0;
-        int currentShield = sketch.player != null ? (int)sketch.player.shield : 0;
+        GameWorld world = sketch.getWorld();
+        int currentScore = world.score;
+        int currentLives = world.player != null ? world.player.lives : 0;
+        int currentShield = world.player != null ? (int)world.player.shield : 0;
         
         if (currentScore != lastScore || currentLives != lastLives || currentShield != lastShield) {
             needsRedraw = true;
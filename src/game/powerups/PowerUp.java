@@ -4,12 +4,15 @@ import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
 import processing.core.PVector;
+import game.utils.Collidable;
+import game.systems.SpriteBatch;
 import java.util.HashMap;
 
 // Represents a collectible power-up (shield or gun) in the game.
-public class PowerUp {
+public class PowerUp implements Collidable {
     private PApplet sketch;
     public PVector pos;
+    public final PVector prevPos = new PVector(); // Position at the previous tick (render interpolation)
     public float speed = 100;
     public int radius = 15;
     public String type;
@@ -19,6 +22,7 @@ public class PowerUp {
         this.sketch = sketch;
         this.pos = new PVector(x, y);
         type = sketch.random(1) > 0.5 ? "shield" : "gun";
+        prevPos.set(pos);
     }
 
     public void update(float delta_time) {
@@ -58,6 +62,16 @@ public class PowerUp {
             sketch.color(255, 255, 0, 150);
     }
 
+    @Override
+    public PVector getPosition() {
+        return pos;
+    }
+
+    @Override
+    public float getRadius() {
+        return radius;
+    }
+
     public boolean isOffScreen() {
         return pos.y > sketch.height + radius;
     }
@@ -80,4 +94,15 @@ public class PowerUp {
 
         pg.popStyle();
     }
+
+    public void display(SpriteBatch batch, HashMap<String, PImage> powerupImgs) {
+        PImage img = powerupImgs.get(type);
+
+        // Pulsing glow effect
+        float glowSize = 1.0f + sketch.sin(pulse) * 0.2f;
+        batch.draw(img, pos.x, pos.y, img.width * glowSize, img.height * glowSize, 0, 150);
+
+        // Main image
+        batch.draw(img, pos.x, pos.y);
+    }
 }
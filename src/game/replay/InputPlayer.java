@@ -0,0 +1,130 @@
+package game.replay;
+
+import game.management.GameTuning;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a recording (see Recording) frame by frame. The header is read on open;
+ * nextFrame() then loads one frame record after the other.
+ * A recording that was cut off (e.g. the game was killed) ends at the last complete frame.
+ */
+public class InputPlayer implements Closeable {
+    private final DataInputStream in;
+    private final long seed;
+    private final float tickRate;
+    private final int width;
+    private final int height;
+
+    // Current frame
+    private final int[] ticks = new int[Recording.FRAME_TICKS];
+    private final GameTuning[] tickTuning = new GameTuning[Recording.FRAME_TICKS];
+    private int tickCount;
+    private boolean continued;
+    private boolean resized;
+    private int resizeWidth;
+    private int resizeHeight;
+    private int deferredSlices;
+    private int checksum;
+    private long frames = 0;
+
+    public InputPlayer(File file) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        if (in.readInt() != Recording.MAGIC) {
+            in.close();
+            throw new IOException(file + " is not a recording");
+        }
+        int version = in.readUnsignedShort();
+        if (version != Recording.VERSION) {
+            in.close();
+            throw new IOException("Unsupported recording version " + version);
+        }
+        seed = in.readLong();
+        tickRate = in.readFloat();
+        width = in.readUnsignedShort();
+        height = in.readUnsignedShort();
+        for (int i = 0; i < tickTuning.length; i++) {
+            tickTuning[i] = new GameTuning();
+        }
+    }
+
+    /**
+     * Load the next frame
+     * @return false at the end of the recording
+     */
+    public boolean nextFrame() throws IOException {
+        try {
+            int flags = in.readByte() & 0xFF;
+            tickCount = flags & Recording.FRAME_TICKS;
+            continued = (flags & Recording.FRAME_CONTINUE) != 0;
+            resized = (flags & Recording.FRAME_RESIZE) != 0;
+            if (resized) {
+                resizeWidth = in.readUnsignedShort();
+                resizeHeight = in.readUnsignedShort();
+            }
+            for (int i = 0; i < tickCount; i++) {
+                ticks[i] = in.readByte() & 0xFF;
+                if ((ticks[i] & Recording.TICK_TUNING) != 0) {
+                    Recording.readTuning(in, tickTuning[i]);
+                }
+            }
+            deferredSlices = readVarInt();
+            checksum = in.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+        frames++;
+        return true;
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readByte() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public long getSeed() { return seed; }
+    public float getTickRate() { return tickRate; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getFrames() { return frames; }
+
+    public int getTickCount() { return tickCount; }
+
+    /**
+     * Recording.INPUT_* bits of a tick of the current frame
+     */
+    public int getInput(int tick) { return ticks[tick] & Recording.INPUT_BITS; }
+
+    /**
+     * Knobs a tick of the current frame ran with, or null if they did not change
+     */
+    public GameTuning getTuning(int tick) {
+        return (ticks[tick] & Recording.TICK_TUNING) != 0 ? tickTuning[tick] : null;
+    }
+
+    public boolean isContinued() { return continued; }
+    public boolean isResized() { return resized; }
+    public int getResizeWidth() { return resizeWidth; }
+    public int getResizeHeight() { return resizeHeight; }
+    public int getDeferredSlices() { return deferredSlices; }
+    public int getChecksum() { return checksum; }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,136 @@
+package game.replay;
+
+import game.GameWorld;
+import game.management.GameTuning;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a recording (see Recording) of a game session: the seed, and per frame the
+ * input of each tick and the number of deferred effect slices. Call recordTick() before
+ * each world.step(), recordTuning() after it and endFrame() after world.runDeferredEffects(). Continue and resize
+ * requests between frames are attached to the next frame.
+ *
+ * A few bytes per frame before compression; the stream is only complete after close().
+ */
+public class InputRecorder implements Closeable {
+    private static final int MAX_TICKS = Recording.FRAME_TICKS;
+
+    private final DataOutputStream out;
+    private final int[] ticks = new int[MAX_TICKS];
+    private final GameTuning[] tickTuning = new GameTuning[MAX_TICKS];
+    private int recordedTuningChanges = -1; // The first tick always stores its knobs
+    private int tickCount = 0;
+    private boolean continued = false;
+    private int resizeWidth = -1;
+    private int resizeHeight = -1;
+    private long frames = 0;
+
+    /**
+     * @param seed Seed the host's RNG was set to right before the world was created
+     */
+    public InputRecorder(File file, long seed, float tickRate, int width, int height) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))));
+        out.writeInt(Recording.MAGIC);
+        out.writeShort(Recording.VERSION);
+        out.writeLong(seed);
+        out.writeFloat(tickRate);
+        out.writeShort(width);
+        out.writeShort(height);
+        for (int i = 0; i < MAX_TICKS; i++) {
+            tickTuning[i] = new GameTuning();
+        }
+    }
+
+    /**
+     * Input of the next tick of this frame
+     * @param input Recording.INPUT_* bits, see Recording.inputBits()
+     */
+    public void recordTick(int input) {
+        if (tickCount == MAX_TICKS) {
+            throw new IllegalStateException("More than " + MAX_TICKS + " ticks in one frame");
+        }
+        ticks[tickCount++] = input;
+    }
+
+    /**
+     * Store the knobs the last recorded tick ran with if a tick took over changed ones
+     * (e.g. set from JMX) since they were last stored. Call after each world.step().
+     */
+    public void recordTuning(GameWorld world) {
+        if (tickCount == 0 || world.getTuningChanges() == recordedTuningChanges) {
+            return;
+        }
+        recordedTuningChanges = world.getTuningChanges();
+        tickTuning[tickCount - 1].setSimulationKnobs(world.getAppliedTuning());
+        ticks[tickCount - 1] |= Recording.TICK_TUNING;
+    }
+
+    /**
+     * The host called world.continueFromSummary() after the last frame
+     */
+    public void continued() {
+        continued = true;
+    }
+
+    /**
+     * The host resized the play field and called world.rescale() after the last frame
+     */
+    public void resized(int width, int height) {
+        resizeWidth = width;
+        resizeHeight = height;
+    }
+
+    /**
+     * Write the frame
+     * @param deferredSlices world.deferredEffects.getLastDrainSlices()
+     * @param checksum Recording.checksum() of the world after the frame
+     */
+    public void endFrame(int deferredSlices, int checksum) throws IOException {
+        int flags = tickCount;
+        if (continued) flags |= Recording.FRAME_CONTINUE;
+        if (resizeWidth >= 0) flags |= Recording.FRAME_RESIZE;
+        out.writeByte(flags);
+        if (resizeWidth >= 0) {
+            out.writeShort(resizeWidth);
+            out.writeShort(resizeHeight);
+        }
+        for (int i = 0; i < tickCount; i++) {
+            out.writeByte(ticks[i]);
+            if ((ticks[i] & Recording.TICK_TUNING) != 0) {
+                Recording.writeTuning(out, tickTuning[i]);
+            }
+        }
+        writeVarInt(deferredSlices);
+        out.writeInt(checksum);
+
+        tickCount = 0;
+        continued = false;
+        resizeWidth = -1;
+        resizeHeight = -1;
+        frames++;
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
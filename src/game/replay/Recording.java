@@ -0,0 +1,111 @@
+package game.replay;
+
+import game.GameWorld;
+import game.management.GameTuning;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * File format and helpers shared by InputRecorder and InputPlayer.
+ *
+ * A recording is a gzip stream: a header (magic, version, RNG seed, tick rate, play
+ * field size), then one record per rendered frame until the end of the stream:
+ * <pre>
+ *   byte   ticks (bits 0-3) | FRAME_CONTINUE | FRAME_RESIZE
+ *   short  width, short height     (only with FRAME_RESIZE)
+ *   byte   input bits, per tick    (INPUT_* | TICK_TUNING)
+ *   ...    knobs the tick ran with (only with TICK_TUNING, see writeTuning())
+ *   varint deferred effect slices run after the ticks
+ *   int    checksum of the world after the frame
+ * </pre>
+ * The first tick and every tick that took over changed JMX knobs (GameTuning) carry
+ * the knobs they ran with. Everything else the simulation depends on follows from
+ * the seed: the world is created with it (RandomService) right after seeding the
+ * host's RNG with it, and nothing outside the simulation may draw from either.
+ */
+public final class Recording {
+    static final int MAGIC = 0x47524543; // "GREC"
+    static final int VERSION = 3; // 2: the world's random streams (RandomService) follow from the seed, 3: tuning
+
+    public static final int INPUT_LEFT = 1;
+    public static final int INPUT_RIGHT = 2;
+    public static final int INPUT_FIRE = 4;
+    public static final int INPUT_GOD_MODE = 8;
+    static final int INPUT_BITS = 0x0F;
+    static final int TICK_TUNING = 0x80; // The tick's input byte is followed by its knobs
+
+    static final int FRAME_TICKS = 0x0F;
+    static final int FRAME_CONTINUE = 0x10; // continueFromSummary() before the ticks
+    static final int FRAME_RESIZE = 0x20; // rescale() to a new play field size before the ticks
+
+    private Recording() {
+    }
+
+    /**
+     * Input bits of the world's current input
+     */
+    public static int inputBits(GameWorld world) {
+        int bits = 0;
+        if (world.inputLeft) bits |= INPUT_LEFT;
+        if (world.inputRight) bits |= INPUT_RIGHT;
+        if (world.inputFire) bits |= INPUT_FIRE;
+        if (world.godMode) bits |= INPUT_GOD_MODE;
+        return bits;
+    }
+
+    public static void applyInput(GameWorld world, int bits) {
+        world.inputLeft = (bits & INPUT_LEFT) != 0;
+        world.inputRight = (bits & INPUT_RIGHT) != 0;
+        world.inputFire = (bits & INPUT_FIRE) != 0;
+        world.godMode = (bits & INPUT_GOD_MODE) != 0;
+    }
+
+    /**
+     * Set the world's knobs to the recorded ones of a tick; the tick takes them over at its start
+     */
+    public static void applyTuning(GameWorld world, GameTuning knobs) {
+        world.tuning.setSimulationKnobs(knobs);
+    }
+
+    static void writeTuning(DataOutputStream out, GameTuning knobs) throws IOException {
+        out.writeInt(knobs.getGridSize());
+        out.writeInt(knobs.getParticleLimit());
+        out.writeFloat(knobs.getParticleDensity());
+        out.writeFloat(knobs.getPowerupDropChance());
+        out.writeLong(knobs.getMobSpawnInterval());
+        out.writeLong(knobs.getEffectBudgetMicros());
+    }
+
+    static void readTuning(DataInputStream in, GameTuning knobs) throws IOException {
+        knobs.setGridSize(in.readInt());
+        knobs.setParticleLimit(in.readInt());
+        knobs.setParticleDensity(in.readFloat());
+        knobs.setPowerupDropChance(in.readFloat());
+        knobs.setMobSpawnInterval(in.readLong());
+        knobs.setEffectBudgetMicros(in.readLong());
+    }
+
+    /**
+     * Hash over the world's state and entity counts; a replay that diverges from the
+     * recorded run gets a different checksum within a few frames
+     */
+    public static int checksum(GameWorld world) {
+        int h = world.tickCount;
+        h = h * 31 + world.gameState.ordinal();
+        h = h * 31 + world.score;
+        h = h * 31 + world.mobs.size();
+        h = h * 31 + world.enemyShips.size();
+        h = h * 31 + world.enemyFormations.size();
+        h = h * 31 + world.bullets.size();
+        h = h * 31 + world.bombs.size();
+        h = h * 31 + world.powerups.size();
+        h = h * 31 + world.particles.count();
+        if (world.player != null) {
+            h = h * 31 + Float.floatToIntBits(world.player.pos.x);
+            h = h * 31 + Float.floatToIntBits(world.player.pos.y);
+        }
+        return h;
+    }
+}
@@ -0,0 +1,29 @@
+package game.systems;
+
+/**
+ * Collision layers for the CollisionSystem.
+ * Every indexed object belongs to exactly one layer; queries pass a mask of the
+ * layers they are interested in, so one grid serves all pair types.
+ * Player bullets and the player are not indexed, they query the grid.
+ */
+public final class CollisionLayer {
+    // Layers (one bit each)
+    public static final int MOB = 1;
+    public static final int ENEMY_SHIP = 1 << 1;
+    public static final int FORMATION_SHIP = 1 << 2;
+    public static final int BOSS = 1 << 3;
+    public static final int BOMB = 1 << 4;
+    public static final int POWERUP = 1 << 5;
+    public static final int SWARM = 1 << 6;
+    public static final int OTHER = 1 << 7; // GameObjects added without a layer
+
+    // Masks
+    public static final int ENEMIES = MOB | ENEMY_SHIP | FORMATION_SHIP | BOSS;
+    public static final int ENEMY_PROJECTILES = BOMB;
+    public static final int PICKUPS = POWERUP;
+    public static final int HAZARDS = SWARM;
+    public static final int ALL = ~0;
+
+    private CollisionLayer() {
+    }
+}
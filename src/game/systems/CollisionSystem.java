@@ -1,8 +1,8 @@
 package game.systems;
 
-import processing.core.PVector;
+import game.utils.Collidable;
 import game.utils.GameObject;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,73 +10,457 @@ import java.util.Map;
 /**
  * Optimized collision detection system using spatial partitioning.
  * Uses a grid-based approach to reduce the number of collision checks needed.
+ *
+ * Objects are indexed under a CollisionLayer in the cell of their center (positions
+ * outside the world are clamped to the border cells). Queries look at all cells within
+ * query radius + half a cell, so objects up to half a cell in radius are always found.
+ * Larger objects (e.g. the boss) are kept in a separate list that every query checks.
+ *
+ * The grid is a counting sort over flat arrays: insert() only appends to the entry
+ * arrays, the first query counts the entries per cell, turns the counts into cell start
+ * offsets and scatters the entry indices into one packed array. Nothing is allocated
+ * per frame once the arrays have grown to the usual entity count; queries write into
+ * caller-supplied lists. Objects inserted after the first query (e.g. a powerup dropped
+ * mid-pass) are checked linearly until the next clear().
+ *
+ * Usage per frame:
+ *   grid.clear();
+ *   grid.insert(mob, CollisionLayer.MOB);
+ *   Collidable hit = grid.queryFirst(bullet.pos.x, bullet.pos.y, bullet.radius, CollisionLayer.ENEMIES);
  */
 public class CollisionSystem {
+    private static final int OVERSIZED = -1; // Cell value of entries in the oversized list
+
     private final int gridSize;
     private final int gridCols;
     private final int gridRows;
     private final int worldWidth;
     private final int worldHeight;
-    private Map<Integer, List<GameObject>> spatialGrid;
-    
+    private final float maxCellRadius; // Larger objects go to the oversized list
+
+    // Entries in insertion order (snapshot of position and radius at insert time)
+    private Collidable[] objects = new Collidable[64];
+    private int[] layers = new int[64]; // 0 = removed
+    private int[] cells = new int[64];
+    private float[] xs = new float[64];
+    private float[] ys = new float[64];
+    private float[] radii = new float[64];
+    private int count = 0;
+
+    // Counting-sort index, valid for the first builtCount entries
+    private final int[] cellStart; // Entries of cell c are sorted[cellStart[c]..cellStart[c+1]-1]
+    private final int[] cellCursor;
+    private int[] sorted = new int[64];
+    private int[] oversized = new int[16];
+    private int oversizedCount = 0;
+    private boolean built = false;
+    private int builtCount = 0;
+
     public CollisionSystem(int worldWidth, int worldHeight, int gridSize) {
         this.worldWidth = worldWidth;
         this.worldHeight = worldHeight;
         this.gridSize = gridSize;
         this.gridCols = (int) Math.ceil((float) worldWidth / gridSize);
         this.gridRows = (int) Math.ceil((float) worldHeight / gridSize);
-        this.spatialGrid = new HashMap<>();
+        this.maxCellRadius = gridSize / 2.0f;
+        this.cellStart = new int[gridCols * gridRows + 1];
+        this.cellCursor = new int[gridCols * gridRows];
     }
-    
+
     /**
      * Clear the spatial grid
      */
     public void clear() {
-        spatialGrid.clear();
+        Arrays.fill(objects, 0, count, null); // Let the GC collect removed entities
+        count = 0;
+        oversizedCount = 0;
+        built = false;
+        builtCount = 0;
     }
-    
+
     /**
      * Add an object to the spatial grid
      */
     public void addToGrid(GameObject obj) {
-        int cellIndex = getCellIndex(obj.getPosition().x, obj.getPosition().y);
-        if (cellIndex >= 0) {
-            spatialGrid.computeIfAbsent(cellIndex, k -> new ArrayList<>()).add(obj);
+        insert(obj, CollisionLayer.OTHER);
+    }
+
+    /**
+     * Add an object to the spatial grid under a collision layer
+     */
+    public void insert(Collidable obj, int layer) {
+        insert(obj, layer, obj.getPosition().x, obj.getPosition().y, obj.getRadius());
+    }
+
+    /**
+     * Add an object with an explicit bounding circle, e.g. the whole path a projectile
+     * moved along this tick. Queries then find it anywhere on that path.
+     */
+    public void insert(Collidable obj, int layer, float x, float y, float radius) {
+        if (count == objects.length) {
+            grow(count * 2);
+        }
+        objects[count] = obj;
+        layers[count] = layer;
+        xs[count] = x;
+        ys[count] = y;
+        radii[count] = radius;
+        cells[count] = radius > maxCellRadius ? OVERSIZED : getClampedCellIndex(x, y);
+        count++;
+    }
+
+    private void grow(int capacity) {
+        objects = Arrays.copyOf(objects, capacity);
+        layers = Arrays.copyOf(layers, capacity);
+        cells = Arrays.copyOf(cells, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        radii = Arrays.copyOf(radii, capacity);
+        sorted = Arrays.copyOf(sorted, capacity); // Keeps the index valid for late inserts
+    }
+
+    /**
+     * Sort the entries by cell: count per cell, prefix sum to start offsets, scatter.
+     * Queries call this on their own after clear(); call it directly to time the build.
+     */
+    public void build() {
+        Arrays.fill(cellStart, 0);
+        oversizedCount = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            if (cell == OVERSIZED) {
+                if (oversizedCount == oversized.length) {
+                    oversized = Arrays.copyOf(oversized, oversizedCount * 2);
+                }
+                oversized[oversizedCount++] = i;
+            } else {
+                cellStart[cell + 1]++;
+            }
         }
+        for (int c = 0; c < cellCursor.length; c++) {
+            cellStart[c + 1] += cellStart[c];
+            cellCursor[c] = cellStart[c];
+        }
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            if (cell != OVERSIZED) {
+                sorted[cellCursor[cell]++] = i;
+            }
+        }
+        built = true;
+        builtCount = count;
     }
-    
+
+    private void ensureBuilt() {
+        if (!built) {
+            build();
+        }
+    }
+
+    /**
+     * Remove an object again, e.g. when it was destroyed during the collision pass.
+     * The entry stays in the arrays but matches no layer mask anymore.
+     * @return true if the object was found
+     */
+    public boolean remove(Collidable obj) {
+        if (built) {
+            // Only the object's own cell, the oversized list and the late entries can hold it
+            // (objects inserted with explicit bounds may sit elsewhere, see the fallback below)
+            if (obj.getRadius() <= maxCellRadius) {
+                int cell = getClampedCellIndex(obj.getPosition().x, obj.getPosition().y);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    if (removeEntry(sorted[k], obj)) {
+                        return true;
+                    }
+                }
+            }
+            for (int k = 0; k < oversizedCount; k++) {
+                if (removeEntry(oversized[k], obj)) {
+                    return true;
+                }
+            }
+            for (int i = builtCount; i < count; i++) {
+                if (removeEntry(i, obj)) {
+                    return true;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (removeEntry(i, obj)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeEntry(int i, Collidable obj) {
+        if (objects[i] == obj && layers[i] != 0) {
+            layers[i] = 0;
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Get all objects in the same cell as the given position
+     * @param out Receives the objects; is not cleared
      */
-    public List<GameObject> getObjectsInCell(float x, float y) {
+    public void getObjectsInCell(float x, float y, List<GameObject> out) {
+        ensureBuilt();
         int cellIndex = getCellIndex(x, y);
-        return spatialGrid.getOrDefault(cellIndex, new ArrayList<>());
+        if (cellIndex >= 0) {
+            addGameObjects(cellIndex, out);
+        }
     }
-    
+
     /**
      * Get all objects in neighboring cells (including the current cell)
+     * @param out Receives the objects; is not cleared
      */
-    public List<GameObject> getObjectsInNeighborhood(float x, float y) {
-        List<GameObject> neighbors = new ArrayList<>();
+    public void getObjectsInNeighborhood(float x, float y, List<GameObject> out) {
+        ensureBuilt();
         int col = (int) (x / gridSize);
         int row = (int) (y / gridSize);
-        
+
         // Check the 3x3 grid around the object
         for (int r = row - 1; r <= row + 1; r++) {
             for (int c = col - 1; c <= col + 1; c++) {
                 if (r >= 0 && r < gridRows && c >= 0 && c < gridCols) {
-                    int cellIndex = r * gridCols + c;
-                    List<GameObject> cellObjects = spatialGrid.get(cellIndex);
-                    if (cellObjects != null) {
-                        neighbors.addAll(cellObjects);
+                    addGameObjects(r * gridCols + c, out);
+                }
+            }
+        }
+        // Oversized and late objects can reach into any neighborhood
+        for (int k = 0; k < oversizedCount; k++) {
+            addGameObject(oversized[k], out);
+        }
+        for (int i = builtCount; i < count; i++) {
+            addGameObject(i, out);
+        }
+    }
+
+    private void addGameObjects(int cell, List<GameObject> out) {
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            addGameObject(sorted[k], out);
+        }
+    }
+
+    private void addGameObject(int i, List<GameObject> out) {
+        if (layers[i] != 0 && objects[i] instanceof GameObject) {
+            out.add((GameObject) objects[i]);
+        }
+    }
+
+    /**
+     * Collect all objects on the given layers that overlap the circle.
+     * @param mask CollisionLayer bits to look for
+     * @param out Receives the hits (grid order, oversized objects last); is not cleared
+     * @return Number of hits added to out
+     */
+    public int query(float x, float y, float radius, int mask, List<Collidable> out) {
+        ensureBuilt();
+        int found = 0;
+        float reach = radius + maxCellRadius;
+        int minCol = clampCol(x - reach);
+        int maxCol = clampCol(x + reach);
+        int minRow = clampRow(y - reach);
+        int maxRow = clampRow(y + reach);
+        for (int r = minRow; r <= maxRow; r++) {
+            // Cells of one row are adjacent in the packed array
+            int from = cellStart[r * gridCols + minCol];
+            int to = cellStart[r * gridCols + maxCol + 1];
+            for (int k = from; k < to; k++) {
+                int i = sorted[k];
+                if (matches(i, x, y, radius, mask)) {
+                    out.add(objects[i]);
+                    found++;
+                }
+            }
+        }
+        for (int k = 0; k < oversizedCount; k++) {
+            int i = oversized[k];
+            if (matches(i, x, y, radius, mask)) {
+                out.add(objects[i]);
+                found++;
+            }
+        }
+        for (int i = builtCount; i < count; i++) {
+            if (matches(i, x, y, radius, mask)) {
+                out.add(objects[i]);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * First object on the given layers that overlaps the circle
+     * @return The object, or null if nothing is hit
+     */
+    public Collidable queryFirst(float x, float y, float radius, int mask) {
+        ensureBuilt();
+        float reach = radius + maxCellRadius;
+        int minCol = clampCol(x - reach);
+        int maxCol = clampCol(x + reach);
+        int minRow = clampRow(y - reach);
+        int maxRow = clampRow(y + reach);
+        for (int r = minRow; r <= maxRow; r++) {
+            int from = cellStart[r * gridCols + minCol];
+            int to = cellStart[r * gridCols + maxCol + 1];
+            for (int k = from; k < to; k++) {
+                int i = sorted[k];
+                if (matches(i, x, y, radius, mask)) {
+                    return objects[i];
+                }
+            }
+        }
+        for (int k = 0; k < oversizedCount; k++) {
+            int i = oversized[k];
+            if (matches(i, x, y, radius, mask)) {
+                return objects[i];
+            }
+        }
+        for (int i = builtCount; i < count; i++) {
+            if (matches(i, x, y, radius, mask)) {
+                return objects[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Object on the given layers that a circle moving from (x0, y0) to (x1, y1) hits first.
+     * Only the cells along the path are visited. Fast projectiles therefore cannot tunnel
+     * through small targets between two ticks, whatever the step length.
+     * @return The object hit earliest along the path, or null
+     */
+    public Collidable querySweptFirst(float x0, float y0, float x1, float y1, float radius, int mask) {
+        int entry = querySweptFirstEntry(x0, y0, x1, y1, radius, mask);
+        return entry >= 0 ? objects[entry] : null;
+    }
+
+    /**
+     * Like querySweptFirst(), but returns the grid entry, so the caller can read the
+     * layer of the hit (getLayer) or disable the entry without searching for it.
+     * Entries stay valid until the next clear().
+     * @return Entry index of the object hit earliest along the path, or -1
+     */
+    public int querySweptFirstEntry(float x0, float y0, float x1, float y1, float radius, int mask) {
+        ensureBuilt();
+        float reach = radius + maxCellRadius;
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        int minRow = clampRow(Math.min(y0, y1) - reach);
+        int maxRow = clampRow(Math.max(y0, y1) + reach);
+        int best = -1;
+        float bestT = Float.MAX_VALUE;
+        for (int r = minRow; r <= maxRow; r++) {
+            // Part of the path within reach of this row (the border rows reach to infinity)
+            float top = r == 0 ? Float.NEGATIVE_INFINITY : r * gridSize - reach;
+            float bottom = r == gridRows - 1 ? Float.POSITIVE_INFINITY : (r + 1) * gridSize + reach;
+            float tEnter = 0;
+            float tExit = 1;
+            if (dy != 0) {
+                float ta = (top - y0) / dy;
+                float tb = (bottom - y0) / dy;
+                tEnter = Math.max(0, Math.min(ta, tb));
+                tExit = Math.min(1, Math.max(ta, tb));
+                if (tEnter > tExit) {
+                    continue;
+                }
+            } else if (y0 < top || y0 > bottom) {
+                continue;
+            }
+            float xa = x0 + dx * tEnter;
+            float xb = x0 + dx * tExit;
+            int from = cellStart[r * gridCols + clampCol(Math.min(xa, xb) - reach)];
+            int to = cellStart[r * gridCols + clampCol(Math.max(xa, xb) + reach) + 1];
+            for (int k = from; k < to; k++) {
+                int i = sorted[k];
+                if ((layers[i] & mask) != 0) {
+                    float t = sweepCircle(x0, y0, x1, y1, radius, xs[i], ys[i], radii[i]);
+                    if (t >= 0 && t < bestT) {
+                        bestT = t;
+                        best = i;
                     }
                 }
             }
         }
-        
-        return neighbors;
+        for (int k = 0; k < oversizedCount; k++) {
+            int i = oversized[k];
+            if ((layers[i] & mask) != 0) {
+                float t = sweepCircle(x0, y0, x1, y1, radius, xs[i], ys[i], radii[i]);
+                if (t >= 0 && t < bestT) {
+                    bestT = t;
+                    best = i;
+                }
+            }
+        }
+        for (int i = builtCount; i < count; i++) {
+            if ((layers[i] & mask) != 0) {
+                float t = sweepCircle(x0, y0, x1, y1, radius, xs[i], ys[i], radii[i]);
+                if (t >= 0 && t < bestT) {
+                    bestT = t;
+                    best = i;
+                }
+            }
+        }
+        return best;
+    }
+
+    public Collidable getObject(int entry) {
+        return objects[entry];
+    }
+
+    public int getLayer(int entry) {
+        return layers[entry];
+    }
+
+    /**
+     * Take an entry out of all further queries, like remove() but without searching
+     */
+    public void disable(int entry) {
+        layers[entry] = 0;
+    }
+
+    /**
+     * Swept circle test: a circle of radius r moves from (x0, y0) to (x1, y1) past a
+     * resting circle (cx, cy) with radius cr.
+     * @return Fraction of the path (0..1) at which the circles first overlap, or -1 if they never do
+     */
+    public static float sweepCircle(float x0, float y0, float x1, float y1, float r, float cx, float cy, float cr) {
+        float fx = x0 - cx;
+        float fy = y0 - cy;
+        float minDist = r + cr;
+        float c = fx * fx + fy * fy - minDist * minDist;
+        if (c < 0) {
+            return 0; // Already overlapping at the start
+        }
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float a = dx * dx + dy * dy;
+        float halfB = fx * dx + fy * dy;
+        if (a == 0 || halfB >= 0) {
+            return -1; // Not moving, or moving away
+        }
+        float discriminant = halfB * halfB - a * c;
+        if (discriminant < 0) {
+            return -1; // Passes by
+        }
+        float t = (-halfB - (float) Math.sqrt(discriminant)) / a;
+        return t <= 1 ? t : -1;
     }
-    
+
+    private boolean matches(int i, float x, float y, float radius, int mask) {
+        if ((layers[i] & mask) == 0) {
+            return false;
+        }
+        float dx = xs[i] - x;
+        float dy = ys[i] - y;
+        float minDist = radius + radii[i];
+        return dx * dx + dy * dy < minDist * minDist;
+    }
+
     /**
      * Check collision between two objects
      */
@@ -84,79 +468,107 @@ public class CollisionSystem {
         if (obj1 == obj2 || !obj1.isActive() || !obj2.isActive()) {
             return false;
         }
-        
+
         return obj1.collidesWith(obj2);
     }
-    
+
     /**
      * Check collisions between an object and a list of potential colliders
+     * @param out Receives the colliding objects; is not cleared
      */
-    public List<GameObject> checkCollisions(GameObject obj, List<GameObject> potentialColliders) {
-        List<GameObject> collisions = new ArrayList<>();
-        
-        for (GameObject other : potentialColliders) {
+    public void checkCollisions(GameObject obj, List<GameObject> potentialColliders, List<GameObject> out) {
+        for (int i = 0; i < potentialColliders.size(); i++) {
+            GameObject other = potentialColliders.get(i);
             if (checkCollision(obj, other)) {
-                collisions.add(other);
+                out.add(other);
             }
         }
-        
-        return collisions;
     }
-    
+
     /**
      * Check if a circle collides with any object in the grid
      */
     public boolean checkCircleCollision(float x, float y, float radius, List<GameObject> objects) {
-        for (GameObject obj : objects) {
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject obj = objects.get(i);
             if (!obj.isActive()) continue;
-            
-            PVector objPos = obj.getPosition();
-            float distance = PVector.dist(new PVector(x, y), objPos);
-            
-            if (distance < radius + obj.getRadius()) {
+
+            float dx = obj.getPosition().x - x;
+            float dy = obj.getPosition().y - y;
+            float minDist = radius + obj.getRadius();
+            if (dx * dx + dy * dy < minDist * minDist) {
                 return true;
             }
         }
         return false;
     }
-    
+
     /**
      * Get the cell index for a given position
      */
     private int getCellIndex(float x, float y) {
         int col = (int) (x / gridSize);
         int row = (int) (y / gridSize);
-        
+
         if (col < 0 || col >= gridCols || row < 0 || row >= gridRows) {
             return -1;
         }
-        
+
         return row * gridCols + col;
     }
-    
+
+    /**
+     * Cell index for a position, positions outside the world map to the nearest border cell
+     */
+    private int getClampedCellIndex(float x, float y) {
+        return clampRow(y) * gridCols + clampCol(x);
+    }
+
+    private int clampCol(float x) {
+        return Math.max(0, Math.min(gridCols - 1, (int) Math.floor(x / gridSize)));
+    }
+
+    private int clampRow(float y) {
+        return Math.max(0, Math.min(gridRows - 1, (int) Math.floor(y / gridSize)));
+    }
+
     /**
-     * Debug: Get the number of objects in each cell
+     * Number of indexed objects (including removed and late ones)
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Debug: Get the number of objects in each occupied cell
      */
     public Map<Integer, Integer> getCellCounts() {
+        ensureBuilt();
         Map<Integer, Integer> counts = new HashMap<>();
-        for (Map.Entry<Integer, List<GameObject>> entry : spatialGrid.entrySet()) {
-            counts.put(entry.getKey(), entry.getValue().size());
+        for (int c = 0; c < cellCursor.length; c++) {
+            int n = cellStart[c + 1] - cellStart[c];
+            if (n > 0) {
+                counts.put(c, n);
+            }
         }
         return counts;
     }
-    
+
     /**
      * Get grid statistics for debugging
      */
     public String getStats() {
-        int totalObjects = spatialGrid.values().stream()
-            .mapToInt(List::size)
-            .sum();
-        int occupiedCells = spatialGrid.size();
+        ensureBuilt();
+        int occupiedCells = 0;
+        for (int c = 0; c < cellCursor.length; c++) {
+            if (cellStart[c + 1] > cellStart[c]) {
+                occupiedCells++;
+            }
+        }
         int totalCells = gridCols * gridRows;
-        
-        return String.format("Grid: %dx%d (%d cells), Objects: %d, Occupied: %d (%.1f%%)",
-            gridCols, gridRows, totalCells, totalObjects, occupiedCells,
-            (occupiedCells * 100.0f / totalCells));
+
+        return String.format("Grid: %dx%d (%d cells), Objects: %d, Occupied: %d (%.1f%%), Oversized: %d",
+            gridCols, gridRows, totalCells, count, occupiedCells,
+            (occupiedCells * 100.0f / totalCells), oversizedCount);
     }
 }
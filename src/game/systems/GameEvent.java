@@ -0,0 +1,16 @@
+package game.systems;
+
+/**
+ * Gameplay events recorded during a simulation tick (see GameEventQueue).
+ * The simulation applies score, damage and kills itself; the events only carry
+ * what sound, particles, screen shake and score popups need, which the consumers
+ * in GameWorld spawn once per frame.
+ * Declared in order of priority: consumers handle the more important events first.
+ */
+public enum GameEvent {
+    PLAYER_HIT,        // x/y: what hit the player, hitX/hitY: shield impact point, value: its CollisionLayer, color: particles
+    BOSS_HIT,          // hitX/hitY: bullet, flag: the shield absorbed the hit
+    SHIP_DAMAGED,      // x/y: ship, hitX/hitY: bullet, radius: ship, value: points, flag: ship destroyed
+    MOB_DESTROYED,     // x/y: mob, hitX/hitY: bullet, radius: mob, value: points
+    POWERUP_COLLECTED  // x/y: powerup, flag: shield (otherwise gun)
+}
@@ -0,0 +1,114 @@
+package game.systems;
+
+import java.util.Arrays;
+
+/**
+ * Preallocated ring buffer of gameplay events, written by the simulation and
+ * drained once per frame. Event fields are stored in parallel arrays indexed
+ * by slot, so pushing an event allocates nothing. When the buffer is full the
+ * oldest event is overwritten (and counted as dropped) - events are cosmetic,
+ * the gameplay state has already been updated when they are recorded.
+ *
+ * Usage: int e = events.push(GameEvent.MOB_DESTROYED, x, y); events.radius[e] = r;
+ */
+public class GameEventQueue {
+    private final GameEvent[] types;
+    public final float[] x;
+    public final float[] y;
+    public final float[] hitX;
+    public final float[] hitY;
+    public final float[] radius;
+    public final int[] value;
+    public final int[] color;
+    public final boolean[] flag;
+
+    private final int mask;
+    private int head = 0; // Slot of the oldest event
+    private int count = 0;
+
+    // Metrics
+    private long pushedEvents = 0;
+    private long droppedEvents = 0;
+    private int maxSize = 0;
+    private final long[] pushedByType = new long[GameEvent.values().length];
+
+    /**
+     * @param capacity Maximum number of events between two drains, rounded up to a power of two
+     */
+    public GameEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        types = new GameEvent[size];
+        x = new float[size];
+        y = new float[size];
+        hitX = new float[size];
+        hitY = new float[size];
+        radius = new float[size];
+        value = new int[size];
+        color = new int[size];
+        flag = new boolean[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Record an event at (x, y). The other fields of the returned slot are reset
+     * to 0/false and can be filled in by the caller.
+     * @return Slot of the new event
+     */
+    public int push(GameEvent type, float x, float y) {
+        if (count == types.length) {
+            // Full: overwrite the oldest event
+            head = (head + 1) & mask;
+            count--;
+            droppedEvents++;
+        }
+        int slot = (head + count) & mask;
+        count++;
+        types[slot] = type;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        hitX[slot] = x;
+        hitY[slot] = y;
+        radius[slot] = 0;
+        value[slot] = 0;
+        color[slot] = 0;
+        flag[slot] = false;
+        pushedEvents++;
+        pushedByType[type.ordinal()]++;
+        maxSize = Math.max(maxSize, count);
+        return slot;
+    }
+
+    /**
+     * Number of events since the last clear()
+     */
+    public int size() { return count; }
+
+    /**
+     * Slot of the i-th event, oldest first
+     */
+    public int slot(int i) { return (head + i) & mask; }
+
+    public GameEvent type(int slot) { return types[slot]; }
+
+    public int capacity() { return types.length; }
+
+    /**
+     * Forget all events, e.g. after the consumers have run or when the game is reset
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    public long getPushedEvents() { return pushedEvents; }
+    public long getPushedEvents(GameEvent type) { return pushedByType[type.ordinal()]; }
+    public long getDroppedEvents() { return droppedEvents; }
+    public int getMaxSize() { return maxSize; }
+
+    public void resetMetrics() {
+        pushedEvents = 0;
+        droppedEvents = 0;
+        maxSize = 0;
+        Arrays.fill(pushedByType, 0);
+    }
+}
@@ -0,0 +1,62 @@
+package game.systems;
+
+import game.utils.Collidable;
+
+import java.util.Arrays;
+
+/**
+ * Hits found during a collision pass, to be applied afterwards in one go.
+ * Stores target, layer and impact point of each hit in parallel arrays,
+ * so recording a hit allocates nothing once the arrays have grown.
+ * Hits are also counted per collision grid entry, so the number of hits
+ * pending on a target is known without scanning the buffer.
+ */
+public class HitBuffer {
+    private Collidable[] targets = new Collidable[32];
+    private int[] layers = new int[32];
+    private float[] xs = new float[32];
+    private float[] ys = new float[32];
+    private int[] entries = new int[32];
+    private int[] entryHits = new int[64]; // Hits per grid entry, reset by clear()
+    private int count = 0;
+
+    /**
+     * Record a hit on target (indexed under layer) at the impact point (x, y)
+     * @param entry The target's collision grid entry; every hit on a target must use the same one
+     * @return Number of hits recorded on the entry so far, this one included
+     */
+    public int add(Collidable target, int entry, int layer, float x, float y) {
+        if (count == targets.length) {
+            int capacity = count * 2;
+            targets = Arrays.copyOf(targets, capacity);
+            layers = Arrays.copyOf(layers, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            entries = Arrays.copyOf(entries, capacity);
+        }
+        if (entry >= entryHits.length) {
+            entryHits = Arrays.copyOf(entryHits, Math.max(entryHits.length * 2, entry + 1));
+        }
+        targets[count] = target;
+        layers[count] = layer;
+        xs[count] = x;
+        ys[count] = y;
+        entries[count] = entry;
+        count++;
+        return ++entryHits[entry];
+    }
+
+    public int size() { return count; }
+    public Collidable getTarget(int i) { return targets[i]; }
+    public int getLayer(int i) { return layers[i]; }
+    public float getX(int i) { return xs[i]; }
+    public float getY(int i) { return ys[i]; }
+
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            entryHits[entries[i]] = 0;
+        }
+        Arrays.fill(targets, 0, count, null);
+        count = 0;
+    }
+}
@@ -3,6 +3,7 @@ package game.systems;
 import processing.core.PApplet;
 import processing.core.PVector;
 import game.effects.Particle;
+import game.utils.FastMath;
 import game.utils.ObjectPool;
 import java.util.ArrayList;
 import java.util.List;
@@ -72,8 +73,8 @@ public class ParticleSystem {
                 // Use the reset method with all parameters
                 particle.reset(
                     x, y,
-                    PApplet.cos(angle) * speed,
-                    PApplet.sin(angle) * speed,
+                    FastMath.cos(angle) * speed,
+                    FastMath.sin(angle) * speed,
                     color
                 );
                 
@@ -113,8 +114,8 @@ public class ParticleSystem {
                 
                 particle.reset(
                     x, y,
-                    PApplet.cos(particleAngle) * speed,
-                    PApplet.sin(particleAngle) * speed,
+                    FastMath.cos(particleAngle) * speed,
+                    FastMath.sin(particleAngle) * speed,
                     color
                 );
                 
@@ -136,10 +137,10 @@ public class ParticleSystem {
                 float speed = 4.0f;
                 
                 particle.reset(
-                    x + PApplet.cos(angle) * radius,
-                    y + PApplet.sin(angle) * radius,
-                    PApplet.cos(angle) * speed,
-                    PApplet.sin(angle) * speed,
+                    x + FastMath.cos(angle) * radius,
+                    y + FastMath.sin(angle) * radius,
+                    FastMath.cos(angle) * speed,
+                    FastMath.sin(angle) * speed,
                     color
                 );
                 
@@ -0,0 +1,128 @@
+package game.systems;
+
+import java.util.Arrays;
+
+/**
+ * Decides which sound requests are actually played, so bursts of hits do not
+ * start dozens of overlapping plays in the sound library:
+ *   - identical requests within a frame are merged into one play, a little louder
+ *   - a sound restarts at most every minInterval milliseconds
+ *   - at most maxVoices plays of a sound overlap (a voice lasts as long as the sound file)
+ * Sounds are identified by index (e.g. SoundEffect.ordinal()). The limiter only keeps
+ * the bookkeeping; the caller plays the sound when admit() says so.
+ */
+public class SoundVoiceLimiter {
+    public static final float MAX_BOOST = 1.5f; // Volume factor for many merged requests
+
+    private final int[] maxVoices;
+    private final long[] minIntervalMillis;
+    private final long[] durationMillis;
+    private final long[][] voiceEnds; // End time of each running voice per sound
+    private final long[] lastStart;
+    private final int[] pending; // Requests since the last admit()
+
+    // Metrics
+    private long requested = 0;
+    private long played = 0;
+    private long merged = 0; // Requests that went into another request's play
+    private long suppressed = 0; // Requests dropped by the interval or the voice cap
+
+    /**
+     * @param sounds Number of sound indices; all start with 4 voices, 50 ms interval, 1 s duration
+     */
+    public SoundVoiceLimiter(int sounds) {
+        maxVoices = new int[sounds];
+        minIntervalMillis = new long[sounds];
+        durationMillis = new long[sounds];
+        voiceEnds = new long[sounds][];
+        lastStart = new long[sounds];
+        pending = new int[sounds];
+        for (int i = 0; i < sounds; i++) {
+            configure(i, 4, 50, 1000);
+        }
+        Arrays.fill(lastStart, Long.MIN_VALUE / 2);
+    }
+
+    /**
+     * @param voices          Maximum overlapping plays of the sound
+     * @param intervalMillis  Minimum time between two starts
+     * @param lengthMillis    How long one play occupies a voice
+     */
+    public void configure(int sound, int voices, long intervalMillis, long lengthMillis) {
+        maxVoices[sound] = Math.max(1, voices);
+        minIntervalMillis[sound] = intervalMillis;
+        durationMillis[sound] = lengthMillis;
+        voiceEnds[sound] = new long[maxVoices[sound]];
+    }
+
+    /**
+     * Ask for a sound to be played at the next admit()
+     */
+    public void request(int sound) {
+        pending[sound]++;
+        requested++;
+    }
+
+    /**
+     * Take the requests for a sound since the last call and decide whether it plays now.
+     * Meant to be called once per frame and sound.
+     * @return Volume factor for the play (1 for a single request, up to MAX_BOOST
+     *         for merged requests), or 0 if the sound does not play
+     */
+    public float admit(int sound, long nowMillis) {
+        int requests = pending[sound];
+        if (requests == 0) {
+            return 0;
+        }
+        pending[sound] = 0;
+
+        if (nowMillis - lastStart[sound] < minIntervalMillis[sound]) {
+            suppressed += requests;
+            return 0;
+        }
+        long[] ends = voiceEnds[sound];
+        int voice = -1;
+        for (int i = 0; i < ends.length; i++) {
+            if (ends[i] <= nowMillis) {
+                voice = i;
+                break;
+            }
+        }
+        if (voice < 0) {
+            suppressed += requests;
+            return 0;
+        }
+
+        ends[voice] = nowMillis + durationMillis[sound];
+        lastStart[sound] = nowMillis;
+        played++;
+        merged += requests - 1;
+        // Summed loudness of n equal sounds grows with sqrt(n)
+        return Math.min((float) Math.sqrt(requests), MAX_BOOST);
+    }
+
+    /**
+     * Drop all pending requests without playing them (e.g. while sound is off)
+     */
+    public void discardPending() {
+        Arrays.fill(pending, 0);
+    }
+
+    /**
+     * Number of overlapping plays of a sound at the given time
+     */
+    public int activeVoices(int sound, long nowMillis) {
+        int active = 0;
+        for (long end : voiceEnds[sound]) {
+            if (end > nowMillis) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    public long getRequested() { return requested; }
+    public long getPlayed() { return played; }
+    public long getMerged() { return merged; }
+    public long getSuppressed() { return suppressed; }
+}
@@ -0,0 +1,220 @@
+package game.systems;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+import processing.core.PImage;
+
+import java.util.Arrays;
+
+/**
+ * Collects sprite draws and issues them as textured quads from the TextureAtlas pages:
+ * consecutive sprites on the same page go into one shape, so the texture is only
+ * switched when the page changes. Draw order is kept as submitted.
+ * Sprites that are not in the atlas are drawn directly (after flushing what is queued).
+ *
+ * Usage per frame: begin(pg), draw(...) for each sprite, flush() before drawing
+ * anything else that must appear on top, end().
+ */
+public class SpriteBatch {
+    private final TextureAtlas atlas;
+    private PGraphics pg;
+    private float offsetX = 0;
+    private float offsetY = 0;
+
+    // Queued quads: 4 corners (x, y), texture rectangle (u0, v0, u1, v1), alpha, page
+    private float[] corners = new float[8 * 256];
+    private float[] uvs = new float[4 * 256];
+    private float[] alphas = new float[256];
+    private int[] pages = new int[256];
+    private int count = 0;
+
+    // Metrics of the current frame
+    private int sprites = 0;
+    private int drawCalls = 0;
+    private int textureSwitches = 0;
+    private int directSwitches = 0; // Switches the same sprites would cause as separate images
+    private int boundPage = -1; // -2: a non-atlas image was bound last
+    private PImage lastImage = null;
+
+    // Metrics of the last finished frame
+    private int lastSprites = 0;
+    private int lastDrawCalls = 0;
+    private int lastTextureSwitches = 0;
+    private int lastDirectSwitches = 0;
+
+    public SpriteBatch(TextureAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Start a frame on pg (between pg.beginDraw() and pg.endDraw())
+     */
+    public void begin(PGraphics pg) {
+        this.pg = pg;
+        count = 0;
+        sprites = 0;
+        drawCalls = 0;
+        textureSwitches = 0;
+        directSwitches = 0;
+        boundPage = -1;
+        lastImage = null;
+        offsetX = 0;
+        offsetY = 0;
+    }
+
+    /**
+     * Shift all following draws, e.g. to draw an object between its last two tick positions
+     */
+    public void setOffset(float x, float y) {
+        offsetX = x;
+        offsetY = y;
+    }
+
+    /**
+     * Draw img centered on (x, y) at its own size
+     */
+    public void draw(PImage img, float x, float y) {
+        draw(img, x, y, img.width, img.height, 0, 255);
+    }
+
+    /**
+     * Draw img centered on (x, y), scaled to w x h and rotated by rotation (radians)
+     * @param alpha Tint alpha 0..255
+     */
+    public void draw(PImage img, float x, float y, float w, float h, float rotation, float alpha) {
+        sprites++;
+        if (img != lastImage) {
+            directSwitches++;
+            lastImage = img;
+        }
+        x += offsetX;
+        y += offsetY;
+
+        TextureAtlas.Region region = atlas != null ? atlas.getRegion(img) : null;
+        if (region == null) {
+            drawDirect(img, x, y, w, h, rotation, alpha);
+            return;
+        }
+
+        if (count == alphas.length) {
+            int capacity = count * 2;
+            corners = Arrays.copyOf(corners, capacity * 8);
+            uvs = Arrays.copyOf(uvs, capacity * 4);
+            alphas = Arrays.copyOf(alphas, capacity);
+            pages = Arrays.copyOf(pages, capacity);
+        }
+        float hw = w / 2;
+        float hh = h / 2;
+        float cos = 1;
+        float sin = 0;
+        if (rotation != 0) {
+            cos = PApplet.cos(rotation);
+            sin = PApplet.sin(rotation);
+        }
+        int c = count * 8;
+        // Corners clockwise from top left: (-hw, -hh), (hw, -hh), (hw, hh), (-hw, hh), rotated
+        corners[c] = x - hw * cos + hh * sin;
+        corners[c + 1] = y - hw * sin - hh * cos;
+        corners[c + 2] = x + hw * cos + hh * sin;
+        corners[c + 3] = y + hw * sin - hh * cos;
+        corners[c + 4] = x + hw * cos - hh * sin;
+        corners[c + 5] = y + hw * sin + hh * cos;
+        corners[c + 6] = x - hw * cos - hh * sin;
+        corners[c + 7] = y - hw * sin + hh * cos;
+        int u = count * 4;
+        uvs[u] = region.x;
+        uvs[u + 1] = region.y;
+        uvs[u + 2] = region.x + region.width;
+        uvs[u + 3] = region.y + region.height;
+        alphas[count] = alpha;
+        pages[count] = region.page;
+        count++;
+    }
+
+    private void drawDirect(PImage img, float x, float y, float w, float h, float rotation, float alpha) {
+        flush();
+        if (boundPage != -2) {
+            textureSwitches++;
+        }
+        boundPage = -2;
+        drawCalls++;
+        pg.pushMatrix();
+        pg.pushStyle();
+        pg.translate(x, y);
+        if (rotation != 0) {
+            pg.rotate(rotation);
+        }
+        pg.imageMode(PApplet.CENTER);
+        pg.tint(255, alpha);
+        pg.image(img, 0, 0, w, h);
+        pg.popStyle();
+        pg.popMatrix();
+    }
+
+    /**
+     * Draw everything queued so far, one shape per run of sprites on the same page
+     */
+    public void flush() {
+        if (count == 0) {
+            return;
+        }
+        pg.pushStyle();
+        pg.noStroke();
+        pg.textureMode(PApplet.IMAGE);
+        int i = 0;
+        while (i < count) {
+            int page = pages[i];
+            if (page != boundPage) {
+                textureSwitches++;
+                boundPage = page;
+            }
+            drawCalls++;
+            pg.beginShape(PApplet.QUADS);
+            pg.texture(atlas.getPage(page));
+            while (i < count && pages[i] == page) {
+                pg.tint(255, alphas[i]);
+                int c = i * 8;
+                int u = i * 4;
+                pg.vertex(corners[c], corners[c + 1], uvs[u], uvs[u + 1]);
+                pg.vertex(corners[c + 2], corners[c + 3], uvs[u + 2], uvs[u + 1]);
+                pg.vertex(corners[c + 4], corners[c + 5], uvs[u + 2], uvs[u + 3]);
+                pg.vertex(corners[c + 6], corners[c + 7], uvs[u], uvs[u + 3]);
+                i++;
+            }
+            pg.endShape();
+        }
+        pg.popStyle();
+        count = 0;
+    }
+
+    /**
+     * Flush the queued sprites and return the target, to draw something in between
+     * that is not a sprite. The offset from setOffset() does not apply to it;
+     * translate by getOffsetX()/getOffsetY() to draw at the same place as the sprites.
+     */
+    public PGraphics direct() {
+        flush();
+        boundPage = -2; // Whatever is drawn may bind its own texture
+        return pg;
+    }
+
+    /**
+     * Flush and finish the frame's metrics
+     */
+    public void end() {
+        flush();
+        lastSprites = sprites;
+        lastDrawCalls = drawCalls;
+        lastTextureSwitches = textureSwitches;
+        lastDirectSwitches = directSwitches;
+        pg = null;
+    }
+
+    public TextureAtlas getAtlas() { return atlas; }
+    public float getOffsetX() { return offsetX; }
+    public float getOffsetY() { return offsetY; }
+    public int getSprites() { return lastSprites; }
+    public int getDrawCalls() { return lastDrawCalls; }
+    public int getTextureSwitches() { return lastTextureSwitches; }
+    public int getDirectTextureSwitches() { return lastDirectSwitches; }
+}
@@ -0,0 +1,130 @@
+package game.systems;
+
+import processing.core.PImage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scaled variants of sprites, shared by everything that draws a source image at a
+ * fixed other size (e.g. enemy ships, whose size depends on their radius).
+ * Each (source image, width, height) is resized once; later requests get the same
+ * image back. Variants are read-only - callers must not modify them.
+ * The least recently used variants are evicted when the entry or memory cap is hit.
+ */
+public class SpriteCache {
+    private static final class Key {
+        final PImage source;
+        final int width;
+        final int height;
+
+        Key(PImage source, int width, int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return source == k.source && width == k.width && height == k.height; // Identity of the source
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(source) * 31 + width) * 31 + height;
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, PImage> variants = new LinkedHashMap<>(64, 0.75f, true); // Access order
+    private long bytes = 0;
+
+    // Metrics
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param maxEntries Maximum number of cached variants
+     * @param maxBytes   Maximum pixel memory of all cached variants
+     */
+    public SpriteCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * source scaled to width x height, resized only on the first request
+     * @return The shared variant, source itself if it already has that size, or null if source is null
+     */
+    public PImage get(PImage source, int width, int height) {
+        if (source == null) {
+            return null;
+        }
+        if (source.width == width && source.height == height) {
+            return source;
+        }
+        Key key = new Key(source, width, height);
+        PImage variant = variants.get(key);
+        if (variant != null) {
+            hits++;
+            return variant;
+        }
+        misses++;
+        variant = source.copy();
+        variant.resize(width, height);
+        variants.put(key, variant);
+        bytes += sizeOf(variant);
+        evict();
+        return variant;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, PImage>> it = variants.entrySet().iterator();
+        // Keep at least the variant just added
+        while ((variants.size() > maxEntries || bytes > maxBytes) && variants.size() > 1) {
+            PImage eldest = it.next().getValue();
+            bytes -= sizeOf(eldest);
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static long sizeOf(PImage img) {
+        return (long) img.pixelWidth * img.pixelHeight * 4;
+    }
+
+    /**
+     * Drop all variants, e.g. after the source images were reloaded
+     */
+    public void clear() {
+        variants.clear();
+        bytes = 0;
+    }
+
+    public int size() { return variants.size(); }
+    public long getBytes() { return bytes; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+
+    /**
+     * Share of requests served from the cache, 0..1
+     */
+    public float getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (float) hits / requests;
+    }
+
+    public void resetMetrics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+}
@@ -0,0 +1,131 @@
+package game.systems;
+
+import processing.core.PApplet;
+import processing.core.PImage;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Sprites packed into a few large page images at load time, so that drawing
+ * many different sprites needs only one texture per page (see SpriteBatch).
+ * Packing is a simple shelf packer: sprites sorted by height, placed left to right
+ * in rows. Each sprite keeps a padding of transparent pixels so that texture
+ * filtering does not bleed neighbours into it.
+ */
+public class TextureAtlas {
+    static final int PADDING = 2;
+
+    /**
+     * Where a sprite lies in the atlas, in pixels of its page
+     */
+    public static class Region {
+        public final int page;
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+
+        Region(int page, int x, int y, int width, int height) {
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private final ArrayList<PImage> pages = new ArrayList<>();
+    private final IdentityHashMap<PImage, Region> regions = new IdentityHashMap<>();
+    private final int pageSize;
+
+    private TextureAtlas(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Pack images into pages of pageSize x pageSize pixels. Duplicates are packed once;
+     * images that do not fit on a page at all are left out (getRegion() returns null).
+     */
+    public static TextureAtlas pack(PApplet sketch, List<PImage> images, int pageSize) {
+        TextureAtlas atlas = new TextureAtlas(pageSize);
+        ArrayList<PImage> sorted = new ArrayList<>();
+        for (PImage img : images) {
+            if (img != null && img.width > 0 && !atlas.regions.containsKey(img)
+                    && img.width + PADDING * 2 <= pageSize && img.height + PADDING * 2 <= pageSize) {
+                atlas.regions.put(img, null);
+                sorted.add(img);
+            }
+        }
+        sorted.sort((a, b) -> b.height - a.height);
+
+        PImage page = null;
+        int shelfX = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (PImage img : sorted) {
+            int w = img.width + PADDING * 2;
+            int h = img.height + PADDING * 2;
+            if (page != null && shelfX + w > pageSize) {
+                // Next shelf
+                shelfY += shelfHeight;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+            if (page == null || shelfY + h > pageSize) {
+                page = sketch.createImage(pageSize, pageSize, PApplet.ARGB);
+                page.loadPixels();
+                atlas.pages.add(page);
+                shelfX = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+            int x = shelfX + PADDING;
+            int y = shelfY + PADDING;
+            img.loadPixels();
+            for (int row = 0; row < img.height; row++) {
+                System.arraycopy(img.pixels, row * img.width, page.pixels, (y + row) * pageSize + x, img.width);
+            }
+            if (img.format != PApplet.ARGB) {
+                // Opaque formats may leave the alpha byte empty
+                for (int row = 0; row < img.height; row++) {
+                    int start = (y + row) * pageSize + x;
+                    for (int i = start; i < start + img.width; i++) {
+                        page.pixels[i] |= 0xFF000000;
+                    }
+                }
+            }
+            atlas.regions.put(img, new Region(atlas.pages.size() - 1, x, y, img.width, img.height));
+            shelfX += w;
+            shelfHeight = Math.max(shelfHeight, h);
+        }
+        for (PImage p : atlas.pages) {
+            p.updatePixels();
+        }
+        return atlas;
+    }
+
+    /**
+     * Region of a packed image, or null if it is not in the atlas
+     */
+    public Region getRegion(PImage img) {
+        return regions.get(img);
+    }
+
+    public PImage getPage(int page) {
+        return pages.get(page);
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getSpriteCount() {
+        return regions.size();
+    }
+}
@@ -0,0 +1,202 @@
+package game.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * Measures how many bytes the game thread allocates per frame, split by subsystem.
+ * Each phase of the frame is wrapped in begin(phase)/end(phase); the bytes allocated
+ * between the two (read from the JVM's per-thread allocation counter) are added to
+ * the phase. Whatever the frame allocates outside of all phases is reported as "other".
+ *
+ * Only allocations of the calling thread are counted, not those of worker threads
+ * (e.g. the parallel particle update). Phases must not nest. When disabled, begin()
+ * and end() only check a flag. The tracker itself does not allocate per frame.
+ */
+public class AllocationTracker {
+    private static final int MAX_PHASES = 32;
+
+    private final com.sun.management.ThreadMXBean threads; // null if the JVM has no allocation counter
+    private boolean enabled = false;
+
+    private final ArrayList<String> names = new ArrayList<>();
+    private final long[] phaseStart = new long[MAX_PHASES];
+    private final long[] frameBytes = new long[MAX_PHASES];
+    private final long[] windowBytes = new long[MAX_PHASES];
+    private final long[] totalBytes = new long[MAX_PHASES];
+    private final long[] peakBytes = new long[MAX_PHASES];
+    private final long[] lastBytes = new long[MAX_PHASES];
+    private final long[] windowAverage = new long[MAX_PHASES]; // Bytes per frame in the last window
+    private final int other;
+    private final int total;
+
+    private long frameStart = -1;
+    private long frames = 0;
+    private int windowFrames = 0;
+
+    public AllocationTracker() {
+        com.sun.management.ThreadMXBean bean = null;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (!bean.isThreadAllocatedMemorySupported()) {
+                bean = null;
+            }
+        }
+        threads = bean;
+        other = register("other");
+        total = register("total");
+    }
+
+    /**
+     * Add a phase, before tracking starts
+     * @return Id to pass to begin()/end()
+     */
+    public int register(String name) {
+        if (names.size() == MAX_PHASES) {
+            throw new IllegalStateException("Too many allocation phases");
+        }
+        names.add(name);
+        return names.size() - 1;
+    }
+
+    /**
+     * Turn tracking on or off. Has no effect if the JVM cannot count allocations.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && threads != null && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.enabled = enabled && threads != null;
+        frameStart = -1;
+        reset();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSupported() {
+        return threads != null;
+    }
+
+    private long allocated() {
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    public void beginFrame() {
+        if (enabled) {
+            frameStart = allocated();
+        }
+    }
+
+    public void begin(int phase) {
+        if (enabled) {
+            phaseStart[phase] = allocated();
+        }
+    }
+
+    public void end(int phase) {
+        if (enabled) {
+            frameBytes[phase] += allocated() - phaseStart[phase];
+        }
+    }
+
+    /**
+     * Close the frame: the phases' bytes become the last frame's values and go into
+     * the window and the totals
+     */
+    public void endFrame() {
+        if (!enabled || frameStart < 0) {
+            return;
+        }
+        long frameTotal = allocated() - frameStart;
+        long tracked = 0;
+        for (int i = 0; i < names.size(); i++) {
+            if (i != other && i != total) {
+                tracked += frameBytes[i];
+            }
+        }
+        frameBytes[other] = Math.max(0, frameTotal - tracked);
+        frameBytes[total] = frameTotal;
+        for (int i = 0; i < names.size(); i++) {
+            lastBytes[i] = frameBytes[i];
+            windowBytes[i] += frameBytes[i];
+            totalBytes[i] += frameBytes[i];
+            peakBytes[i] = Math.max(peakBytes[i], frameBytes[i]);
+            frameBytes[i] = 0;
+        }
+        frames++;
+        windowFrames++;
+    }
+
+    /**
+     * Close the averaging window (e.g. once per second): getWindowAverage() then
+     * returns the bytes per frame over the frames since the last call
+     */
+    public void endWindow() {
+        for (int i = 0; i < names.size(); i++) {
+            windowAverage[i] = windowFrames == 0 ? 0 : windowBytes[i] / windowFrames;
+            windowBytes[i] = 0;
+        }
+        windowFrames = 0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < MAX_PHASES; i++) {
+            frameBytes[i] = 0;
+            windowBytes[i] = 0;
+            totalBytes[i] = 0;
+            peakBytes[i] = 0;
+            lastBytes[i] = 0;
+            windowAverage[i] = 0;
+        }
+        frames = 0;
+        windowFrames = 0;
+    }
+
+    public int getPhaseCount() { return names.size(); }
+    public String getName(int phase) { return names.get(phase); }
+    public long getLastBytes(int phase) { return lastBytes[phase]; }
+    public long getWindowAverage(int phase) { return windowAverage[phase]; }
+    public long getPeakBytes(int phase) { return peakBytes[phase]; }
+    public long getTotalBytes(int phase) { return totalBytes[phase]; }
+    public long getFrames() { return frames; }
+    public int getOtherPhase() { return other; }
+    public int getTotalPhase() { return total; }
+
+    /**
+     * Average bytes per frame since tracking started
+     */
+    public long getAverageBytes(int phase) {
+        return frames == 0 ? 0 : totalBytes[phase] / frames;
+    }
+
+    /**
+     * One line with the window averages of all phases that allocated, e.g. for a log
+     */
+    public String formatWindow() {
+        StringBuilder sb = new StringBuilder("Alloc/frame: ");
+        sb.append(formatBytes(windowAverage[total]));
+        String separator = " (";
+        for (int i = 0; i < names.size(); i++) {
+            if (i != total && windowAverage[i] > 0) {
+                sb.append(separator).append(names.get(i)).append(' ').append(formatBytes(windowAverage[i]));
+                separator = ", ";
+            }
+        }
+        if (!separator.equals(" (")) {
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,18 @@
+package game.utils;
+
+import processing.core.PVector;
+
+/**
+ * Anything with a circular collision shape that can be indexed in the CollisionSystem.
+ */
+public interface Collidable {
+    /**
+     * Center of the collision circle
+     */
+    PVector getPosition();
+
+    /**
+     * Radius of the collision circle
+     */
+    float getRadius();
+}
@@ -0,0 +1,135 @@
+package game.utils;
+
+import java.util.ArrayDeque;
+
+/**
+ * FIFO queue for work that may be spread over several frames, e.g. large particle bursts.
+ * drain() runs queued jobs slice by slice until the per-frame time budget is used up;
+ * whatever is left waits for the next frame. At least one slice runs per drain() so
+ * the queue always makes progress, even with a tiny budget.
+ */
+public class DeferredWorkQueue {
+    /**
+     * A unit of deferred work.
+     */
+    public interface Job {
+        /**
+         * Do a small part of the work.
+         * @return true if the job has more work left
+         */
+        boolean runSlice();
+    }
+
+    private final ArrayDeque<Job> jobs = new ArrayDeque<>();
+    private long budgetNanos;
+
+    // Metrics
+    private long submittedJobs = 0;
+    private long completedJobs = 0;
+    private long deferredFrames = 0; // Frames that ended with work still queued
+    private int maxQueueDepth = 0;
+    private long lastDrainNanos = 0;
+    private long maxDrainNanos = 0;
+    private int lastDrainSlices = 0;
+
+    /**
+     * @param budgetMicros Time per drain() call in microseconds
+     */
+    public DeferredWorkQueue(long budgetMicros) {
+        setBudgetMicros(budgetMicros);
+    }
+
+    public void submit(Job job) {
+        jobs.addLast(job);
+        submittedJobs++;
+        maxQueueDepth = Math.max(maxQueueDepth, jobs.size());
+    }
+
+    /**
+     * Queue a task that runs once.
+     */
+    public void submit(Runnable task) {
+        submit(() -> {
+            task.run();
+            return false;
+        });
+    }
+
+    /**
+     * Run queued work until the budget is used up or the queue is empty.
+     */
+    public void drain() {
+        if (jobs.isEmpty()) {
+            lastDrainNanos = 0;
+            lastDrainSlices = 0;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long elapsed;
+        int slices = 0;
+        do {
+            runSlice();
+            slices++;
+            elapsed = System.nanoTime() - start;
+        } while (!jobs.isEmpty() && elapsed < budgetNanos);
+
+        finishDrain(slices, elapsed);
+    }
+
+    /**
+     * Run exactly the given number of slices (fewer if the queue runs empty), independent
+     * of the budget. Replays use it to split the work over the frames like the recorded run.
+     */
+    public void drainSlices(int slices) {
+        long start = System.nanoTime();
+        int run = 0;
+        while (run < slices && !jobs.isEmpty()) {
+            runSlice();
+            run++;
+        }
+        finishDrain(run, run == 0 ? 0 : System.nanoTime() - start);
+    }
+
+    private void runSlice() {
+        Job job = jobs.peekFirst();
+        if (!job.runSlice()) {
+            jobs.pollFirst();
+            completedJobs++;
+        }
+    }
+
+    private void finishDrain(int slices, long elapsed) {
+        lastDrainSlices = slices;
+        lastDrainNanos = elapsed;
+        maxDrainNanos = Math.max(maxDrainNanos, elapsed);
+        if (!jobs.isEmpty()) {
+            deferredFrames++;
+        }
+    }
+
+    /**
+     * Drop all queued work, e.g. on restart.
+     */
+    public void clear() {
+        jobs.clear();
+    }
+
+    public void setBudgetMicros(long budgetMicros) {
+        this.budgetNanos = budgetMicros * 1000L;
+    }
+
+    public long getBudgetMicros() { return budgetNanos / 1000L; }
+    public int getQueueDepth() { return jobs.size(); }
+    public int getMaxQueueDepth() { return maxQueueDepth; }
+    public long getSubmittedJobs() { return submittedJobs; }
+    public long getCompletedJobs() { return completedJobs; }
+    public long getDeferredFrames() { return deferredFrames; }
+    public long getLastDrainMicros() { return lastDrainNanos / 1000L; }
+    public long getMaxDrainMicros() { return maxDrainNanos / 1000L; }
+
+    /**
+     * Number of slices the last drain ran
+     */
+    public int getLastDrainSlices() { return lastDrainSlices; }
+}
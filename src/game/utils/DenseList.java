@@ -0,0 +1,194 @@
+package game.utils;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Array-backed entity list with O(1) unordered removal.
+ * Elements are kept densely packed in 0..size-1; swapRemove() moves the last element
+ * into the freed slot instead of shifting the tail like ArrayList.remove(int).
+ * Use it for entities whose order does not matter (draw order of overlapping
+ * sprites aside); culling a whole list is then O(n) however many entities die.
+ *
+ * Removal-safe iteration:
+ *   - reverse index loop + swapRemove(i): the element moved into slot i was already visited
+ *   - iterator().remove(): the element moved into the current slot is returned by the next next()
+ *   - removeIf(): single pass, keeps the order of the remaining elements
+ *
+ * @param <T> The entity type
+ */
+public class DenseList<T> implements Iterable<T> {
+    private Object[] items;
+    private int size = 0;
+    private int modCount = 0; // Structural changes, for fail-fast iterators
+
+    public DenseList() {
+        this(16);
+    }
+
+    public DenseList(int initialCapacity) {
+        items = new Object[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(T item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+        }
+        items[size++] = item;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            items = Arrays.copyOf(items, capacity);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) items[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove the element at index by moving the last element into its place.
+     * O(1), but changes the order of the remaining elements.
+     * @return The removed element
+     */
+    @SuppressWarnings("unchecked")
+    public T swapRemove(int index) {
+        checkIndex(index);
+        T removed = (T) items[index];
+        size--;
+        items[index] = items[size];
+        items[size] = null; // Let the GC collect removed entities
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Remove an element by identity (linear search, O(1) removal).
+     * @return true if the element was found
+     */
+    public boolean swapRemove(T item) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == item) {
+                swapRemove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove the element at index and keep the order of the others (shifts the tail like ArrayList).
+     * Only for short lists where the draw order matters.
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkIndex(index);
+        T removed = (T) items[index];
+        System.arraycopy(items, index + 1, items, index, size - index - 1);
+        items[--size] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Remove all matching elements in a single pass (mark-and-compact), keeping the order of the rest.
+     * @return true if any element was removed
+     */
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            T item = (T) items[i];
+            if (!filter.test(item)) {
+                items[kept++] = item;
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        Arrays.fill(items, kept, size, null);
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    public boolean contains(T item) {
+        for (int i = 0; i < size; i++) {
+            if (items[i] == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+    }
+
+    /**
+     * Iterator whose remove() is a swapRemove of the current element.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor = 0;
+            private boolean canRemove = false;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                canRemove = true;
+                return (T) items[cursor++];
+            }
+
+            @Override
+            public void remove() {
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                // The last element moves into the current slot and is visited next
+                swapRemove(--cursor);
+                expectedModCount = modCount;
+                canRemove = false;
+            }
+        };
+    }
+}
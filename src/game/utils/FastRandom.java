@@ -0,0 +1,80 @@
+package game.utils;
+
+/**
+ * Small, fast random number generator (SplitMix64) for the game's hot paths.
+ * Unlike PApplet.random(), which goes through a shared java.util.Random and pays an
+ * atomic compare-and-set per number, the state is a plain long: an instance must
+ * only be used by one thread at a time. Get instances from RandomService, so that
+ * they follow from the game's seed.
+ *
+ * random(high) and random(low, high) behave like their PApplet counterparts.
+ */
+public final class FastRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+    private long state;
+
+    public FastRandom(long seed) {
+        this.state = seed;
+    }
+
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Uniform in [0, 1)
+     */
+    public float nextFloat() {
+        return (nextLong() >>> 40) * FLOAT_UNIT;
+    }
+
+    /**
+     * Uniform in [0, bound); bound must be positive
+     */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Uniform in [0, high), 0 if high is 0 (like PApplet.random(high))
+     */
+    public float random(float high) {
+        if (high == 0 || high != high) {
+            return 0;
+        }
+        float value;
+        do {
+            value = nextFloat() * high;
+        } while (value == high); // Rounding can hit high for large values
+        return value;
+    }
+
+    /**
+     * Uniform in [low, high), low if high <= low (like PApplet.random(low, high))
+     */
+    public float random(float low, float high) {
+        if (low >= high) {
+            return low;
+        }
+        return random(high - low) + low;
+    }
+
+    /**
+     * SplitMix64 finalizer: a well-mixed 64-bit hash of z
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
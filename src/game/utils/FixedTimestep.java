@@ -0,0 +1,69 @@
+package game.utils;
+
+/**
+ * Accumulator for a fixed-step simulation loop.
+ * The render loop feeds in the elapsed frame time and gets back how many
+ * fixed ticks to simulate; the remainder is carried over to the next frame.
+ * After the ticks have run, {@link #getAlpha()} tells how far the render time
+ * lies between the previous and the current tick (for interpolation).
+ */
+public class FixedTimestep {
+    private float tickRate;
+    private float step;
+    private final int maxTicksPerFrame;
+    private double accumulator = 0.0;
+    private long droppedTicks = 0;
+
+    /**
+     * @param tickRate Simulation ticks per second
+     * @param maxTicksPerFrame Upper limit of catch-up ticks per frame; time beyond that is dropped
+     */
+    public FixedTimestep(float tickRate, int maxTicksPerFrame) {
+        this.maxTicksPerFrame = maxTicksPerFrame;
+        setTickRate(tickRate);
+    }
+
+    /**
+     * Adds the elapsed frame time and returns the number of ticks to simulate.
+     * If the simulation falls behind by more than maxTicksPerFrame ticks the
+     * surplus is discarded, so one slow frame cannot snowball into ever longer ones.
+     *
+     * @param frameTime Elapsed real time since the last frame in seconds
+     * @return Number of fixed ticks to run this frame
+     */
+    public int advance(float frameTime) {
+        accumulator += frameTime;
+
+        int ticks = (int) (accumulator / step);
+        if (ticks > maxTicksPerFrame) {
+            droppedTicks += ticks - maxTicksPerFrame;
+            ticks = maxTicksPerFrame;
+            accumulator = 0.0;
+        } else {
+            accumulator -= ticks * (double) step;
+        }
+        return ticks;
+    }
+
+    /**
+     * Fraction of a tick that has accumulated but not been simulated yet (0..1).
+     * Rendering at prev + (current - prev) * alpha hides the step granularity.
+     */
+    public float getAlpha() {
+        return (float) (accumulator / step);
+    }
+
+    /**
+     * Change the tick rate; the pending remainder is discarded.
+     */
+    public void setTickRate(float tickRate) {
+        this.tickRate = tickRate;
+        this.step = 1.0f / tickRate;
+        this.accumulator = 0.0;
+    }
+
+    public float getTickRate() { return tickRate; }
+    public float getStep() { return step; }
+    public int getMaxTicksPerFrame() { return maxTicksPerFrame; }
+    public long getDroppedTicks() { return droppedTicks; }
+}
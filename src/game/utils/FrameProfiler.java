@@ -0,0 +1,285 @@
+package game.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Named, nestable timing scopes around the phases of a frame.
+ * Scopes are registered once as a tree: groups (e.g. "update") contain other scopes,
+ * phases are the leaves. begin(scope)/end(scope) add the elapsed time to the scope;
+ * a scope may run several times per frame (e.g. once per simulation tick), but must
+ * end before it begins again.
+ * endFrame() stores each scope's time of the frame in a ring buffer of the last
+ * HISTORY frames, for averages, peaks and the frame-time graph of the overlay.
+ *
+ * Phases also attribute their allocations to the AllocationTracker, under the
+ * same name, so the loop needs only one set of markers. When neither timing nor
+ * allocation tracking is on, begin() and end() only check two flags.
+ */
+public class FrameProfiler {
+    public static final int HISTORY = 240; // Frames kept for the overlay (4 s at 60 fps)
+    private static final int MAX_SCOPES = 32;
+
+    private final AllocationTracker allocations;
+    private boolean enabled = false;
+    private boolean recording = false; // Timing needed for an external recorder (JFR)
+    private boolean timing = false; // enabled || recording
+
+    private final ArrayList<String> names = new ArrayList<>();
+    private final int[] parent = new int[MAX_SCOPES];
+    private final int[] depth = new int[MAX_SCOPES];
+    private final int[] allocPhase = new int[MAX_SCOPES]; // -1 for groups
+
+    // Current frame
+    private final long[] start = new long[MAX_SCOPES];
+    private final long[] frameNanos = new long[MAX_SCOPES];
+    private long frameStart = -1;
+
+    // Ring buffers: nanoseconds per scope and frame, and the whole frame
+    private final long[][] history = new long[MAX_SCOPES][HISTORY];
+    private final long[] frameHistory = new long[HISTORY];
+    private int head = 0; // Next slot to write
+    private int filled = 0;
+
+    // Totals since the last reset (headless reports)
+    private final long[] totalNanos = new long[MAX_SCOPES];
+    private final long[] peakNanos = new long[MAX_SCOPES];
+    private long totalFrameNanos = 0;
+    private long peakFrameNanos = 0;
+    private long frames = 0;
+
+    public FrameProfiler(AllocationTracker allocations) {
+        this.allocations = allocations;
+    }
+
+    /**
+     * Add a scope that contains other scopes
+     * @param parentScope Enclosing scope, or -1 for a top-level scope
+     */
+    public int group(String name, int parentScope) {
+        return add(name, parentScope, -1);
+    }
+
+    /**
+     * Add a phase: a scope without children, whose allocations are tracked too
+     * @param parentScope Enclosing scope, or -1 for a top-level phase
+     */
+    public int phase(String name, int parentScope) {
+        return add(name, parentScope, allocations != null ? allocations.register(name) : -1);
+    }
+
+    private int add(String name, int parentScope, int alloc) {
+        int id = names.size();
+        if (id == MAX_SCOPES) {
+            throw new IllegalStateException("Too many profiler scopes");
+        }
+        names.add(name);
+        parent[id] = parentScope;
+        depth[id] = parentScope < 0 ? 0 : depth[parentScope] + 1;
+        allocPhase[id] = alloc;
+        return id;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        timing = enabled || recording;
+        frameStart = -1;
+        reset();
+    }
+
+    /**
+     * Time the scopes for a recorder, e.g. while a JFR recording wants frame events,
+     * independent of setEnabled(). Takes effect with the next frame.
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+        timing = enabled || recording;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AllocationTracker getAllocations() {
+        return allocations;
+    }
+
+    public void beginFrame() {
+        if (timing) {
+            frameStart = System.nanoTime();
+        }
+        if (allocations != null) {
+            allocations.beginFrame();
+        }
+    }
+
+    public void begin(int scope) {
+        if (timing) {
+            start[scope] = System.nanoTime();
+        }
+        if (allocations != null && allocPhase[scope] >= 0) {
+            allocations.begin(allocPhase[scope]);
+        }
+    }
+
+    public void end(int scope) {
+        if (allocations != null && allocPhase[scope] >= 0) {
+            allocations.end(allocPhase[scope]);
+        }
+        if (timing) {
+            frameNanos[scope] += System.nanoTime() - start[scope];
+        }
+    }
+
+    /**
+     * Close the frame and move its scope times into the history
+     */
+    public void endFrame() {
+        if (allocations != null) {
+            allocations.endFrame();
+        }
+        if (!timing || frameStart < 0) {
+            return;
+        }
+        long frame = System.nanoTime() - frameStart;
+        for (int i = 0; i < names.size(); i++) {
+            history[i][head] = frameNanos[i];
+            totalNanos[i] += frameNanos[i];
+            peakNanos[i] = Math.max(peakNanos[i], frameNanos[i]);
+            frameNanos[i] = 0;
+        }
+        frameHistory[head] = frame;
+        totalFrameNanos += frame;
+        peakFrameNanos = Math.max(peakFrameNanos, frame);
+        frames++;
+        head = (head + 1) % HISTORY;
+        filled = Math.min(filled + 1, HISTORY);
+    }
+
+    public void reset() {
+        for (int i = 0; i < MAX_SCOPES; i++) {
+            frameNanos[i] = 0;
+            totalNanos[i] = 0;
+            peakNanos[i] = 0;
+            Arrays.fill(history[i], 0);
+        }
+        Arrays.fill(frameHistory, 0);
+        head = 0;
+        filled = 0;
+        totalFrameNanos = 0;
+        peakFrameNanos = 0;
+        frames = 0;
+    }
+
+    public int getScopeCount() { return names.size(); }
+    public String getName(int scope) { return names.get(scope); }
+    public int getParent(int scope) { return parent[scope]; }
+    public int getDepth(int scope) { return depth[scope]; }
+    public long getFrames() { return frames; }
+
+    /**
+     * Number of frames in the history (up to HISTORY)
+     */
+    public int getHistorySize() {
+        return filled;
+    }
+
+    /**
+     * Time of a scope in a past frame, in ms
+     * @param framesAgo 0 for the last finished frame, up to getHistorySize() - 1
+     */
+    public float getMillis(int scope, int framesAgo) {
+        return history[scope][slot(framesAgo)] / 1e6f;
+    }
+
+    /**
+     * Time of a scope in the last finished frame, in ns
+     */
+    public long getLastNanos(int scope) {
+        return history[scope][slot(0)];
+    }
+
+    /**
+     * Time of a scope in a past frame without the time of its child scopes, in ms.
+     * The self times of all scopes add up to the time spent in top-level scopes.
+     */
+    public float getSelfMillis(int scope, int framesAgo) {
+        int s = slot(framesAgo);
+        long self = history[scope][s];
+        for (int i = 0; i < names.size(); i++) {
+            if (parent[i] == scope) {
+                self -= history[i][s];
+            }
+        }
+        return Math.max(0, self) / 1e6f;
+    }
+
+    /**
+     * Whole frame time in a past frame, in ms
+     */
+    public float getFrameMillis(int framesAgo) {
+        return frameHistory[slot(framesAgo)] / 1e6f;
+    }
+
+    private int slot(int framesAgo) {
+        return ((head - 1 - framesAgo) % HISTORY + HISTORY) % HISTORY;
+    }
+
+    /**
+     * Average time of a scope over the history, in ms
+     */
+    public float getAverageMillis(int scope) {
+        if (filled == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = 0; i < filled; i++) {
+            sum += history[scope][slot(i)];
+        }
+        return sum / (filled * 1e6f);
+    }
+
+    /**
+     * Longest time of a scope in one frame of the history, in ms
+     */
+    public float getMaxMillis(int scope) {
+        long max = 0;
+        for (int i = 0; i < filled; i++) {
+            max = Math.max(max, history[scope][slot(i)]);
+        }
+        return max / 1e6f;
+    }
+
+    public float getAverageFrameMillis() {
+        if (filled == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = 0; i < filled; i++) {
+            sum += frameHistory[slot(i)];
+        }
+        return sum / (filled * 1e6f);
+    }
+
+    /**
+     * Average time of a scope per frame since the last reset, in ms
+     */
+    public float getTotalAverageMillis(int scope) {
+        return frames == 0 ? 0 : totalNanos[scope] / (frames * 1e6f);
+    }
+
+    /**
+     * Longest time of a scope in one frame since the last reset, in ms
+     */
+    public float getPeakMillis(int scope) {
+        return peakNanos[scope] / 1e6f;
+    }
+
+    public float getTotalAverageFrameMillis() {
+        return frames == 0 ? 0 : totalFrameNanos / (frames * 1e6f);
+    }
+
+    public float getPeakFrameMillis() {
+        return peakFrameNanos / 1e6f;
+    }
+}
@@ -7,7 +7,7 @@ import processing.core.PVector;
  * Base class for all game objects.
  * Provides common functionality for position, velocity, rendering, and lifecycle management.
  */
-public abstract class GameObject {
+public abstract class GameObject implements Collidable {
     protected PApplet sketch;
     protected PVector position;
     protected PVector velocity;
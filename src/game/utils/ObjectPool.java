@@ -1,20 +1,26 @@
 package game.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
  * Generic object pool for efficient memory management.
  * Reduces garbage collection by reusing objects instead of creating new ones.
+ * Free objects are kept on a stack and objects in use in an identity set,
+ * so obtain() and free() are both O(1), also with thousands of objects in use.
  * 
  * @param <T> The type of objects to pool
  */
 public class ObjectPool<T> {
     private final List<T> available;
-    private final List<T> inUse;
+    private final Set<T> inUse; // Identity based - pooled objects may override equals()
     private final Supplier<T> factory;
     private final int maxSize;
+    private long refusedCount = 0; // obtain() calls that returned null
     
     public ObjectPool(Supplier<T> factory, int initialSize) {
         this(factory, initialSize, initialSize * 2);
@@ -24,7 +30,7 @@ public class ObjectPool<T> {
         this.factory = factory;
         this.maxSize = maxSize;
         this.available = new ArrayList<>(initialSize);
-        this.inUse = new ArrayList<>(initialSize);
+        this.inUse = Collections.newSetFromMap(new IdentityHashMap<>(initialSize));
         
         // Pre-populate the pool
         for (int i = 0; i < initialSize; i++) {
@@ -40,13 +46,14 @@ public class ObjectPool<T> {
         T object;
         
         if (!available.isEmpty()) {
-            // Reuse an existing object
+            // Reuse an existing object (pop from the end, no shifting)
             object = available.remove(available.size() - 1);
         } else if (inUse.size() < maxSize) {
             // Create a new object if we haven't hit the max size
             object = factory.get();
         } else {
             // Pool is at max capacity
+            refusedCount++;
             return null;
         }
         
@@ -63,6 +70,7 @@ public class ObjectPool<T> {
             return;
         }
         
+        // Objects that are not in use (double free, foreign objects) are ignored
         if (inUse.remove(object)) {
             available.add(object);
         }
@@ -107,6 +115,17 @@ public class ObjectPool<T> {
         return available.size() + inUse.size();
     }
     
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Number of obtain() calls that got no object because the pool was at max capacity
+     */
+    public long getRefusedCount() {
+        return refusedCount;
+    }
+
     /**
      * Check if the pool is at max capacity
      */
@@ -0,0 +1,51 @@
+package game.utils;
+
+import java.util.HashMap;
+
+/**
+ * Hands out FastRandom streams that all follow from one master seed.
+ * Each subsystem gets its own named stream (e.g. "particles", "background"), so how
+ * many numbers one subsystem draws does not shift the numbers of another: thinning
+ * the particles leaves the gameplay untouched, and a seed reproduces a whole session.
+ * Work split over threads takes its streams from stream(name, index) with a stable
+ * index (e.g. the chunk), never from the thread that happens to run it.
+ *
+ * stream(name) is meant for the game thread; stream(name, index) is safe from any
+ * thread. A stream must only be used by one thread at a time.
+ */
+public class RandomService {
+    private final long seed;
+    private final HashMap<String, FastRandom> streams = new HashMap<>();
+
+    public RandomService(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The stream of a subsystem; every call with the same name returns the same stream
+     */
+    public FastRandom stream(String name) {
+        return streams.computeIfAbsent(name, n -> new FastRandom(derive(seed, n)));
+    }
+
+    /**
+     * A fresh stream for part index of name's work, e.g. one per chunk of a parallel
+     * task. Depends only on the seed, name and index, so it is the same on every call
+     * and every thread.
+     */
+    public FastRandom stream(String name, int index) {
+        return new FastRandom(FastRandom.mix(derive(seed, name) + index));
+    }
+
+    private static long derive(long seed, String name) {
+        long h = seed;
+        for (int i = 0; i < name.length(); i++) {
+            h = FastRandom.mix(h + name.charAt(i));
+        }
+        return FastRandom.mix(h);
+    }
+}